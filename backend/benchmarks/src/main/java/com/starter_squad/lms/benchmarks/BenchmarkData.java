@@ -0,0 +1,98 @@
+package com.starter_squad.lms.benchmarks;
+
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.entity.Learning;
+import com.starter_squad.lms.entity.Progress;
+import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.enums.UserRole;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic fixtures shaped like what the controllers load from the database.
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private BenchmarkData() {
+    }
+
+    static User user(int i) {
+        User user = new User();
+        user.setId(new UUID(0, i));
+        user.setUsername("learner" + i);
+        user.setEmail("learner" + i + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6aYHNQ2mE3C3LM/oV6ajVQy");
+        user.setMobileNumber("0170000" + String.format("%04d", i % 10_000));
+        user.setRole(UserRole.USER);
+        user.setIsActive(true);
+        user.setLocation("Dhaka");
+        user.setProfession("Student");
+        user.setCreatedAt(NOW);
+        user.setUpdatedAt(NOW);
+        return user;
+    }
+
+    static Course course(int i) {
+        Course course = new Course();
+        course.setCourse_id(new UUID(1, i));
+        course.setCourse_name("Course " + i);
+        course.setPrice(10 + i % 90);
+        course.setInstructor("Instructor " + i % 20);
+        course.setDescription("A practical introduction to topic " + i
+                + ", covering fundamentals, worked examples and a final assessment.");
+        course.setP_link("https://example.com/images/course-" + i + ".png");
+        course.setY_link("https://www.youtube.com/watch?v=course" + i);
+        course.setCategory(i % 2 == 0 ? "Programming" : "Design");
+        course.setStatus(Course.CourseStatus.PUBLISHED);
+        course.setCreatedAt(NOW);
+        course.setUpdatedAt(NOW);
+        return course;
+    }
+
+    static List<Course> courses(int count) {
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            courses.add(course(i));
+        }
+        return courses;
+    }
+
+    /** {@code count} enrollments spread over {@code courses}, roughly a third completed. */
+    static List<Learning> enrollments(int count, List<Course> courses, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Learning> enrollments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Learning learning = new Learning();
+            learning.setLearning_id(new UUID(2, i));
+            learning.setUser(user(i));
+            learning.setCourse(courses.get(random.nextInt(courses.size())));
+            learning.setEnrollmentDate(NOW);
+            learning.setCompleted(random.nextInt(3) == 0);
+            Progress progress = new Progress();
+            progress.setPlayedTime(random.nextInt(3600));
+            progress.setDuration(3600);
+            progress.setPercentage((int) (progress.getPlayedTime() * 100 / 3600));
+            learning.setProgress(progress);
+            enrollments.add(learning);
+        }
+        return enrollments;
+    }
+
+    /** Sets a private field, e.g. the {@code @Value} fields Spring would normally inject. */
+    static void inject(Object target, String field, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(field);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + field, e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.starter_squad.lms.benchmarks;
+
+import com.starter_squad.lms.controller.AdminController;
+import com.starter_squad.lms.controller.StudentController;
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.entity.Learning;
+import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.media.MediaService;
+import com.starter_squad.lms.repository.LearningRepository;
+import com.starter_squad.lms.repository.ProgressRepository;
+import com.starter_squad.lms.security.UserPrincipal;
+import com.starter_squad.lms.service.CourseService;
+import com.starter_squad.lms.service.FeedbackService;
+import com.starter_squad.lms.service.LearningService;
+import com.starter_squad.lms.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.ui.ExtendedModelMap;
+import org.thymeleaf.context.ILazyContextVariable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The in-memory aggregation in the admin and student dashboards, with the
+ * services and repositories stubbed so only the controller code is measured.
+ * The admin widgets are computed when read, so that benchmark reads them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+
+    // Total enrollments (admin dashboard) and published courses (student recommendations)
+    @Param({"100", "10000"})
+    public int size;
+
+    private AdminController adminController;
+    private StudentController studentController;
+    private UserPrincipal admin;
+    private UserPrincipal student;
+
+    @Setup
+    public void setUp() {
+        List<Course> courses = BenchmarkData.courses(size);
+        List<Learning> enrollments = BenchmarkData.enrollments(size, courses, 42);
+        User learner = BenchmarkData.user(1);
+        List<Learning> ownEnrollments = BenchmarkData.enrollments(12, courses, 7);
+
+        UserService userService = stub(UserService.class);
+        CourseService courseService = stub(CourseService.class);
+        LearningService learningService = stub(LearningService.class);
+        LearningRepository learningRepository = stub(LearningRepository.class);
+
+        when(userService.getRecentUsers(anyInt())).thenReturn(List.of(learner));
+        when(userService.getUserById(any())).thenReturn(learner);
+        when(courseService.getPendingCourses()).thenReturn(courses.subList(0, Math.min(5, courses.size())));
+        when(courseService.getPublishedCourses()).thenReturn(courses);
+        when(learningService.getEnrollments()).thenReturn(enrollments);
+        when(learningRepository.findByUserId(any())).thenReturn(ownEnrollments);
+
+        adminController = new AdminController(userService, courseService, learningService);
+        studentController = new StudentController(userService, courseService, learningService,
+                stub(FeedbackService.class), learningRepository, stub(ProgressRepository.class), stub(MediaService.class));
+        admin = UserPrincipal.create(BenchmarkData.user(0));
+        student = UserPrincipal.create(learner);
+    }
+
+    // The widgets are lazy model values; read them all, as a render on a fragment cache miss does
+    @Benchmark
+    public void adminDashboard(Blackhole blackhole) {
+        ExtendedModelMap model = new ExtendedModelMap();
+        adminController.dashboard(model, admin);
+        for (Object value : model.values()) {
+            blackhole.consume(value instanceof ILazyContextVariable<?> lazy ? lazy.getValue() : value);
+        }
+    }
+
+    @Benchmark
+    public ExtendedModelMap studentDashboard() {
+        ExtendedModelMap model = new ExtendedModelMap();
+        studentController.studentDashboard(model, student);
+        return model;
+    }
+
+    // stubOnly: no invocation recording, so mocks don't grow over millions of calls
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,117 @@
+package com.starter_squad.lms.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request: starts the application command on a cold JVM, polls
+ * the URL until it answers with a non-5xx status, stops the process, and
+ * repeats. The median is written in JMH's JSON shape under
+ * {@code StartupBenchmark.timeToFirstRequest mode=<name>}, so startup modes
+ * can be collected into one file and checked with {@link CompareBaselines}.
+ *
+ * <pre>java -cp target/benchmarks.jar com.starter_squad.lms.benchmarks.StartupBenchmark \
+ *     &lt;mode-name&gt; &lt;runs&gt; &lt;url&gt; &lt;result.json&gt; -- &lt;command...&gt;</pre>
+ */
+public final class StartupBenchmark {
+
+    private static final String BENCHMARK = "com.starter_squad.lms.benchmarks.StartupBenchmark.timeToFirstRequest";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator != 4 || args.length == 5) {
+            System.err.println("usage: StartupBenchmark <mode-name> <runs> <url> <result.json> -- <command...>");
+            System.exit(2);
+        }
+        String mode = args[0];
+        int runs = Integer.parseInt(args[1]);
+        URI url = URI.create(args[2]);
+        File resultFile = new File(args[3]);
+        List<String> command = List.of(Arrays.copyOfRange(args, 5, args.length));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        List<Double> samples = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            double millis = timeToFirstRequest(command, client, url);
+            samples.add(millis);
+            System.out.printf("%s run %d/%d: %.0f ms%n", mode, run, runs, millis);
+        }
+
+        List<Double> sorted = samples.stream().sorted().toList();
+        double median = sorted.get(sorted.size() / 2);
+        System.out.printf("%s: median %.0f ms, min %.0f ms, max %.0f ms%n",
+                mode, median, sorted.get(0), sorted.get(sorted.size() - 1));
+        write(resultFile, mode, median, samples);
+    }
+
+    private static double timeToFirstRequest(List<String> command, HttpClient client, URI url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with status " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500) {
+                        return (System.nanoTime() - start) / 1_000_000.0;
+                    }
+                } catch (IOException notListeningYet) {
+                    // connection refused until Tomcat is up
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("No response from " + url + " within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Replaces this mode's entry and keeps the others, so one file can hold before and after
+    private static void write(File file, String mode, double median, List<Double> samples) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ArrayNode results = file.exists() ? (ArrayNode) mapper.readTree(file) : mapper.createArrayNode();
+        for (int i = results.size() - 1; i >= 0; i--) {
+            if (BENCHMARK.equals(results.get(i).path("benchmark").asText())
+                    && mode.equals(results.get(i).path("params").path("mode").asText())) {
+                results.remove(i);
+            }
+        }
+
+        ObjectNode result = results.addObject();
+        result.put("benchmark", BENCHMARK);
+        result.put("mode", "ss");
+        result.putObject("params").put("mode", mode);
+        ObjectNode metric = result.putObject("primaryMetric");
+        metric.put("score", median);
+        metric.put("scoreUnit", "ms");
+        ArrayNode raw = metric.putArray("rawData").addArray();
+        samples.forEach(raw::add);
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file, results);
+    }
+}
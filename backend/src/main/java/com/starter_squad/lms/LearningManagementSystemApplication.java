@@ -1,9 +1,12 @@
 package com.starter_squad.lms;
 
+import com.starter_squad.lms.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class LearningManagementSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,62 @@
+package com.starter_squad.lms.certificate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The completion certificate of one enrollment. Rows are created PENDING when
+ * the course is completed and become READY once {@link CertificateService}
+ * has rendered the PDF into the {@link CertificateStore}.
+ */
+@Entity
+@Table(name = "certificate")
+@Data
+@NoArgsConstructor
+public class Certificate {
+
+    public enum Status {
+        PENDING, READY, FAILED
+    }
+
+    @Id
+    @Column(name = "learning_id")
+    private UUID learningId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "course_id", nullable = false)
+    private UUID courseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    // SHA-256 of the PDF, its name in the store
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "issued_at")
+    private LocalDateTime issuedAt;
+}
@@ -0,0 +1,109 @@
+package com.starter_squad.lms.certificate;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Draws the one-page, landscape A4 completion certificate with PDFBox. Pure
+ * CPU work, called from the render pool in {@link CertificateService}.
+ */
+@Component
+public class CertificateRenderer {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH);
+    private static final Color ACCENT = new Color(79, 70, 229);
+    private static final Color MUTED = new Color(100, 116, 139);
+
+    public record Content(UUID certificateId, String learnerName, String courseName,
+                          String instructorName, LocalDate completedOn) {
+    }
+
+    public byte[] render(Content content) throws IOException {
+        PDFont regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        PDFont bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        PDRectangle size = new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth());
+
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(size);
+            document.addPage(page);
+
+            try (PDPageContentStream canvas = new PDPageContentStream(document, page)) {
+                canvas.setStrokingColor(ACCENT);
+                canvas.setLineWidth(6);
+                canvas.addRect(28, 28, size.getWidth() - 56, size.getHeight() - 56);
+                canvas.stroke();
+                canvas.setLineWidth(1);
+                canvas.addRect(40, 40, size.getWidth() - 80, size.getHeight() - 80);
+                canvas.stroke();
+
+                float y = size.getHeight() - 130;
+                centered(canvas, size, bold, 38, ACCENT, y, "Certificate of Completion");
+                centered(canvas, size, regular, 14, MUTED, y -= 60, "This certifies that");
+                centered(canvas, size, bold, 30, Color.BLACK, y -= 50, content.learnerName());
+                centered(canvas, size, regular, 14, MUTED, y -= 45, "has successfully completed the course");
+                centered(canvas, size, bold, 22, Color.BLACK, y -= 40, content.courseName());
+                if (content.instructorName() != null && !content.instructorName().isBlank()) {
+                    centered(canvas, size, regular, 13, MUTED, y -= 30, "taught by " + content.instructorName());
+                }
+                centered(canvas, size, regular, 13, Color.BLACK, 110, "Completed on " + DATE.format(content.completedOn()));
+                centered(canvas, size, regular, 9, MUTED, 70, "Certificate ID " + content.certificateId());
+            }
+
+            PDDocumentInformation info = document.getDocumentInformation();
+            info.setTitle("Certificate of Completion - " + content.courseName());
+            info.setCreator("LMS");
+            // Dated by the completion, not the render, so the document describes the achievement
+            Calendar completedOn = GregorianCalendar.from(content.completedOn().atStartOfDay(ZoneId.systemDefault()));
+            info.setCreationDate(completedOn);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void centered(PDPageContentStream canvas, PDRectangle page, PDFont font, float fontSize,
+                                 Color color, float y, String text) throws IOException {
+        String printable = printable(font, text);
+        float width = font.getStringWidth(printable) / 1000 * fontSize;
+        canvas.beginText();
+        canvas.setFont(font, fontSize);
+        canvas.setNonStrokingColor(color);
+        canvas.newLineAtOffset((page.getWidth() - width) / 2, y);
+        canvas.showText(printable);
+        canvas.endText();
+    }
+
+    // The standard 14 fonts only cover WinAnsi; anything else would make showText throw
+    private static String printable(PDFont font, String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        text.codePoints().forEach(cp -> {
+            String glyph = new String(Character.toChars(cp));
+            try {
+                font.encode(glyph);
+                out.append(glyph);
+            } catch (IOException | IllegalArgumentException unsupported) {
+                out.append('?');
+            }
+        });
+        return out.toString();
+    }
+}
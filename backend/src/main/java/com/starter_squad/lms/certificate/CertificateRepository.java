@@ -0,0 +1,39 @@
+package com.starter_squad.lms.certificate;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface CertificateRepository extends JpaRepository<Certificate, UUID> {
+
+	// Completing a course twice (or from two tabs) must not fail the second transaction
+	@Modifying
+	@Query(value = "INSERT INTO certificate (learning_id, user_id, course_id, status, attempts, requested_at) " +
+			"VALUES (:learningId, :userId, :courseId, 'PENDING', 0, :requestedAt) " +
+			"ON CONFLICT (learning_id) DO NOTHING",
+			nativeQuery = true)
+	int request(@Param("learningId") UUID learningId, @Param("userId") UUID userId,
+				@Param("courseId") UUID courseId, @Param("requestedAt") LocalDateTime requestedAt);
+
+	@Query("SELECT c.learningId FROM Certificate c WHERE c.status = 'PENDING' AND c.requestedAt < :before ORDER BY c.requestedAt")
+	List<UUID> findPendingRequestedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE Certificate c SET c.status = 'READY', c.contentHash = :hash, c.sizeBytes = :size, " +
+			"c.issuedAt = :issuedAt, c.lastError = NULL WHERE c.learningId = :learningId AND c.status = 'PENDING'")
+	int markReady(@Param("learningId") UUID learningId, @Param("hash") String hash,
+				  @Param("size") long size, @Param("issuedAt") LocalDateTime issuedAt);
+
+	// status stays PENDING for another try, or FAILED once the attempts are used up
+	@Modifying
+	@Query("UPDATE Certificate c SET c.attempts = c.attempts + 1, c.lastError = :error, c.status = :status " +
+			"WHERE c.learningId = :learningId AND c.status = 'PENDING'")
+	int recordFailure(@Param("learningId") UUID learningId, @Param("error") String error,
+					  @Param("status") Certificate.Status status);
+}
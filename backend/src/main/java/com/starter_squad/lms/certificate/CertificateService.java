@@ -0,0 +1,211 @@
+package com.starter_squad.lms.certificate;
+
+import com.starter_squad.lms.entity.Learning;
+import com.starter_squad.lms.event.CourseCompleted;
+import com.starter_squad.lms.repository.LearningRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues completion certificates. Completing a course records a PENDING
+ * certificate in the same transaction; after commit the PDF is rendered on a
+ * small, bounded pool (rendering is CPU-bound and must not compete with
+ * request threads), stored in the {@link CertificateStore} and the row marked
+ * READY with the content hash. A READY certificate is never rendered again.
+ *
+ * When the pool's queue is full, or the node restarts before rendering, the
+ * request simply stays PENDING and the periodic sweep submits it again.
+ */
+@Service
+@Slf4j
+public class CertificateService implements DisposableBean {
+
+    // A fresh request is left to its own after-commit submission before the sweep touches it
+    private static final long SWEEP_GRACE_SECONDS = 30;
+
+    private final CertificateRepository certificateRepository;
+    private final LearningRepository learningRepository;
+    private final CertificateRenderer renderer;
+    private final CertificateStore store;
+    private final TransactionTemplate transactions;
+    private final ThreadPoolExecutor renderPool;
+    private final int queueCapacity;
+    private final int maxAttempts;
+
+    // Queued or rendering on this node, so the sweep and repeated clicks don't submit twice
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public CertificateService(CertificateRepository certificateRepository,
+                              LearningRepository learningRepository,
+                              CertificateRenderer renderer,
+                              CertificateStore store,
+                              TransactionTemplate transactions,
+                              @Value("${app.certificates.render.threads:0}") int threads,
+                              @Value("${app.certificates.render.queue-capacity:100}") int queueCapacity,
+                              @Value("${app.certificates.render.max-attempts:3}") int maxAttempts) {
+        this.certificateRepository = certificateRepository;
+        this.learningRepository = learningRepository;
+        this.renderer = renderer;
+        this.store = store;
+        this.transactions = transactions;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+
+        // Default to a quarter of the cores: certificates are never urgent
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        AtomicInteger counter = new AtomicInteger();
+        this.renderPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "certificate-render-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // ==========================================
+    // REQUESTS
+    // ==========================================
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void recordRequest(CourseCompleted event) {
+        certificateRepository.request(event.learningId(), event.userId(), event.courseId(), LocalDateTime.now());
+    }
+
+    @TransactionalEventListener
+    public void renderAfterCommit(CourseCompleted event) {
+        submit(event.learningId());
+    }
+
+    /**
+     * The certificate of a completed enrollment, requesting it first if the
+     * course was completed before certificates existed.
+     */
+    public Certificate getOrRequest(Learning learning) {
+        Certificate certificate = certificateRepository.findById(learning.getLearning_id()).orElse(null);
+        if (certificate == null) {
+            transactions.executeWithoutResult(status -> certificateRepository.request(learning.getLearning_id(),
+                    learning.getUser().getId(), learning.getCourse().getCourse_id(), LocalDateTime.now()));
+            certificate = certificateRepository.findById(learning.getLearning_id()).orElseThrow();
+        }
+        if (certificate.getStatus() == Certificate.Status.PENDING) {
+            submit(certificate.getLearningId());
+        }
+        return certificate;
+    }
+
+    public Certificate find(UUID learningId) {
+        return certificateRepository.findById(learningId).orElse(null);
+    }
+
+    public Path file(Certificate certificate) {
+        return store.path(certificate.getContentHash());
+    }
+
+    @Scheduled(initialDelayString = "${app.certificates.sweep-interval-ms:60000}",
+            fixedDelayString = "${app.certificates.sweep-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(SWEEP_GRACE_SECONDS);
+        // No more than the queue can take; the rest waits for the next sweep
+        for (UUID learningId : certificateRepository.findPendingRequestedBefore(before,
+                PageRequest.of(0, Math.max(1, queueCapacity - renderPool.getQueue().size())))) {
+            submit(learningId);
+        }
+    }
+
+    // ==========================================
+    // RENDERING
+    // ==========================================
+
+    private void submit(UUID learningId) {
+        if (!inFlight.add(learningId)) {
+            return;
+        }
+        try {
+            renderPool.execute(() -> {
+                try {
+                    render(learningId);
+                } finally {
+                    inFlight.remove(learningId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(learningId);
+            log.debug("Certificate render queue full, {} left for the sweep", learningId);
+        }
+    }
+
+    private void render(UUID learningId) {
+        // Read-write, so it is answered by the primary even right after the requesting commit
+        Job job = transactions.execute(status -> {
+            Certificate certificate = certificateRepository.findById(learningId).orElse(null);
+            if (certificate == null || certificate.getStatus() != Certificate.Status.PENDING) {
+                return null;
+            }
+            return learningRepository.findById(learningId)
+                    .map(learning -> new Job(certificate.getAttempts(), content(learning)))
+                    .orElse(null);
+        });
+        if (job == null) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            byte[] pdf = renderer.render(job.content());
+            String hash = store.put(pdf);
+            transactions.executeWithoutResult(status ->
+                    certificateRepository.markReady(learningId, hash, pdf.length, LocalDateTime.now()));
+            log.debug("Certificate {} rendered in {} ms ({} bytes)",
+                    learningId, (System.nanoTime() - start) / 1_000_000, pdf.length);
+        } catch (Exception e) {
+            boolean giveUp = job.attempts() + 1 >= maxAttempts;
+            log.warn("Certificate {} failed to render (attempt {}{}): {}", learningId, job.attempts() + 1,
+                    giveUp ? ", giving up" : "", e.toString());
+            transactions.executeWithoutResult(status -> certificateRepository.recordFailure(learningId,
+                    String.valueOf(e.getMessage()), giveUp ? Certificate.Status.FAILED : Certificate.Status.PENDING));
+        }
+    }
+
+    private record Job(int attempts, CertificateRenderer.Content content) {
+    }
+
+    private CertificateRenderer.Content content(Learning learning) {
+        LocalDateTime completedAt = learning.getCompletionDate() != null ? learning.getCompletionDate() : LocalDateTime.now();
+        return new CertificateRenderer.Content(learning.getLearning_id(),
+                learning.getUser().getUsername(),
+                learning.getCourse().getCourse_name(),
+                learning.getCourse().getInstructor(),
+                LocalDate.from(completedAt));
+    }
+
+    public ThreadPoolExecutor getRenderPool() {
+        return renderPool;
+    }
+
+    @Override
+    public void destroy() {
+        // Unfinished renders are still PENDING in the database
+        renderPool.shutdownNow();
+    }
+}
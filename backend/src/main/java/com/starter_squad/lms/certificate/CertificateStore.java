@@ -0,0 +1,92 @@
+package com.starter_squad.lms.certificate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store: every file is named after the SHA-256 of its
+ * bytes ({@code <dir>/ab/abcdef....pdf}), so a stored file never changes and
+ * can be served with a strong ETag. Files are written to a temporary name,
+ * synced and renamed into place, so readers never see a partial file.
+ */
+@Component
+public class CertificateStore {
+
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public CertificateStore(@Value("${app.certificates.dir:data/certificates}") String dir) {
+        this.root = Path.of(dir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create certificate store " + root, e);
+        }
+    }
+
+    /** Stores the content and returns its hash; storing identical content again is a no-op. */
+    public String put(byte[] content) throws IOException {
+        String hash = sha256(content);
+        Path target = path(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                // On disk before the database says READY
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException sameContentStoredConcurrently) {
+                // Same hash, same bytes
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return hash;
+    }
+
+    /** Removes every stored certificate; for the datagen reset, never on a live system. */
+    public void clear() throws IOException {
+        FileSystemUtils.deleteRecursively(root);
+        Files.createDirectories(root);
+    }
+
+    public Path path(String hash) {
+        if (hash == null || !SHA_256.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 content hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash + ".pdf");
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,17 +3,28 @@ package com.starter_squad.lms.config;
 import com.starter_squad.lms.entity.User;
 import com.starter_squad.lms.enums.UserRole;
 import com.starter_squad.lms.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
 
-@Configuration
+/**
+ * Creates the default admin account on first start. Runs once the application
+ * is ready and off the main thread, so neither the repository query nor the
+ * BCrypt hash delays the first request.
+ */
+@Component
+@RequiredArgsConstructor
 @Slf4j
 public class AdminInitializer {
 
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
     @Value("${app.default-admin.username:admin}")
     private String defaultUsername;
 
@@ -23,21 +34,19 @@ public class AdminInitializer {
     @Value("${app.default-admin.email:admin@gmail.com}")
     private String defaultEmail;
 
-    @Bean
-    public CommandLineRunner createDefaultAdmin(UserRepository userRepository,
-                                                PasswordEncoder passwordEncoder) {
-        return args -> {
-            if (!userRepository.existsByRole(UserRole.ADMIN)) {
-                User admin = new User();
-                admin.setUsername(defaultUsername);
-                admin.setPassword(passwordEncoder.encode(defaultPassword));
-                admin.setEmail(defaultEmail);
-                admin.setRole(UserRole.ADMIN);
-                userRepository.save(admin);
-                log.info("Default admin user created.");
-            } else {
-                log.info("Admin user already exists, skipping creation.");
-            }
-        };
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void createDefaultAdmin() {
+        if (!userRepository.existsByRole(UserRole.ADMIN)) {
+            User admin = new User();
+            admin.setUsername(defaultUsername);
+            admin.setPassword(passwordEncoder.encode(defaultPassword));
+            admin.setEmail(defaultEmail);
+            admin.setRole(UserRole.ADMIN);
+            userRepository.save(admin);
+            log.info("Default admin user created.");
+        } else {
+            log.info("Admin user already exists, skipping creation.");
+        }
     }
-}
\ No newline at end of file
+}
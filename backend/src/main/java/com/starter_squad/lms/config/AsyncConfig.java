@@ -0,0 +1,16 @@
+package com.starter_squad.lms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Async} and {@code @Scheduled}. Both use Spring Boot's
+ * auto-configured executor and scheduler, which run on virtual threads when
+ * {@code spring.threads.virtual.enabled=true}.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -0,0 +1,35 @@
+package com.starter_squad.lms.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets a node start without running the migrations (DB_MIGRATE_ON_START=false),
+ * e.g. replicas added by the autoscaler once a release has been migrated, or
+ * the CDS training run in the Docker build, which has no database. Hibernate
+ * still validates the schema unless ddl-auto is turned off as well.
+ *
+ * A runtime switch rather than spring.flyway.enabled, because AOT-processed
+ * builds fix auto-configuration conditions at build time.
+ */
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    @Value("${app.schema.migrate-on-start:true}")
+    private boolean migrateOnStart;
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            if (migrateOnStart) {
+                flyway.migrate();
+            } else {
+                log.info("Skipping schema migrations (app.schema.migrate-on-start=false)");
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.starter_squad.lms.config;
+
+import com.starter_squad.lms.certificate.CertificateService;
+import com.starter_squad.lms.event.DomainEventExecutor;
+import com.starter_squad.lms.media.StreamPermits;
+import com.starter_squad.lms.security.throttle.LoginThrottle;
+import com.starter_squad.lms.security.throttle.PasswordHashingExecutor;
+import com.starter_squad.lms.service.LeaderboardService;
+import com.starter_squad.lms.view.FragmentCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the app's own caches, executors and in-memory structures with
+ * Micrometer. HTTP, JVM, Hikari, Hibernate and repository metrics come from
+ * Spring Boot's auto-configuration (see {@code management.*} in application.yml).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder loginThrottleMetrics(LoginThrottle loginThrottle) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, loginThrottle.getIpBuckets(), "login.throttle.ip");
+            CaffeineCacheMetrics.monitor(registry, loginThrottle.getAccountBuckets(), "login.throttle.account");
+            CaffeineCacheMetrics.monitor(registry, loginThrottle.getAccountTotalBuckets(), "login.throttle.account.total");
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingExecutor passwordHashingExecutor) {
+        return new ExecutorServiceMetrics(passwordHashingExecutor.getExecutor(), "password.hashing", Tags.empty());
+    }
+
+    @Bean
+    public MeterBinder domainEventMetrics(DomainEventExecutor domainEventExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(domainEventExecutor.getExecutor(), "domain.events", Tags.empty()).bindTo(registry);
+            FunctionCounter.builder("lms.events.caller.runs", domainEventExecutor, DomainEventExecutor::getCallerRuns)
+                    .description("Async listeners run on the publishing thread because the queue was full")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder certificateRenderMetrics(CertificateService certificateService) {
+        return new ExecutorServiceMetrics(certificateService.getRenderPool(), "certificate.render", Tags.empty());
+    }
+
+    @Bean
+    public MeterBinder mediaStreamMetrics(StreamPermits streamPermits) {
+        return registry -> {
+            Gauge.builder("lms.media.streams.active", streamPermits, StreamPermits::getActive)
+                    .description("Media responses being written")
+                    .register(registry);
+            FunctionCounter.builder("lms.media.streams.rejected", streamPermits, StreamPermits::getRejected)
+                    .description("Media requests answered 503 because every stream permit was taken")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder leaderboardMetrics(LeaderboardService leaderboardService) {
+        return registry -> Gauge.builder("lms.leaderboard.courses", leaderboardService, LeaderboardService::getCourseCount)
+                .description("Courses with an in-memory leaderboard")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder fragmentCacheMetrics(FragmentCache fragmentCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, fragmentCache.getCache(), "view.fragments");
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ObjectProvider<ReplicaRoutingDataSource> routing,
+                                             ObjectProvider<ReadYourWritesTracker> readYourWrites) {
+        return registry -> {
+            routing.ifAvailable(dataSource -> dataSource.getReplicaLag().keySet().forEach(replica ->
+                    Gauge.builder("lms.datasource.replica.lag", dataSource, ds -> ds.getReplicaLag().get(replica))
+                            .description("Replay lag in ms, -1 when the replica is unreachable")
+                            .baseUnit("milliseconds")
+                            .tag("replica", replica)
+                            .register(registry)));
+            readYourWrites.ifAvailable(tracker ->
+                    CaffeineCacheMetrics.monitor(registry, tracker.getRecentWriters(), "read.your.writes"));
+        };
+    }
+
+    @Bean
+    public MeterBinder virtualThreadMetrics(ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor,
+                                            ObjectProvider<ConnectionLimitingDataSource> connectionLimiter) {
+        return registry -> {
+            pinningMonitor.ifAvailable(monitor -> {
+                Gauge.builder("lms.virtual.threads.pinned", monitor, VirtualThreadPinningMonitor::getPinnedCount)
+                        .description("Virtual thread pinning events above the configured threshold")
+                        .register(registry);
+                Gauge.builder("lms.virtual.threads.pinned.time", monitor, m -> m.getPinnedTime().toMillis())
+                        .baseUnit("milliseconds")
+                        .register(registry);
+            });
+            connectionLimiter.ifAvailable(limiter -> {
+                Gauge.builder("lms.datasource.permits.available", limiter, ConnectionLimitingDataSource::getAvailablePermits)
+                        .register(registry);
+                Gauge.builder("lms.datasource.permits.waiting", limiter, ConnectionLimitingDataSource::getQueueLength)
+                        .register(registry);
+            });
+        };
+    }
+}
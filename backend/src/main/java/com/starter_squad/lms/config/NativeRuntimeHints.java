@@ -0,0 +1,123 @@
+package com.starter_squad.lms.config;
+
+import com.starter_squad.lms.enums.UserRole;
+import com.starter_squad.lms.security.UserPrincipal;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reflection, proxy and serialization hints for the native image (mvn -Pnative).
+ * Spring AOT already covers beans, controller signatures, repositories and the
+ * templates/ and db/migration/ resources; this adds what it cannot see.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    // Packages whose types are bound by Jackson or read from templates and SpEL, often
+    // behind ResponseEntity<?>, Map or Object where AOT cannot infer them
+    private static final List<String> BOUND_PACKAGES = List.of(
+            "com.starter_squad.lms.entity",
+            "com.starter_squad.lms.dto",
+            "com.starter_squad.lms.enums",
+            "com.starter_squad.lms.media"
+    );
+
+    // jjwt-api instantiates its implementation by class name (jjwt-impl is runtime scope)
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // ==========================================
+        // JACKSON / THYMELEAF BINDING
+        // ==========================================
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        for (String basePackage : BOUND_PACKAGES) {
+            for (BeanDefinition candidate : typesIn(basePackage)) {
+                binding.registerReflectionHints(hints.reflection(),
+                        ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+        }
+        // #authentication.principal in templates and @PreAuthorize expressions
+        binding.registerReflectionHints(hints.reflection(), UserPrincipal.class);
+
+        // ==========================================
+        // JJWT
+        // ==========================================
+        for (String implementation : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerType(TypeReference.of(implementation),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        // ==========================================
+        // SPRING SESSION (JDBC)
+        // ==========================================
+        // The SecurityContext is Java-serialized into SPRING_SESSION_ATTRIBUTES; spring-session
+        // registers the Spring Security types, the principal is ours
+        hints.serialization()
+                .registerType(UserPrincipal.class)
+                .registerType(UserRole.class)
+                .registerType(UUID.class);
+
+        // ==========================================
+        // JDBC PROXIES
+        // ==========================================
+        // datasource-proxy (SQL profiler) wraps every JDBC object in a JDK proxy
+        for (Class<?> jdbcType : List.of(DataSource.class, Connection.class, Statement.class,
+                PreparedStatement.class, CallableStatement.class, ResultSet.class)) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+        }
+        // ConnectionLimitingDataSource#guard
+        hints.proxies().registerJdkProxy(Connection.class);
+    }
+
+    private static Iterable<BeanDefinition> typesIn(String basePackage) {
+        // Every independent class, not only concrete components: abstract mapped superclasses too
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter((reader, factory) -> true);
+        return scanner.findCandidateComponents(basePackage);
+    }
+}
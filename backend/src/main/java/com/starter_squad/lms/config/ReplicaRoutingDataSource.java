@@ -0,0 +1,157 @@
+package com.starter_squad.lms.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and
+ * everything else to the primary. A replica is skipped while its replay lag
+ * exceeds {@code maxLag} or it can't be reached, and a user who just
+ * committed a write keeps reading from the primary for a short window.
+ *
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the read-only flag is only known after the transaction manager has asked
+ * for a connection.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    // Zero when the replica has replayed everything it received, so an idle primary doesn't look like lag
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END""";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration maxLag, ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            this.replicas.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.trackCurrentTransaction();
+            return PRIMARY;
+        }
+        if (readYourWrites.isCurrentUserWithinWindow()) {
+            return PRIMARY;
+        }
+        int count = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Measures replay lag on every replica. Replicas start out unhealthy, so
+     * reads stay on the primary until the first check has passed.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-ms:2000}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(5);
+                try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                    rs.next();
+                    replica.lagMillis = rs.getLong(1);
+                }
+                replica.healthy = replica.lagMillis <= maxLag.toMillis();
+                if (wasHealthy != replica.healthy) {
+                    log.info("Replica '{}' is now {} (lag {} ms)", replica.name,
+                            replica.healthy ? "in rotation" : "out of rotation", replica.lagMillis);
+                }
+            } catch (SQLException e) {
+                replica.healthy = false;
+                replica.lagMillis = -1;
+                if (wasHealthy) {
+                    log.warn("Replica '{}' is unreachable, routing its reads to the primary: {}",
+                            replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Replica name to last measured lag in ms, or -1 when unreachable or unchecked. */
+    public Map<String, Long> getReplicaLag() {
+        Map<String, Long> lag = new LinkedHashMap<>();
+        replicas.forEach(replica -> lag.put(replica.name, replica.lagMillis));
+        return lag;
+    }
+
+    @Override
+    public void destroy() {
+        close(primary);
+        replicas.forEach(replica -> close(replica.dataSource));
+    }
+
+    private static void close(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(Closeable.class)) {
+                dataSource.unwrap(Closeable.class).close();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to close data source: {}", e.getMessage());
+        }
+    }
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy;
+        volatile long lagMillis = -1;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.starter_squad.lms.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code app.datasource.routing.*}: read replicas for read-only transactions.
+ * Replica credentials default to the primary's ({@code spring.datasource.*}).
+ */
+@ConfigurationProperties("app.datasource.routing")
+public record ReplicaRoutingProperties(
+        boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue("100000") long maxTrackedUsers) {
+
+    public record Replica(String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.starter_squad.lms.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public service method as {@code lms.service} tagged with
+ * class, method, outcome and exception. Repository calls are timed by Spring
+ * Boot itself ({@code spring.data.repository.invocations}).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String METRIC = "lms.service";
+
+    private final MeterRegistry meterRegistry;
+
+    // Looking a timer up by tags on every call is measurably slower than this map
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("within(com.starter_squad.lms.service..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            timer(joinPoint, exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        String type = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        String key = type + '#' + method + '#' + exception;
+        return timers.computeIfAbsent(key, k -> Timer.builder(METRIC)
+                .description("Service method execution time")
+                .tag("class", type)
+                .tag("method", method)
+                .tag("outcome", exception == null ? "SUCCESS" : "ERROR")
+                .tag("exception", exception == null ? "none" : exception)
+                .register(meterRegistry));
+    }
+}
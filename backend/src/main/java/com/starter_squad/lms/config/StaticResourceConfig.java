@@ -0,0 +1,94 @@
+package com.starter_squad.lms.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the AdminLTE assets under content-hashed URLs.
+ *
+ * Templates link assets with {@code @{/dist/...}}; the encoding filter turns
+ * those into {@code adminlte.min-<md5>.css} style URLs, and CSS {@code url()}
+ * references are rewritten the same way. Hashed URLs are cached for a year as
+ * immutable, anything requested without a hash only briefly. {@code .gz} and
+ * {@code .br} siblings produced at build time (see the pom) are served to
+ * clients that accept them.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    static final String[] ASSET_PATTERNS = {
+            "/dist/**", "/plugins/**", "/css/**", "/js/**", "/images/**", "/build/**"
+    };
+
+    // ContentVersionStrategy appends "-" + the MD5 hex of the content before the extension
+    private static final Pattern VERSIONED = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+
+    @Value("${app.static-resources.cache-chain:true}")
+    private boolean cacheChain;
+
+    @Value("${app.static-resources.versioned-max-age:365d}")
+    private Duration versionedMaxAge;
+
+    @Value("${app.static-resources.unversioned-max-age:1h}")
+    private Duration unversionedMaxAge;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String pattern : ASSET_PATTERNS) {
+            String folder = pattern.substring(0, pattern.length() - "**".length());
+            // No cache period here: the header is chosen per request by the interceptor below
+            registry.addResourceHandler(pattern)
+                    .addResourceLocations("classpath:/static" + folder)
+                    .resourceChain(cacheChain)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        CacheControl versioned = CacheControl.maxAge(versionedMaxAge).cachePublic().immutable();
+        CacheControl unversioned = CacheControl.maxAge(unversionedMaxAge).cachePublic();
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                boolean hashed = VERSIONED.matcher(request.getRequestURI()).find();
+                response.setHeader(HttpHeaders.CACHE_CONTROL,
+                        (hashed ? versioned : unversioned).getHeaderValue());
+                return true;
+            }
+        }).addPathPatterns(ASSET_PATTERNS);
+    }
+
+    // Rewrites @{...} asset links in Thymeleaf output to their hashed form
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration =
+                new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    // Public assets skip the security filter chain (and its session lookup) entirely
+    @Bean
+    public WebSecurityCustomizer staticResourcesSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers(ASSET_PATTERNS);
+    }
+}
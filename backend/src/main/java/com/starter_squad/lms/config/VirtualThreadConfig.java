@@ -0,0 +1,62 @@
+package com.starter_squad.lms.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Extra wiring for the Java 21 virtual-thread mode
+ * ({@code spring.threads.virtual.enabled=true}, see the {@code virtual} profile).
+ * Spring Boot itself switches Tomcat, the async executor and the scheduler to
+ * virtual threads; this adds the connection limit and pinning diagnostics.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    // Static so the post-processor doesn't force this configuration to initialize early
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${app.virtual-threads.max-db-connections:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConnections,
+            @Value("${app.virtual-threads.connection-wait-timeout:30s}") Duration waitTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Wrappers and routers are skipped; ReplicaRoutingConfig limits each of its pools itself
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource) && !wrapsRouterOrLimiter(dataSource)) {
+                    log.info("Limiting '{}' to {} concurrent connections for virtual threads", beanName, maxConnections);
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, waitTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Third-party proxies (e.g. the SQL profiler) may sit in front of the router or an existing limiter
+    private static boolean wrapsRouterOrLimiter(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(AbstractRoutingDataSource.class)
+                    || dataSource.isWrapperFor(ConnectionLimitingDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
@@ -39,6 +39,12 @@ public class WebSecurityConfig {
     @Value("${app.frontend-url}")
     private String frontendUrl;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public HttpFirewall allowUrlEncodedDoubleSlashHttpFirewall() {
         StrictHttpFirewall firewall = new StrictHttpFirewall();
@@ -92,15 +98,15 @@ public class WebSecurityConfig {
                 .securityContext(sc -> sc.securityContextRepository(sessionRepo))
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/sqlprofile/**").hasRole("ADMIN")
+                        // Scrapes on the separate, non-public MANAGEMENT_PORT need no login; on the public port only admins
+                        .requestMatchers(request -> isManagementPort(request.getLocalPort())).permitAll()
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**", "/actuator/prometheus").hasRole("ADMIN")
+                        // Asset folders never reach this chain, see StaticResourceConfig
                         .requestMatchers(
                                 "/", "/error",
                                 "/auth/redirect",
                                 "/static/**",
-                                "/css/**",
-                                "/js/**",
-                                "/images/**",
-                                "/dist/**",
-                                "/plugins/**",
                                 "/pages/**",
                                 "/actuator/**"
                         ).permitAll()
@@ -122,6 +128,10 @@ public class WebSecurityConfig {
         return http.build();
     }
 
+    private boolean isManagementPort(int port) {
+        return managementPort > 0 && managementPort != serverPort && port == managementPort;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -132,6 +142,7 @@ public class WebSecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:3000", cleanUrl));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("X-Total-Count", "X-Total-Pages"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -9,6 +9,7 @@ import com.starter_squad.lms.service.CourseService;
 import com.starter_squad.lms.service.LearningService;
 import com.starter_squad.lms.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
@@ -20,10 +21,15 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.io.IOException;
 import java.util.UUID;
 
+import static com.starter_squad.lms.view.FragmentCache.lazy;
+
 /**
  * Admin Controller for Thymeleaf Views
- * Handles User Management, Course Approval, and Admin Dashboard
+ * Handles User Management, Course Approval, and Admin Dashboard.
+ * Lazy: only a handful of admins use it, so it is created on the first
+ * /admin request instead of during startup.
  */
+@Lazy
 @Controller
 @RequestMapping("/admin")
 @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
@@ -40,32 +46,34 @@ public class AdminController {
 
     @GetMapping("/dashboard")
     public String dashboard(Model model, @AuthenticationPrincipal UserPrincipal principal) {
+        // Widgets are cached as rendered HTML (lms:cache), so every value is lazy:
+        // nothing below is queried when the widgets come from the cache.
+
         // User statistics
-        model.addAttribute("totalUsers", userService.getTotalUsersCount());
-        model.addAttribute("activeUsers", userService.getActiveUsersCount());
-        model.addAttribute("totalInstructors", userService.getUsersCountByRole(UserRole.INSTRUCTOR));
-        model.addAttribute("totalStudents", userService.getUsersCountByRole(UserRole.USER));
+        model.addAttribute("totalUsers", lazy(userService::getTotalUsersCount));
+        model.addAttribute("activeUsers", lazy(userService::getActiveUsersCount));
+        model.addAttribute("totalInstructors", lazy(() -> userService.getUsersCountByRole(UserRole.INSTRUCTOR)));
+        model.addAttribute("totalStudents", lazy(() -> userService.getUsersCountByRole(UserRole.USER)));
 
         // Course statistics
-        model.addAttribute("totalCourses", courseService.getTotalCoursesCount());
-        model.addAttribute("publishedCourses", courseService.getPublishedCoursesCount());
-        model.addAttribute("pendingCoursesCount", courseService.getPendingCoursesCount());
-        model.addAttribute("draftCourses", courseService.getCourseCountByStatus(CourseStatus.DRAFT));
-        model.addAttribute("rejectedCourses", courseService.getCourseCountByStatus(CourseStatus.REJECTED));
+        model.addAttribute("totalCourses", lazy(courseService::getTotalCoursesCount));
+        model.addAttribute("publishedCourses", lazy(courseService::getPublishedCoursesCount));
+        model.addAttribute("pendingCoursesCount", lazy(courseService::getPendingCoursesCount));
+        model.addAttribute("draftCourses", lazy(() -> courseService.getCourseCountByStatus(CourseStatus.DRAFT)));
+        model.addAttribute("rejectedCourses", lazy(() -> courseService.getCourseCountByStatus(CourseStatus.REJECTED)));
 
         // Recent data for dashboard widgets
-        model.addAttribute("pendingCourses", courseService.getPendingCourses());
-        model.addAttribute("recentUsers", userService.getRecentUsers(5));
+        model.addAttribute("pendingCourses", lazy(courseService::getPendingCourses));
+        model.addAttribute("recentUsers", lazy(() -> userService.getRecentUsers(5)));
 
         // Enrollment statistics and revenue
-        var enrollments = learningService.getEnrollments();
-        model.addAttribute("totalEnrollments", enrollments.size());
-        
+        var enrollments = lazy(learningService::getEnrollments);
+        model.addAttribute("totalEnrollments", lazy(() -> enrollments.getValue().size()));
+
         // Calculate total revenue
-        long totalRevenue = enrollments.stream()
-            .mapToLong(e -> e.getCourse() != null ? e.getCourse().getPrice() : 0)
-            .sum();
-        model.addAttribute("totalRevenue", "$" + totalRevenue);
+        model.addAttribute("totalRevenue", lazy(() -> "$" + enrollments.getValue().stream()
+                .mapToLong(e -> e.getCourse() != null ? e.getCourse().getPrice() : 0)
+                .sum()));
 
         return "admin/dashboard";
     }
@@ -5,6 +5,8 @@ import com.starter_squad.lms.dto.JwtResponseDTO;
 import com.starter_squad.lms.dto.LoginRequestDTO;
 import com.starter_squad.lms.entity.User;
 import com.starter_squad.lms.security.UserPrincipal;
+import com.starter_squad.lms.security.throttle.LoginThrottle;
+import com.starter_squad.lms.security.throttle.PasswordHashingExecutor;
 import com.starter_squad.lms.security.util.JwtUtils;
 import com.starter_squad.lms.service.UserService;
 import jakarta.servlet.http.HttpServletRequest; // যুক্ত করুন
@@ -18,6 +20,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,6 +35,9 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
     private final UserService authService;
+    private final LoginThrottle loginThrottle;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordEncoder passwordEncoder;
 
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<JwtResponseDTO>> login(
@@ -40,11 +46,16 @@ public class AuthController {
 
         log.info("Login attempt for email: {}", loginRequest.getEmail());
 
-        // ১. ইউজার অথেন্টিকেশন
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(),
-                        loginRequest.getPassword()
+        // Throttle before any BCrypt work is scheduled
+        loginThrottle.acquire(request.getRemoteAddr(), loginRequest.getEmail());
+
+        // ১. ইউজার অথেন্টিকেশন (BCrypt runs on the bounded hashing pool)
+        Authentication authentication = passwordHashingExecutor.execute(() ->
+                authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                loginRequest.getEmail(),
+                                loginRequest.getPassword()
+                        )
                 )
         );
 
@@ -80,9 +91,13 @@ public class AuthController {
     }
 
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<User>> register(@Valid @RequestBody User signUpRequest) {
+    public ResponseEntity<ApiResponse<User>> register(@Valid @RequestBody User signUpRequest,
+                                                      HttpServletRequest request) {
         log.info("Registration attempt for email: {}", signUpRequest.getEmail());
-        User user = authService.createUser(signUpRequest);
+        loginThrottle.acquire(request.getRemoteAddr(), null);
+        // Only the hashing runs on the pool: a timeout there must not leave a user row committing behind the 429
+        String passwordHash = passwordHashingExecutor.execute(() -> passwordEncoder.encode(signUpRequest.getPassword()));
+        User user = authService.createUser(signUpRequest, passwordHash);
         log.info("User registered successfully: {}", signUpRequest.getEmail());
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new ApiResponse<>("User registered successfully", user));
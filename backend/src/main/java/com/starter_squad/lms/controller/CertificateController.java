@@ -0,0 +1,109 @@
+package com.starter_squad.lms.controller;
+
+import com.starter_squad.lms.certificate.Certificate;
+import com.starter_squad.lms.certificate.CertificateService;
+import com.starter_squad.lms.entity.Learning;
+import com.starter_squad.lms.enums.UserRole;
+import com.starter_squad.lms.repository.LearningRepository;
+import com.starter_squad.lms.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Completion certificates. The page shows progress while the PDF is being
+ * rendered; the PDF itself is served straight from the certificate store.
+ */
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class CertificateController {
+
+    private static final CacheControl PDF_CACHE = CacheControl.maxAge(Duration.ofDays(1)).cachePrivate();
+
+    private final CertificateService certificateService;
+    private final LearningRepository learningRepository;
+
+    @GetMapping("/certificate/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public String certificate(@PathVariable UUID id,
+                              @AuthenticationPrincipal UserPrincipal principal,
+                              Model model,
+                              RedirectAttributes redirectAttributes) {
+        Learning learning = learningRepository.findById(id).orElse(null);
+        if (learning == null || !canAccess(learning.getUser().getId(), principal)) {
+            redirectAttributes.addFlashAttribute("error", "Certificate not found.");
+            return "redirect:/my-courses";
+        }
+        if (!learning.isCompleted()) {
+            redirectAttributes.addFlashAttribute("error", "Complete the course to receive its certificate.");
+            return "redirect:/my-courses";
+        }
+
+        Certificate certificate = certificateService.getOrRequest(learning);
+        if (certificate.getStatus() == Certificate.Status.READY) {
+            return "redirect:/certificate/" + id + "/pdf";
+        }
+        model.addAttribute("certificate", certificate);
+        model.addAttribute("course", learning.getCourse());
+        return "student/certificate";
+    }
+
+    @GetMapping("/certificate/{id}/pdf")
+    @PreAuthorize("isAuthenticated()")
+    public void pdf(@PathVariable UUID id,
+                    @AuthenticationPrincipal UserPrincipal principal,
+                    HttpServletRequest request,
+                    HttpServletResponse response) throws IOException {
+        Certificate certificate = certificateService.find(id);
+        if (certificate == null || certificate.getStatus() != Certificate.Status.READY
+                || !canAccess(certificate.getUserId(), principal)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // The file is named by its hash and never re-rendered, so the hash is a strong ETag
+        response.setHeader(HttpHeaders.CACHE_CONTROL, PDF_CACHE.getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified('"' + certificate.getContentHash() + '"')) {
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename("certificate-" + id + ".pdf", StandardCharsets.UTF_8)
+                .build().toString());
+
+        Path file = certificateService.file(certificate);
+        try {
+            FileTransfer.send(request, response, file);
+        } catch (NoSuchFileException e) {
+            // The store must be shared by all nodes; a missing file means it isn't
+            log.error("Certificate {} is READY but {} is missing", id, file);
+            response.reset();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+
+    private static boolean canAccess(UUID ownerId, UserPrincipal principal) {
+        return principal != null && (principal.getId().equals(ownerId) || principal.getRole() == UserRole.ADMIN);
+    }
+}
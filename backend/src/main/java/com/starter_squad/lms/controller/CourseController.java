@@ -1,12 +1,19 @@
 package com.starter_squad.lms.controller;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.service.CatalogVersion;
 import com.starter_squad.lms.service.CourseService;
 
 @RestController
@@ -16,14 +23,29 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Value("${app.http-cache.catalog-max-age:60s}")
+    private Duration catalogMaxAge;
+
+    // Conditional GETs are answered from the catalog version alone, before any query runs
     @GetMapping
-    public List<Course> getAllCourses() {
-        return courseService.getPublishedCourses();
+    public ResponseEntity<List<Course>> getAllCourses(WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag, catalogVersion.lastModified().toEpochMilli())) {
+            return null;
+        }
+        return cacheable(request, etag).body(courseService.getPublishedCourses());
     }
 
     @GetMapping("/{id}")
-    public Course getCourseById(@PathVariable UUID id) {
-        return courseService.getCourseById(id);
+    public ResponseEntity<Course> getCourseById(@PathVariable UUID id, WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag, catalogVersion.lastModified().toEpochMilli())) {
+            return null;
+        }
+        return cacheable(request, etag).body(courseService.getCourseById(id));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -43,4 +65,16 @@ public class CourseController {
     public void deleteCourse(@PathVariable UUID id) {
         courseService.deleteCourse(id);
     }
-}
\ No newline at end of file
+
+    // Shared caches may keep anonymous responses; authenticated callers always revalidate
+    private ResponseEntity.BodyBuilder cacheable(WebRequest request, String etag) {
+        CacheControl cacheControl = request.getHeader(HttpHeaders.AUTHORIZATION) == null
+                ? CacheControl.maxAge(catalogMaxAge).cachePublic().mustRevalidate()
+                : CacheControl.noCache().cachePrivate();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(catalogVersion.lastModified())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.AUTHORIZATION);
+    }
+}
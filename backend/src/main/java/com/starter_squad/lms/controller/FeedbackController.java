@@ -1,9 +1,14 @@
 package com.starter_squad.lms.controller;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import com.starter_squad.lms.dto.FeedbackRequest;
+import com.starter_squad.lms.entity.CourseRatingSummary;
 import com.starter_squad.lms.entity.Feedback;
+import com.starter_squad.lms.security.UserPrincipal;
 import com.starter_squad.lms.service.FeedbackService;
 
 import java.util.List;
@@ -16,13 +21,25 @@ public class FeedbackController {
     @Autowired
     private FeedbackService feedbackService;
 
+    // Body stays a plain list for existing clients; paging info goes in headers
     @GetMapping("/{courseId}")
-    public List<Feedback> getFeedbacksForCourse(@PathVariable UUID courseId) {
-        return feedbackService.getFeedbacksForCourse(courseId);
+    public ResponseEntity<List<Feedback>> getFeedbacksForCourse(@PathVariable UUID courseId,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        Page<Feedback> feedbacks = feedbackService.getFeedbacksForCourse(courseId, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(feedbacks.getTotalElements()))
+                .header("X-Total-Pages", String.valueOf(feedbacks.getTotalPages()))
+                .body(feedbacks.getContent());
+    }
+
+    @GetMapping("/{courseId}/rating")
+    public CourseRatingSummary getCourseRating(@PathVariable UUID courseId) {
+        return feedbackService.getCourseRating(courseId);
     }
 
     @PostMapping
-    public String submitFeedback(@RequestBody FeedbackRequest fr) {
-        return feedbackService.submitFeedback(fr);
+    public String submitFeedback(@RequestBody FeedbackRequest fr, @AuthenticationPrincipal UserPrincipal principal) {
+        return feedbackService.submitFeedback(fr, principal.getId());
     }
 }
@@ -0,0 +1,59 @@
+package com.starter_squad.lms.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes files to the response. Zero-copy with Tomcat's sendfile when the
+ * connector offers it; otherwise streamed with FileChannel.transferTo,
+ * which still never holds the file in memory.
+ */
+final class FileTransfer {
+
+    // Tomcat's sendfile request attributes (org.apache.coyote.Constants / Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileTransfer() {
+    }
+
+    static void send(HttpServletRequest request, HttpServletResponse response, Path file) throws IOException {
+        send(request, response, file, 0, -1);
+    }
+
+    /** Sends {@code length} bytes from {@code start}, or the rest of the file if {@code length} is negative. */
+    static void send(HttpServletRequest request, HttpServletResponse response, Path file,
+                     long start, long length) throws IOException {
+        // Opened even for sendfile, so a missing file fails here rather than after the headers went out
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = length < 0 ? channel.size() : start + length;
+            response.setContentLengthLong(end - start);
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                // Tomcat hands the file to the kernel once this request returns
+                request.setAttribute(SENDFILE_FILENAME, file.toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, out);
+                if (transferred <= 0) {
+                    throw new EOFException(file + " ended at " + position + ", expected " + end + " bytes");
+                }
+                position += transferred;
+            }
+        }
+    }
+}
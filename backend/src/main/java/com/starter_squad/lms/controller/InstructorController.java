@@ -6,6 +6,7 @@ import com.starter_squad.lms.entity.Learning;
 import com.starter_squad.lms.entity.User;
 import com.starter_squad.lms.security.UserPrincipal;
 import com.starter_squad.lms.service.CourseService;
+import com.starter_squad.lms.service.FeedbackService;
 import com.starter_squad.lms.service.LearningService;
 import com.starter_squad.lms.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,8 @@ import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
+import static com.starter_squad.lms.view.FragmentCache.lazy;
+
 /**
  * Instructor Controller for Thymeleaf Views
  * Handles Course Creation, Course Management, and Instructor Dashboard
@@ -34,6 +37,7 @@ public class InstructorController {
     private final UserService userService;
     private final CourseService courseService;
     private final LearningService learningService;
+    private final FeedbackService feedbackService;
 
     // ==========================================
     // INSTRUCTOR DASHBOARD
@@ -44,41 +48,42 @@ public class InstructorController {
         User user = userService.getUserById(principal.getId());
         model.addAttribute("user", user);
 
+        // The widgets are cached per instructor (lms:cache), so their values are lazy
+        // and only queried when the widgets have to be rendered again.
+
         // Course statistics for instructor
         UUID instructorId = principal.getId();
-        long totalCourses = courseService.getInstructorCourseCount(instructorId);
-        long publishedCourses = courseService.getInstructorCourseCountByStatus(instructorId, CourseStatus.PUBLISHED);
-        long pendingCourses = courseService.getInstructorCourseCountByStatus(instructorId, CourseStatus.PENDING);
-        long draftCourses = courseService.getInstructorCourseCountByStatus(instructorId, CourseStatus.DRAFT);
-        long rejectedCourses = courseService.getInstructorCourseCountByStatus(instructorId, CourseStatus.REJECTED);
-
-        model.addAttribute("totalCourses", totalCourses);
-        model.addAttribute("publishedCourses", publishedCourses);
-        model.addAttribute("pendingCourses", pendingCourses);
-        model.addAttribute("draftCourses", draftCourses);
-        model.addAttribute("rejectedCourses", rejectedCourses);
+        model.addAttribute("totalCourses", lazy(() -> courseService.getInstructorCourseCount(instructorId)));
+        model.addAttribute("publishedCourses", lazy(() ->
+                courseService.getInstructorCourseCountByStatus(instructorId, CourseStatus.PUBLISHED)));
+        model.addAttribute("pendingCourses", lazy(() ->
+                courseService.getInstructorCourseCountByStatus(instructorId, CourseStatus.PENDING)));
+        model.addAttribute("draftCourses", lazy(() ->
+                courseService.getInstructorCourseCountByStatus(instructorId, CourseStatus.DRAFT)));
+        model.addAttribute("rejectedCourses", lazy(() ->
+                courseService.getInstructorCourseCountByStatus(instructorId, CourseStatus.REJECTED)));
 
         // Recent courses
-        List<Course> recentCourses = courseService.getCoursesByInstructorId(instructorId);
-        model.addAttribute("recentCourses", recentCourses.stream().limit(5).toList());
+        model.addAttribute("recentCourses", lazy(() ->
+                courseService.getCoursesByInstructorId(instructorId).stream().limit(5).toList()));
 
         // Real student count and enrollment data
-        long totalStudents = learningService.getStudentCountByInstructorId(instructorId);
-        model.addAttribute("totalStudents", totalStudents);
-        
+        model.addAttribute("totalStudents", lazy(() -> learningService.getStudentCountByInstructorId(instructorId)));
+
         // Get recent enrollments/sales
-        var recentEnrollments = learningService.getRecentEnrollmentsByInstructorId(instructorId, 10);
+        var recentEnrollments = lazy(() -> learningService.getRecentEnrollmentsByInstructorId(instructorId, 10));
         model.addAttribute("recentSales", recentEnrollments);
-        
+
         // Calculate earnings from enrollments
-        long monthlyEarnings = recentEnrollments.stream()
+        model.addAttribute("monthlyEarnings", lazy(() -> recentEnrollments.getValue().stream()
                 .filter(e -> e.getCourse() != null)
                 .mapToLong(e -> e.getCourse().getPrice())
-                .sum();
-        model.addAttribute("monthlyEarnings", monthlyEarnings);
-        
-        // Average rating (placeholder for now)
-        model.addAttribute("averageRating", "0.0");
+                .sum()));
+
+        // Average rating from the incrementally maintained aggregate
+        var rating = lazy(() -> feedbackService.getInstructorRating(instructorId));
+        model.addAttribute("averageRating", lazy(() -> String.format("%.1f", rating.getValue().getAverageRating())));
+        model.addAttribute("ratingCount", lazy(() -> rating.getValue().getRatingCount()));
 
         return "instructor/dashboard";
     }
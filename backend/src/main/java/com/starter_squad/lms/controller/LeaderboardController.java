@@ -0,0 +1,36 @@
+package com.starter_squad.lms.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.starter_squad.lms.dto.LeaderboardEntry;
+import com.starter_squad.lms.service.LeaderboardService;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping("/{courseId}")
+    public List<LeaderboardEntry> getTopEntries(@PathVariable UUID courseId,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return leaderboardService.getTopEntries(courseId, limit);
+    }
+
+    @GetMapping("/{courseId}/user/{userId}")
+    public ResponseEntity<LeaderboardEntry> getUserRank(@PathVariable UUID courseId,
+                                                        @PathVariable UUID userId) {
+        LeaderboardEntry entry = leaderboardService.getUserRank(courseId, userId);
+        return entry != null ? ResponseEntity.ok(entry) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.starter_squad.lms.controller;
+
+import com.starter_squad.lms.media.CourseMedia;
+import com.starter_squad.lms.media.MediaService;
+import com.starter_squad.lms.media.MediaService.CourseAccess;
+import com.starter_squad.lms.media.MediaService.Playable;
+import com.starter_squad.lms.media.MediaTooLargeException;
+import com.starter_squad.lms.media.StreamPermits;
+import com.starter_squad.lms.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Self-hosted course video. Players fetch it in HTTP Range requests, each
+ * answered with a 206 straight from the file (sendfile where available).
+ */
+@RestController
+@RequestMapping("/api/courses/{courseId}/media")
+@RequiredArgsConstructor
+@Slf4j
+public class MediaController {
+
+    private final MediaService mediaService;
+    private final StreamPermits streamPermits;
+
+    // Open-ended ranges ("bytes=0-") are answered in pieces of this size; players ask for the next one
+    @Value("${app.media.max-range-size:8MB}")
+    private DataSize maxRangeSize;
+
+    @Value("${app.media.cache-max-age:1d}")
+    private Duration cacheMaxAge;
+
+    @GetMapping
+    public ResponseEntity<List<CourseMedia>> list(@PathVariable UUID courseId,
+                                                  @AuthenticationPrincipal UserPrincipal principal) {
+        CourseAccess course = mediaService.findCourse(courseId);
+        if (course == null || !course.canView(principal)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(mediaService.list(courseId));
+    }
+
+    // The body is the raw file (not multipart), so it can be copied to disk as it arrives
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    @PostMapping
+    public ResponseEntity<CourseMedia> upload(@PathVariable UUID courseId,
+                                              @RequestParam String name,
+                                              @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              @AuthenticationPrincipal UserPrincipal principal,
+                                              HttpServletRequest request) throws IOException {
+        CourseAccess course = mediaService.findCourse(courseId);
+        if (course == null || !course.canManage(principal)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!MediaService.isAccepted(contentType)) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        if (request.getContentLengthLong() > mediaService.getMaxUploadSize()) {
+            throw new MediaTooLargeException(mediaService.getMaxUploadSize());
+        }
+        String fileName = StringUtils.truncate(StringUtils.getFilename(StringUtils.cleanPath(name)), 255);
+        CourseMedia media = mediaService.upload(course, fileName, contentType.toString(), request.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED).body(media);
+    }
+
+    @GetMapping("/{mediaId}")
+    public void stream(@PathVariable UUID courseId,
+                       @PathVariable UUID mediaId,
+                       @AuthenticationPrincipal UserPrincipal principal,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        Playable media = mediaService.findPlayable(courseId, mediaId);
+        if (media == null || !mediaService.canWatch(media.course(), principal)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!streamPermits.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        Path file = mediaService.file(media);
+        try {
+            serve(media, file, request, response);
+        } catch (NoSuchFileException e) {
+            // The store must be shared by all nodes; a missing file means it isn't
+            log.error("Media {} of course {} is missing at {}", mediaId, courseId, file);
+            response.reset();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        } finally {
+            streamPermits.release();
+        }
+    }
+
+    private void serve(Playable media, Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Uploads never overwrite, so the id is a strong validator for If-None-Match and If-Range
+        String etag = '"' + media.id().toString() + '"';
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(media).getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        response.setContentType(media.contentType());
+
+        long length = media.sizeBytes();
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range == null || (ifRange != null && !ifRange.equals(etag))) {
+            FileTransfer.send(request, response, file, 0, length);
+            return;
+        }
+
+        long start;
+        long end;
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            if (ranges.size() != 1) {
+                // Players never ask for several ranges at once; the whole file is a valid answer
+                FileTransfer.send(request, response, file, 0, length);
+                return;
+            }
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+            // HttpRange clamps the end to the file but not the start
+            if (start >= length) {
+                throw new IllegalArgumentException("Range starts after the end of the file");
+            }
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return;
+        }
+        end = Math.min(end, start + maxRangeSize.toBytes() - 1);
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        FileTransfer.send(request, response, file, start, end - start + 1);
+    }
+
+    // Free published media can sit in shared caches and CDNs; paid or unpublished only in the viewer's browser
+    private CacheControl cacheControl(Playable media) {
+        CacheControl cacheControl = CacheControl.maxAge(cacheMaxAge);
+        return media.course().isOpen() ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+    }
+}
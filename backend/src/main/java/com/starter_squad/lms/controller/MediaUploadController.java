@@ -0,0 +1,167 @@
+package com.starter_squad.lms.controller;
+
+import com.starter_squad.lms.dto.UploadRequest;
+import com.starter_squad.lms.media.CourseMedia;
+import com.starter_squad.lms.media.MediaService;
+import com.starter_squad.lms.media.MediaService.CourseAccess;
+import com.starter_squad.lms.media.MediaUpload;
+import com.starter_squad.lms.media.MediaUploadService;
+import com.starter_squad.lms.media.MediaUploadService.ChunkTarget;
+import com.starter_squad.lms.media.MediaUploadService.UploadState;
+import com.starter_squad.lms.media.UploadRejectedException;
+import com.starter_squad.lms.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resumable uploads of course video and materials:
+ * <ol>
+ *   <li>{@code POST /uploads} with the file name, type and size returns the chunk size and count
+ *       (201). With the file's {@code sha256}, content the caller has uploaded before is
+ *       added straight away instead (200 with the new media)</li>
+ *   <li>{@code PUT /uploads/{id}/chunks/{n}} with the raw chunk and
+ *       {@code Content-Digest: sha-256=:<base64>:} (RFC 9530), in any order</li>
+ *   <li>{@code GET /uploads/{id}} lists the chunks still missing, e.g. after a disconnect</li>
+ *   <li>{@code POST /uploads/{id}/complete} turns it into course media</li>
+ * </ol>
+ */
+@RestController
+@RequestMapping("/api/courses/{courseId}/uploads")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+public class MediaUploadController {
+
+    private static final Pattern SHA_256_DIGEST = Pattern.compile("(?:^|,)\\s*sha-256=:([A-Za-z0-9+/]+=*):");
+
+    private final MediaService mediaService;
+    private final MediaUploadService uploadService;
+
+    @PostMapping
+    public ResponseEntity<?> start(@PathVariable UUID courseId,
+                                   @RequestBody UploadRequest request,
+                                   @AuthenticationPrincipal UserPrincipal principal) throws IOException {
+        CourseAccess course = mediaService.findCourse(courseId);
+        if (course == null || !course.canManage(principal)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!StringUtils.hasText(request.getFileName()) || !isAccepted(request.getContentType())) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        String fileName = StringUtils.truncate(StringUtils.getFilename(StringUtils.cleanPath(request.getFileName())), 255);
+        if (request.getSha256() != null) {
+            CourseMedia media = mediaService.reuse(course, principal, request.getSha256(), fileName, request.getContentType());
+            if (media != null) {
+                return ResponseEntity.ok()
+                        .location(URI.create("/api/courses/" + courseId + "/media/" + media.getId()))
+                        .body(media);
+            }
+        }
+        UploadState state = uploadService.start(course, fileName, request);
+        return ResponseEntity.created(URI.create("/api/courses/" + courseId + "/uploads/" + state.id())).body(state);
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadState> state(@PathVariable UUID courseId,
+                                             @PathVariable UUID uploadId,
+                                             @AuthenticationPrincipal UserPrincipal principal) {
+        MediaUpload upload = findManaged(courseId, uploadId, principal);
+        return upload == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(UploadState.of(upload));
+    }
+
+    @PutMapping("/{uploadId}/chunks/{chunk}")
+    public ResponseEntity<Void> chunk(@PathVariable UUID courseId,
+                                      @PathVariable UUID uploadId,
+                                      @PathVariable int chunk,
+                                      @RequestHeader("Content-Digest") String contentDigest,
+                                      @AuthenticationPrincipal UserPrincipal principal,
+                                      HttpServletRequest request) throws IOException {
+        ChunkTarget target = uploadService.findChunkTarget(courseId, uploadId);
+        if (target == null || !target.course().canManage(principal)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            uploadService.writeChunk(target, chunk, request.getInputStream(), sha256(contentDigest));
+        } catch (NoSuchFileException e) {
+            // Completed, aborted or swept while this chunk was on its way
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // 409 with the missing chunks while the upload is incomplete
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(@PathVariable UUID courseId,
+                                      @PathVariable UUID uploadId,
+                                      @AuthenticationPrincipal UserPrincipal principal) throws IOException {
+        MediaUpload upload = findManaged(courseId, uploadId, principal);
+        if (upload == null) {
+            return ResponseEntity.notFound().build();
+        }
+        CourseMedia media = uploadService.complete(upload);
+        if (media == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(UploadState.of(upload));
+        }
+        return ResponseEntity.created(URI.create("/api/courses/" + courseId + "/media/" + media.getId())).body(media);
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(@PathVariable UUID courseId,
+                                      @PathVariable UUID uploadId,
+                                      @AuthenticationPrincipal UserPrincipal principal) throws IOException {
+        MediaUpload upload = findManaged(courseId, uploadId, principal);
+        if (upload == null) {
+            return ResponseEntity.notFound().build();
+        }
+        uploadService.abort(upload);
+        return ResponseEntity.noContent().build();
+    }
+
+    private MediaUpload findManaged(UUID courseId, UUID uploadId, UserPrincipal principal) {
+        CourseAccess course = mediaService.findCourse(courseId);
+        return course != null && course.canManage(principal) ? uploadService.find(courseId, uploadId) : null;
+    }
+
+    private static boolean isAccepted(String contentType) {
+        try {
+            return contentType != null && MediaService.isAccepted(MediaType.parseMediaType(contentType));
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+
+    private static byte[] sha256(String contentDigest) {
+        Matcher matcher = SHA_256_DIGEST.matcher(contentDigest);
+        if (!matcher.find()) {
+            throw new UploadRejectedException("Content-Digest must include sha-256");
+        }
+        try {
+            return Base64.getDecoder().decode(matcher.group(1));
+        } catch (IllegalArgumentException e) {
+            throw new UploadRejectedException("Content-Digest sha-256 is not valid base64");
+        }
+    }
+}
@@ -20,6 +20,11 @@ public class ProgressController {
         return progressService.getProgress(userId, courseId);
     }
 
+    @GetMapping("/{userId}/{courseId}/percentage")
+    public int getPercentage(@PathVariable UUID userId, @PathVariable UUID courseId) {
+        return progressService.getPercentage(userId, courseId);
+    }
+
     @PutMapping("/update-progress")
     public ResponseEntity<String> updateProgress(@RequestBody ProgressRequest request) {
         return progressService.updateProgress(request);
@@ -6,10 +6,13 @@ import com.starter_squad.lms.entity.Course.CourseStatus;
 import com.starter_squad.lms.entity.Learning;
 import com.starter_squad.lms.entity.Progress;
 import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.media.CourseMedia;
+import com.starter_squad.lms.media.MediaService;
 import com.starter_squad.lms.repository.LearningRepository;
 import com.starter_squad.lms.repository.ProgressRepository;
 import com.starter_squad.lms.security.UserPrincipal;
 import com.starter_squad.lms.service.CourseService;
+import com.starter_squad.lms.service.FeedbackService;
 import com.starter_squad.lms.service.LearningService;
 import com.starter_squad.lms.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -36,8 +39,10 @@ public class StudentController {
     private final UserService userService;
     private final CourseService courseService;
     private final LearningService learningService;
+    private final FeedbackService feedbackService;
     private final LearningRepository learningRepository;
     private final ProgressRepository progressRepository;
+    private final MediaService mediaService;
 
     // ==========================================
     // PUBLIC COURSE CATALOG (Available to all)
@@ -62,6 +67,8 @@ public class StudentController {
         }
 
         model.addAttribute("courses", courses);
+        model.addAttribute("ratings", feedbackService.getCourseRatings(
+                courses.stream().map(Course::getCourse_id).toList()));
         model.addAttribute("categories", courseService.getAllCategories());
         model.addAttribute("totalCourses", courseService.getPublishedCoursesCount());
 
@@ -79,6 +86,11 @@ public class StudentController {
         }
 
         model.addAttribute("course", course);
+        model.addAttribute("rating", feedbackService.getCourseRating(id));
+        if (course.getInstructorUser() != null) {
+            model.addAttribute("instructorRating",
+                    feedbackService.getInstructorRating(course.getInstructorUser().getId()));
+        }
 
         // Check if user is enrolled (if logged in)
         boolean isEnrolled = false;
@@ -246,6 +258,10 @@ public class StudentController {
         Progress progress = progressRepository.findByUserAndCourse(user, course);
         model.addAttribute("progress", progress);
 
+        // Self-hosted video takes precedence over the YouTube link
+        List<CourseMedia> media = mediaService.list(id);
+        model.addAttribute("media", media.isEmpty() ? null : media.get(0));
+
         return "student/learn";
     }
     
@@ -273,16 +289,8 @@ public class StudentController {
             return "redirect:/courses/" + id;
         }
         
-        // Mark as completed
-        learning.setCompleted(true);
-        learningRepository.save(learning);
-        
-        // Update progress to 100%
-        Progress progress = progressRepository.findByUserAndCourse(user, course);
-        if (progress != null) {
-            progress.setPercentage(100);
-            progressRepository.save(progress);
-        }
+        // Marks it completed and sets progress to 100%
+        learningService.completeCourse(learning);
         
         redirectAttributes.addFlashAttribute("success", 
             "Congratulations! You have completed '" + course.getCourse_name() + "'!");
@@ -0,0 +1,84 @@
+package com.starter_squad.lms.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Streams rows into one table with {@code COPY ... FROM STDIN} (text format).
+ * Call {@link #add} once per column in order, then {@link #endRow}.
+ */
+class CopyWriter implements AutoCloseable {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Writer out;
+    private boolean firstColumn = true;
+    private long rows;
+
+    CopyWriter(PGConnection connection, String table, String... columns) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        this.out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, sql, 1 << 16), StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    CopyWriter add(Object value) {
+        try {
+            if (!firstColumn) {
+                out.write('\t');
+            }
+            firstColumn = false;
+            if (value == null) {
+                out.write("\\N");
+            } else if (value instanceof LocalDateTime time) {
+                out.write(TIMESTAMP.format(time));
+            } else {
+                escape(value.toString());
+            }
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void endRow() {
+        try {
+            out.write('\n');
+            firstColumn = true;
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void escape(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.write("\\\\");
+                case '\t' -> out.write("\\t");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                default -> out.write(c);
+            }
+        }
+    }
+}
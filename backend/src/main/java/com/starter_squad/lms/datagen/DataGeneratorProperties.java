@@ -0,0 +1,25 @@
+package com.starter_squad.lms.datagen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * {@code app.datagen.*}: volume and shape of the synthetic dataset. The same
+ * seed and settings always produce the same rows.
+ */
+@ConfigurationProperties("app.datagen")
+public record DataGeneratorProperties(
+        @DefaultValue("42") long seed,
+        @DefaultValue("1000000") int learners,
+        @DefaultValue("2000") int instructors,
+        @DefaultValue("20000") int courses,
+        @DefaultValue("4.0") double enrollmentsPerLearner,
+        // Zipf exponents: higher means a few courses / instructors take more of the share
+        @DefaultValue("1.1") double courseSkew,
+        @DefaultValue("1.2") double instructorSkew,
+        @DefaultValue("0.6") double assessmentRate,
+        @DefaultValue("0.2") double feedbackRate,
+        @DefaultValue("0.1") double discussionRate,
+        @DefaultValue("false") boolean truncate,
+        @DefaultValue("true") boolean exitWhenDone) {
+}
@@ -0,0 +1,432 @@
+package com.starter_squad.lms.datagen;
+
+import com.starter_squad.lms.certificate.CertificateStore;
+import com.starter_squad.lms.media.MediaStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Bulk-loads a production-sized synthetic dataset with COPY. Run with the
+ * {@code datagen} profile:
+ * <pre>mvn spring-boot:run -Dspring-boot.run.profiles=datagen -Dspring-boot.run.arguments=--app.datagen.learners=2000000</pre>
+ *
+ * Every id, timestamp and choice comes from the configured seed, so two runs
+ * with the same settings load identical rows. Course popularity and the
+ * number of courses per instructor follow Zipf distributions.
+ */
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    // Every generated account logs in with this password
+    public static final String PASSWORD = "Password123!";
+    // Fixed salt keeps the hash, and so the users table, identical across runs
+    private static final String PASSWORD_HASH = BCrypt.hashpw(PASSWORD, "$2a$10$lmsdatagenlmsdatagenle");
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final int HISTORY_MINUTES = 2 * 365 * 24 * 60;
+    private static final String[] CATEGORIES = {
+            "Programming", "Web Development", "Data Science", "Design", "Business",
+            "Marketing", "Photography", "Music", "Language", "Mathematics"};
+    private static final String[] TOPICS = {
+            "Java", "Spring Boot", "React", "SQL", "Python", "Machine Learning", "UX", "Figma",
+            "Excel", "SEO", "Lightroom", "Guitar", "English", "Statistics", "Docker", "Kubernetes"};
+    private static final String[] COMMENTS = {
+            "Great course, very clear explanations.", "Good content but the pace is fast.",
+            "Exactly what I needed.", "Too basic for me.", "The quizzes really helped.",
+            "Audio quality could be better.", "Excellent instructor!", "Would recommend to friends."};
+    private static final String[] MESSAGES = {
+            "Can someone explain the last lecture?", "Thanks, this helped a lot.",
+            "Is there a deadline for the quiz?", "I found a typo in module 3.",
+            "Which resources do you recommend next?", "Great discussion everyone."};
+    // Ratings skew positive, as on most course platforms
+    private static final double[] RATING_CDF = {0.05, 0.12, 0.27, 0.60, 1.0};
+
+    private static final long USER_IDS = 1;
+    private static final long COURSE_IDS = 2;
+    private static final long LEARNING_IDS = 3;
+    private static final long PROGRESS_IDS = 4;
+    private static final long ASSESSMENT_IDS = 5;
+    private static final long FEEDBACK_IDS = 6;
+    private static final long DISCUSSION_IDS = 7;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataGeneratorProperties properties;
+    private final ApplicationContext applicationContext;
+    private final CertificateStore certificateStore;
+    private final MediaStore mediaStore;
+
+    private int[] courseInstructor;
+    private ZipfDistribution coursePopularity;
+
+    @Override
+    public void run(String... args) throws Exception {
+        long start = System.currentTimeMillis();
+        log.info("Generating synthetic data: {}", properties);
+
+        if (properties.truncate()) {
+            truncate();
+        }
+        planCourses();
+
+        try (Connection connection = dataSource.getConnection()) {
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            copy("users", () -> writeUsers(pg));
+            copy("course", () -> writeCourses(pg));
+            copy("progress", () -> writeProgress(pg));
+            copy("learning", () -> writeLearning(pg));
+            copy("assessment", () -> writeAssessments(pg));
+            copy("feedback", () -> writeFeedback(pg));
+            copy("discussion", () -> writeDiscussions(pg));
+        }
+
+        rebuildRatingSummaries();
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Synthetic data generated in {} s", (System.currentTimeMillis() - start) / 1000);
+
+        if (properties.exitWhenDone()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    // ==========================================
+    // USERS AND COURSES
+    // ==========================================
+
+    private long writeUsers(PGConnection pg) throws Exception {
+        try (CopyWriter users = new CopyWriter(pg, "users", "id", "username", "email", "password",
+                "mobile_number", "role", "is_active", "location", "profession", "created_at", "updated_at")) {
+            int total = properties.instructors() + properties.learners();
+            for (int i = 0; i < total; i++) {
+                SplittableRandom random = randomFor(USER_IDS, i);
+                boolean instructor = i < properties.instructors();
+                LocalDateTime created = timestamp(random);
+                users.add(userId(i))
+                        .add(username(i))
+                        .add((instructor ? "instructor" : "learner") + i + "@datagen.lms")
+                        .add(PASSWORD_HASH)
+                        .add(String.format("01%09d", i))
+                        .add(instructor ? "INSTRUCTOR" : "USER")
+                        .add(random.nextInt(50) != 0)
+                        .add(random.nextBoolean() ? "Dhaka" : "Chattogram")
+                        .add(instructor ? "Instructor" : "Student")
+                        .add(created)
+                        .add(created)
+                        .endRow();
+            }
+            return users.getRows();
+        }
+    }
+
+    // Decides which instructor owns each course before anything is written
+    private void planCourses() {
+        ZipfDistribution instructorLoad = new ZipfDistribution(properties.instructors(), properties.instructorSkew());
+        SplittableRandom random = new SplittableRandom(properties.seed());
+        courseInstructor = new int[properties.courses()];
+        for (int c = 0; c < courseInstructor.length; c++) {
+            courseInstructor[c] = instructorLoad.sample(random);
+        }
+        coursePopularity = new ZipfDistribution(properties.courses(), properties.courseSkew());
+    }
+
+    private long writeCourses(PGConnection pg) throws Exception {
+        try (CopyWriter courses = new CopyWriter(pg, "course", "course_id", "course_name", "price", "instructor",
+                "instructor_id", "description", "p_link", "y_link", "category", "status", "created_at", "updated_at")) {
+            for (int c = 0; c < properties.courses(); c++) {
+                SplittableRandom random = randomFor(COURSE_IDS, c);
+                String topic = TOPICS[random.nextInt(TOPICS.length)];
+                int roll = random.nextInt(100);
+                String status = roll < 90 ? "PUBLISHED" : roll < 95 ? "DRAFT" : roll < 98 ? "PENDING" : "REJECTED";
+                LocalDateTime created = timestamp(random);
+                courses.add(courseId(c))
+                        .add(topic + " " + (c + 1) + ": From Basics to Practice")
+                        .add(random.nextInt(20) == 0 ? 0 : 5 + random.nextInt(196))
+                        .add(username(courseInstructor[c]))
+                        .add(userId(courseInstructor[c]))
+                        .add("Learn " + topic + " step by step with hands-on projects, quizzes and a final assessment.")
+                        .add("https://picsum.photos/seed/course" + c + "/640/360")
+                        .add("https://www.youtube.com/watch?v=datagen" + c)
+                        .add(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                        .add(status)
+                        .add(created)
+                        .add(created)
+                        .endRow();
+            }
+            return courses.getRows();
+        }
+    }
+
+    // ==========================================
+    // PER-LEARNER ACTIVITY
+    // ==========================================
+
+    private record Enrollment(long key, int course, UUID learningId, UUID progressId, LocalDateTime enrolledAt,
+                              boolean completed, LocalDateTime completedAt, int duration, int played,
+                              int[] marks, Integer rating, String comment, String[] messages) {
+    }
+
+    /**
+     * All activity of one learner, drawn from that learner's own random
+     * stream. Each table pass calls this again and gets identical results,
+     * so nothing has to be held in memory between passes.
+     */
+    private List<Enrollment> enrollmentsOf(int learner) {
+        SplittableRandom random = randomFor(LEARNING_IDS, learner);
+        double mean = Math.max(1, properties.enrollmentsPerLearner());
+        int count = Math.min(properties.courses(), 1 + (int) (-Math.log(1 - random.nextDouble()) * (mean - 1)));
+
+        List<Enrollment> enrollments = new ArrayList<>(count);
+        BitSet taken = new BitSet();
+        int enrollmentIndex = 0;
+        for (int attempts = 0; enrollments.size() < count && attempts < count * 20; attempts++) {
+            int course = coursePopularity.sample(random);
+            if (taken.get(course)) {
+                continue;
+            }
+            taken.set(course);
+            // Unique per (learner, enrollment) for deriving row ids
+            long key = (long) learner * 1024 + enrollmentIndex++;
+
+            LocalDateTime enrolledAt = timestamp(random);
+            boolean completed = random.nextInt(10) < 3;
+            int duration = 600 + random.nextInt(7200);
+            int played = completed ? duration : random.nextInt(duration);
+            LocalDateTime completedAt = completed ? enrolledAt.plusDays(1 + random.nextInt(60)) : null;
+
+            int[] marks = new int[0];
+            if (random.nextDouble() < properties.assessmentRate()) {
+                marks = new int[1 + random.nextInt(3)];
+                for (int a = 0; a < marks.length; a++) {
+                    marks[a] = random.nextInt(11);
+                }
+            }
+            Integer rating = null;
+            String comment = null;
+            if (random.nextDouble() < properties.feedbackRate()) {
+                rating = rating(random);
+                comment = COMMENTS[random.nextInt(COMMENTS.length)];
+            }
+            String[] messages = new String[0];
+            if (random.nextDouble() < properties.discussionRate()) {
+                messages = new String[1 + random.nextInt(2)];
+                for (int m = 0; m < messages.length; m++) {
+                    messages[m] = MESSAGES[random.nextInt(MESSAGES.length)];
+                }
+            }
+
+            enrollments.add(new Enrollment(key, course, uuid(LEARNING_IDS, key), uuid(PROGRESS_IDS, key), enrolledAt,
+                    completed, completedAt, duration, played, marks, rating, comment, messages));
+        }
+        return enrollments;
+    }
+
+    private long writeProgress(PGConnection pg) throws Exception {
+        try (CopyWriter progress = new CopyWriter(pg, "progress", "id", "user_id", "course_id",
+                "played_time", "duration", "percentage")) {
+            forEachEnrollment((learner, e) -> progress.add(e.progressId())
+                    .add(userId(learner))
+                    .add(courseId(e.course()))
+                    .add(e.played())
+                    .add(e.duration())
+                    .add(e.played() * 100 / e.duration())
+                    .endRow());
+            return progress.getRows();
+        }
+    }
+
+    private long writeLearning(PGConnection pg) throws Exception {
+        try (CopyWriter learning = new CopyWriter(pg, "learning", "id", "user_id", "course_id", "completed",
+                "enrollment_date", "completion_date", "progress_id")) {
+            forEachEnrollment((learner, e) -> learning.add(e.learningId())
+                    .add(userId(learner))
+                    .add(courseId(e.course()))
+                    .add(e.completed())
+                    .add(e.enrolledAt())
+                    .add(e.completedAt())
+                    .add(e.progressId())
+                    .endRow());
+            return learning.getRows();
+        }
+    }
+
+    private long writeAssessments(PGConnection pg) throws Exception {
+        try (CopyWriter assessments = new CopyWriter(pg, "assessment", "id", "user_id", "course_id", "marks")) {
+            forEachEnrollment((learner, e) -> {
+                for (int a = 0; a < e.marks().length; a++) {
+                    assessments.add(uuid(ASSESSMENT_IDS, e.key() * 4 + a))
+                            .add(userId(learner))
+                            .add(courseId(e.course()))
+                            .add(e.marks()[a])
+                            .endRow();
+                }
+            });
+            return assessments.getRows();
+        }
+    }
+
+    private long writeFeedback(PGConnection pg) throws Exception {
+        try (CopyWriter feedback = new CopyWriter(pg, "feedback", "id", "course_id", "user_id", "comment", "rating",
+                "created_at")) {
+            forEachEnrollment((learner, e) -> {
+                if (e.rating() != null) {
+                    feedback.add(uuid(FEEDBACK_IDS, e.key()))
+                            .add(courseId(e.course()))
+                            .add(userId(learner))
+                            .add(e.comment())
+                            .add(e.rating())
+                            .add(e.enrolledAt().plusDays(3))
+                            .endRow();
+                }
+            });
+            return feedback.getRows();
+        }
+    }
+
+    private long writeDiscussions(PGConnection pg) throws Exception {
+        try (CopyWriter discussions = new CopyWriter(pg, "discussion", "id", "course_id", "user_name", "content", "time")) {
+            forEachEnrollment((learner, e) -> {
+                for (int m = 0; m < e.messages().length; m++) {
+                    discussions.add(uuid(DISCUSSION_IDS, e.key() * 4 + m))
+                            .add(courseId(e.course()))
+                            .add(username(learner))
+                            .add(e.messages()[m])
+                            .add(e.enrolledAt().plusHours(1 + m))
+                            .endRow();
+                }
+            });
+            return discussions.getRows();
+        }
+    }
+
+    @FunctionalInterface
+    private interface EnrollmentConsumer {
+        void accept(int learner, Enrollment enrollment);
+    }
+
+    private void forEachEnrollment(EnrollmentConsumer consumer) {
+        int first = properties.instructors();
+        int last = first + properties.learners();
+        for (int learner = first; learner < last; learner++) {
+            for (Enrollment enrollment : enrollmentsOf(learner)) {
+                consumer.accept(learner, enrollment);
+            }
+        }
+    }
+
+    // ==========================================
+    // HELPERS
+    // ==========================================
+
+    @FunctionalInterface
+    private interface Pass {
+        long write() throws Exception;
+    }
+
+    private void copy(String table, Pass pass) throws Exception {
+        long start = System.currentTimeMillis();
+        long rows = pass.write();
+        long millis = Math.max(1, System.currentTimeMillis() - start);
+        log.info("COPY {}: {} rows in {} ms ({} rows/s)", table, rows, millis, rows * 1000 / millis);
+    }
+
+    private void truncate() throws IOException {
+        log.info("Removing existing data (admins are kept)");
+        // Every table that references course or learning, directly or not
+        jdbcTemplate.execute("TRUNCATE certificate, course_media, media_blob, media_upload, "
+                + "assessment, feedback, discussion, learning, progress, questions, "
+                + "course_rating_summary, instructor_rating_summary, course");
+        jdbcTemplate.update("DELETE FROM users WHERE role <> 'ADMIN'");
+        // The files behind the certificate and media rows just removed
+        certificateStore.clear();
+        mediaStore.clear();
+    }
+
+    // The summaries are normally kept by upserts on submit; recompute them from the loaded feedback
+    private void rebuildRatingSummaries() {
+        String columns = "COUNT(*), SUM(f.rating), "
+                + "COUNT(*) FILTER (WHERE f.rating = 1), COUNT(*) FILTER (WHERE f.rating = 2), "
+                + "COUNT(*) FILTER (WHERE f.rating = 3), COUNT(*) FILTER (WHERE f.rating = 4), "
+                + "COUNT(*) FILTER (WHERE f.rating = 5)";
+        String update = "rating_count = EXCLUDED.rating_count, rating_sum = EXCLUDED.rating_sum, "
+                + "star1 = EXCLUDED.star1, star2 = EXCLUDED.star2, star3 = EXCLUDED.star3, "
+                + "star4 = EXCLUDED.star4, star5 = EXCLUDED.star5";
+        jdbcTemplate.update("INSERT INTO course_rating_summary "
+                + "(course_id, rating_count, rating_sum, star1, star2, star3, star4, star5) "
+                + "SELECT f.course_id, " + columns + " FROM feedback f WHERE f.rating IS NOT NULL "
+                + "GROUP BY f.course_id ON CONFLICT (course_id) DO UPDATE SET " + update);
+        jdbcTemplate.update("INSERT INTO instructor_rating_summary "
+                + "(instructor_id, rating_count, rating_sum, star1, star2, star3, star4, star5) "
+                + "SELECT c.instructor_id, " + columns + " FROM feedback f JOIN course c ON c.course_id = f.course_id "
+                + "WHERE f.rating IS NOT NULL AND c.instructor_id IS NOT NULL "
+                + "GROUP BY c.instructor_id ON CONFLICT (instructor_id) DO UPDATE SET " + update);
+    }
+
+    private SplittableRandom randomFor(long kind, long index) {
+        return new SplittableRandom(mix(properties.seed() ^ mix(kind << 48 ^ index)));
+    }
+
+    private UUID userId(int index) {
+        return uuid(USER_IDS, index);
+    }
+
+    private UUID courseId(int index) {
+        return uuid(COURSE_IDS, index);
+    }
+
+    private static String username(int index) {
+        return "user" + index;
+    }
+
+    // Version 4 layout, but derived from (seed, kind, index) instead of a random source
+    private UUID uuid(long kind, long index) {
+        long high = mix(properties.seed() + mix(kind * 0x9E3779B97F4A7C15L + index));
+        long low = mix(high ^ index);
+        return new UUID((high & ~0xF000L) | 0x4000L, (low & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+    }
+
+    private static LocalDateTime timestamp(SplittableRandom random) {
+        return EPOCH.plusMinutes(random.nextInt(HISTORY_MINUTES));
+    }
+
+    private static int rating(SplittableRandom random) {
+        double roll = random.nextDouble();
+        int stars = 0;
+        while (roll > RATING_CDF[stars]) {
+            stars++;
+        }
+        return stars + 1;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -12,4 +12,5 @@ import java.util.UUID;
 public class FeedbackRequest {
     private UUID course_id;
     private String comment;
+    private Integer rating;
 }
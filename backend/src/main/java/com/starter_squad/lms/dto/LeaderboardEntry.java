@@ -0,0 +1,17 @@
+package com.starter_squad.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntry {
+    private int rank;
+    private UUID userId;
+    private String username;
+    private int marks;
+}
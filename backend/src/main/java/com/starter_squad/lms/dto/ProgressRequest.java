@@ -16,4 +16,6 @@ public class ProgressRequest {
     private UUID courseId;
     private float playedTime;
     private float duration;
+    // Where the span played since the last heartbeat started; playedTime is where it ended
+    private Float watchedFrom;
 }
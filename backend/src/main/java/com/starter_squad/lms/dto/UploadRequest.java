@@ -0,0 +1,16 @@
+package com.starter_squad.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UploadRequest {
+    private String fileName;
+    private String contentType;
+    private long size;
+    // Optional hex SHA-256 of the whole file; content already stored is not uploaded again
+    private String sha256;
+}
@@ -0,0 +1,27 @@
+package com.starter_squad.lms.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "course_rating_summary")
+public class CourseRatingSummary extends RatingSummary {
+
+    @Id
+    @Column(name = "course_id", updatable = false, nullable = false)
+    private UUID courseId;
+
+    public CourseRatingSummary(UUID courseId) {
+        this.courseId = courseId;
+    }
+}
@@ -0,0 +1,43 @@
+package com.starter_squad.lms.entity;
+
+import com.starter_squad.lms.invalidation.InvalidationBus;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes every committed change to the entities behind the in-memory
+ * caches (course catalog ETags, dashboard widgets, leaderboards) on the invalidation bus,
+ * so the caches on this and every other node follow the database. Created by
+ * Hibernate through Spring, so the bus is injected.
+ */
+@RequiredArgsConstructor
+public class EntityChangeListener {
+
+    public static final String COURSE = "course";
+    public static final String ENROLLMENT = "enrollment";
+    public static final String USER = "user";
+    public static final String FEEDBACK = "feedback";
+    // Keyed by course rather than assessment id: a leaderboard is reloaded per course
+    public static final String ASSESSMENT = "assessment";
+
+    private final InvalidationBus invalidationBus;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof Course course) {
+            invalidationBus.publish(COURSE, course.getCourse_id());
+        } else if (entity instanceof Learning learning) {
+            invalidationBus.publish(ENROLLMENT, learning.getLearning_id());
+        } else if (entity instanceof User user) {
+            invalidationBus.publish(USER, user.getId());
+        } else if (entity instanceof Feedback feedback) {
+            invalidationBus.publish(FEEDBACK, feedback.getId());
+        } else if (entity instanceof Assessment assessment) {
+            invalidationBus.publish(ASSESSMENT, assessment.getCourse() != null ? assessment.getCourse().getCourse_id() : null);
+        }
+    }
+}
@@ -6,12 +6,14 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(EntityChangeListener.class)
 public class Feedback {
 
     @Id
@@ -24,5 +26,22 @@ public class Feedback {
     @JoinColumn(name = "course_id")
     private Course course;
 
+    // Who left it; a rated row is unique per (course, user)
+    @ManyToOne
+    @JsonIgnore
+    @JoinColumn(name = "user_id")
+    private User user;
+
     private String comment;
+
+    // 1–5 stars; null for comment-only feedback
+    private Integer rating;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.starter_squad.lms.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "instructor_rating_summary")
+public class InstructorRatingSummary extends RatingSummary {
+
+    @Id
+    @Column(name = "instructor_id", updatable = false, nullable = false)
+    private UUID instructorId;
+
+    public InstructorRatingSummary(UUID instructorId) {
+        this.instructorId = instructorId;
+    }
+}
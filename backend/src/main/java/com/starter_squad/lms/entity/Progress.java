@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -26,9 +27,18 @@ public class Progress {
     @JoinColumn(name = "course_id")
     private Course course;
 
+    // Last position, where playback resumes; may go backwards
     private float playedTime;
     private float duration;
 
+    // Watched segments, see SegmentBitmap; null until the first heartbeat with a span
+    @Column(name = "watched")
+    private byte[] watched;
+
+    // When the last span was marked; bounds how much the next one may mark
+    @Column(name = "watched_at")
+    private LocalDateTime watchedAt;
+
     @Column(name = "percentage")
     private int percentage = 0;
 }
\ No newline at end of file
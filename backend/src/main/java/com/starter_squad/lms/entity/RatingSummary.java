@@ -0,0 +1,47 @@
+package com.starter_squad.lms.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Running rating aggregate (count, sum and 1–5 histogram). Rows are only
+ * changed through the atomic upserts in the summary repositories, so reading
+ * an average never has to scan feedback.
+ */
+@Getter
+@Setter
+@MappedSuperclass
+public abstract class RatingSummary {
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long star1;
+
+    @Column(nullable = false)
+    private long star2;
+
+    @Column(nullable = false)
+    private long star3;
+
+    @Column(nullable = false)
+    private long star4;
+
+    @Column(nullable = false)
+    private long star5;
+
+    public double getAverageRating() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+
+    // Index 0 is one star
+    public long[] getHistogram() {
+        return new long[]{star1, star2, star3, star4, star5};
+    }
+}
@@ -0,0 +1,18 @@
+package com.starter_squad.lms.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs an after-commit {@code @TransactionalEventListener} on the
+ * {@link DomainEventExecutor} instead of the publishing thread. A listener that
+ * writes needs {@code @Transactional(propagation = REQUIRES_NEW)}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AsyncListener {
+}
@@ -0,0 +1,6 @@
+package com.starter_squad.lms.event;
+
+import java.util.UUID;
+
+public record CourseRejected(UUID courseId, UUID instructorId, String reason) implements DomainEvent {
+}
@@ -0,0 +1,16 @@
+package com.starter_squad.lms.event;
+
+/**
+ * A business fact published by the services with
+ * {@code ApplicationEventPublisher#publishEvent} inside the transaction that
+ * made it true. Events carry ids rather than entities, so listeners running
+ * after commit or on another thread load what they need themselves.
+ *
+ * Listeners are {@code @TransactionalEventListener} methods: they run after
+ * commit (and not at all on rollback), or with {@code phase = BEFORE_COMMIT}
+ * to write in the same transaction. Add {@link AsyncListener} to take slow
+ * work off the request thread.
+ */
+public sealed interface DomainEvent
+        permits CourseApproved, CourseRejected, CourseDeleted, EnrollmentCreated, CourseCompleted, InstructorApproved {
+}
@@ -0,0 +1,74 @@
+package com.starter_squad.lms.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link AsyncListener} listeners on a small pool with a bounded queue.
+ * When the queue is full the publishing thread runs the listener itself: the
+ * request slows down instead of the event being dropped or the queue growing
+ * without limit. On shutdown queued events are drained for up to the
+ * configured timeout.
+ *
+ * Deliberately not an {@code Executor} bean, which would replace Spring Boot's
+ * {@code applicationTaskExecutor} for every {@code @Async} method.
+ */
+@Component
+@Slf4j
+public class DomainEventExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration shutdownTimeout;
+    private final AtomicLong callerRuns = new AtomicLong();
+
+    public DomainEventExecutor(@Value("${app.domain-events.threads:2}") int threads,
+                               @Value("${app.domain-events.queue-capacity:1000}") int queueCapacity,
+                               @Value("${app.domain-events.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "domain-events-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> {
+                    // Queue full, or shutting down: deliver on the publishing thread rather than drop it
+                    if (!pool.isShutdown()) {
+                        callerRuns.incrementAndGet();
+                    }
+                    task.run();
+                });
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    /** Listeners that ran on the publishing thread because the queue was full. */
+    public long getCallerRuns() {
+        return callerRuns.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} domain events still queued at shutdown were dropped", executor.shutdownNow().size());
+        }
+    }
+}
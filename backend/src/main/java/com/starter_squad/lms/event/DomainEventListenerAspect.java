@@ -0,0 +1,83 @@
+package com.starter_squad.lms.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every domain event listener as {@code lms.events.listener} tagged with
+ * listener, event and outcome, and hands {@link AsyncListener} methods to the
+ * {@link DomainEventExecutor}. Ordered first so that a listener's own
+ * {@code @Transactional} starts on the thread that actually runs it.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class DomainEventListenerAspect {
+
+    public static final String METRIC = "lms.events.listener";
+
+    private final MeterRegistry meterRegistry;
+    private final DomainEventExecutor executor;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("within(com.starter_squad.lms..*) && @annotation(org.springframework.transaction.event.TransactionalEventListener)")
+    public Object dispatch(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!((MethodSignature) joinPoint.getSignature()).getMethod().isAnnotationPresent(AsyncListener.class)) {
+            return invoke(joinPoint);
+        }
+        executor.execute(() -> {
+            try {
+                invoke(joinPoint);
+            } catch (Throwable e) {
+                // Nobody is waiting for an async listener; the timer's ERROR outcome makes the failure visible
+                log.error("Async listener {} failed for {}", listenerName(joinPoint), joinPoint.getArgs()[0], e);
+            }
+        });
+        return null;
+    }
+
+    private Object invoke(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "SUCCESS";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "ERROR";
+            throw e;
+        } finally {
+            timer(joinPoint, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String outcome) {
+        String listener = listenerName(joinPoint);
+        String event = joinPoint.getArgs().length > 0 && joinPoint.getArgs()[0] != null
+                ? joinPoint.getArgs()[0].getClass().getSimpleName() : "none";
+        return timers.computeIfAbsent(listener + '#' + event + '#' + outcome, k -> Timer.builder(METRIC)
+                .description("Domain event listener execution time")
+                .tag("listener", listener)
+                .tag("event", event)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private static String listenerName(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringType().getSimpleName() + '.' + joinPoint.getSignature().getName();
+    }
+}
@@ -0,0 +1,6 @@
+package com.starter_squad.lms.event;
+
+import java.util.UUID;
+
+public record EnrollmentCreated(UUID learningId, UUID userId, UUID courseId) implements DomainEvent {
+}
@@ -0,0 +1,17 @@
+package com.starter_squad.lms.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a caller is throttled; mapped to 429 with a Retry-After header.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,108 @@
+package com.starter_squad.lms.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fans entity changes out to every {@link InvalidationHandler}: on this node
+ * once the transaction commits, and on the other nodes through the
+ * {@link PgNotifyTransport} when it is enabled. Changes are collected per
+ * transaction, so a write touching many rows results in one callback.
+ */
+@Component
+@Slf4j
+public class InvalidationBus {
+
+    public static final String ALL_KEYS = "*";
+
+    // Above this many keys per topic and transaction, collapse to ALL_KEYS
+    static final int MAX_KEYS_PER_TOPIC = 32;
+
+    private final String nodeId = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final ObjectProvider<InvalidationHandler> handlers;
+    private final ObjectProvider<PgNotifyTransport> transport;
+
+    public InvalidationBus(ObjectProvider<InvalidationHandler> handlers, ObjectProvider<PgNotifyTransport> transport) {
+        this.handlers = handlers;
+        this.transport = transport;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publish(String topic, Object key) {
+        String value = key != null ? key.toString() : ALL_KEYS;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(Map.of(topic, Set.of(value)));
+            transport.ifAvailable(t -> t.trySend(nodeId, topic, value));
+            return;
+        }
+
+        Map<String, Set<String>> pending = pendingChanges();
+        Set<String> keys = pending.computeIfAbsent(topic, t -> new HashSet<>());
+        if (keys.contains(ALL_KEYS) || !keys.add(value)) {
+            return;
+        }
+        if (keys.size() > MAX_KEYS_PER_TOPIC) {
+            keys.clear();
+            keys.add(ALL_KEYS);
+            transport.ifAvailable(t -> t.send(nodeId, topic, ALL_KEYS));
+            return;
+        }
+        // NOTIFY is transactional: other nodes only hear about it if this commits
+        transport.ifAvailable(t -> t.send(nodeId, topic, value));
+    }
+
+    /** Delivers changes to the local handlers. */
+    public void dispatch(Map<String, Set<String>> changes) {
+        for (InvalidationHandler handler : handlers) {
+            try {
+                handler.invalidate(changes);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation handler {} failed", handler.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        for (InvalidationHandler handler : handlers) {
+            try {
+                handler.invalidateAll();
+            } catch (RuntimeException e) {
+                log.warn("Invalidation handler {} failed", handler.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<String>> pendingChanges() {
+        Map<String, Set<String>> pending = (Map<String, Set<String>>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<String, Set<String>> changes = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(changes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationBus.this);
+            }
+        });
+        return changes;
+    }
+}
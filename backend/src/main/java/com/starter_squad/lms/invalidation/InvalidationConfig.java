@@ -0,0 +1,30 @@
+package com.starter_squad.lms.invalidation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Cross-node invalidation over Postgres. Without it (single node, or
+ * {@code app.invalidation.enabled=false}) the bus only invalidates locally.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class InvalidationConfig {
+
+    @Bean
+    public PgNotifyTransport pgNotifyTransport(JdbcTemplate jdbcTemplate,
+                                               DataSourceProperties dataSourceProperties,
+                                               InvalidationBus invalidationBus,
+                                               @Value("${app.invalidation.coalesce-window:100ms}") Duration coalesceWindow,
+                                               @Value("${app.invalidation.max-reconnect-delay:30s}") Duration maxReconnectDelay,
+                                               @Value("${app.invalidation.keep-alive:30s}") Duration keepAlive) {
+        return new PgNotifyTransport(jdbcTemplate, dataSourceProperties, invalidationBus,
+                coalesceWindow, maxReconnectDelay, keepAlive);
+    }
+}
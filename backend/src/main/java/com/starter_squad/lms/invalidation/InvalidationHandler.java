@@ -0,0 +1,24 @@
+package com.starter_squad.lms.invalidation;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A node-local cache that must follow entity changes made on any node.
+ * Registered handlers are found by the {@link InvalidationBus} as beans.
+ */
+public interface InvalidationHandler {
+
+    /**
+     * Changed keys by topic ({@code course}, {@code user}, ...), coalesced
+     * over a transaction or a burst of notifications. A key of
+     * {@link InvalidationBus#ALL_KEYS} means "anything in this topic".
+     */
+    void invalidate(Map<String, Set<String>> changes);
+
+    /**
+     * Called when notifications may have been missed (listener reconnected),
+     * so everything derived from the database must be dropped.
+     */
+    void invalidateAll();
+}
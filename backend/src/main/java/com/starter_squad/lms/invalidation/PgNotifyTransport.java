@@ -0,0 +1,197 @@
+package com.starter_squad.lms.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Carries {@link InvalidationBus} changes between nodes over Postgres
+ * {@code LISTEN/NOTIFY} on the {@value #CHANNEL} channel.
+ *
+ * Sending runs {@code pg_notify} inside the writing transaction, so Postgres
+ * only delivers it on commit, and a failed notify fails that transaction
+ * rather than leaving other nodes with stale caches. Receiving uses one dedicated connection outside
+ * the pool, polled by a background thread; notifications arriving within the
+ * coalesce window are merged into one dispatch. Whenever the connection is
+ * (re)established every handler is told to drop everything, because anything
+ * sent while nobody was listening is gone.
+ */
+@Slf4j
+public class PgNotifyTransport implements SmartLifecycle {
+
+    public static final String CHANNEL = "lms_invalidation";
+    private static final int POLL_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final InvalidationBus bus;
+    private final Duration coalesceWindow;
+    private final Duration maxReconnectDelay;
+    private final Duration keepAlive;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread listener;
+
+    public PgNotifyTransport(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties, InvalidationBus bus,
+                             Duration coalesceWindow, Duration maxReconnectDelay, Duration keepAlive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.bus = bus;
+        this.coalesceWindow = coalesceWindow;
+        this.maxReconnectDelay = maxReconnectDelay;
+        this.keepAlive = keepAlive;
+    }
+
+    // Postgres has already aborted the caller's transaction when this throws, so it must not be swallowed
+    void send(String nodeId, String topic, String key) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, nodeId + '|' + topic + '|' + key);
+    }
+
+    // Outside a transaction the notify commits on its own and a failure affects nothing else
+    void trySend(String nodeId, String topic, String key) {
+        try {
+            send(nodeId, topic, key);
+        } catch (DataAccessException e) {
+            // Local caches are still invalidated; other nodes catch up on their TTLs
+            log.warn("Could not publish invalidation {}:{}: {}", topic, key, e.getMessage());
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    // ==========================================
+    // LIFECYCLE
+    // ==========================================
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ==========================================
+    // LISTENER THREAD
+    // ==========================================
+
+    private void listen() {
+        long delay = 500;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                connected = true;
+                delay = 500;
+                log.info("Listening for cache invalidations on '{}' as node {}", CHANNEL, bus.getNodeId());
+                bus.invalidateAll();
+                poll(connection);
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Invalidation listener disconnected, retrying in {} ms: {}", delay, e.getMessage());
+            } finally {
+                connected = false;
+            }
+            if (!sleep(delay)) {
+                break;
+            }
+            delay = Math.min(delay * 2, maxReconnectDelay.toMillis());
+        }
+    }
+
+    private void poll(Connection connection) throws SQLException {
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        long lastActivity = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+            if (notifications == null || notifications.length == 0) {
+                // getNotifications doesn't notice a silently dropped connection on its own
+                if (System.nanoTime() - lastActivity > keepAlive.toNanos()) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SELECT 1");
+                    }
+                    lastActivity = System.nanoTime();
+                }
+                continue;
+            }
+
+            Map<String, Set<String>> changes = new HashMap<>();
+            collect(notifications, changes);
+            long deadline = System.nanoTime() + coalesceWindow.toNanos();
+            long remaining;
+            while ((remaining = (deadline - System.nanoTime()) / 1_000_000) > 0) {
+                collect(pg.getNotifications((int) remaining), changes);
+            }
+            lastActivity = System.nanoTime();
+            if (!changes.isEmpty()) {
+                bus.dispatch(changes);
+            }
+        }
+    }
+
+    private void collect(PGNotification[] notifications, Map<String, Set<String>> changes) {
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            String[] parts = notification.getParameter().split("\\|", 3);
+            // Our own changes were already applied locally after commit
+            if (parts.length != 3 || parts[0].equals(bus.getNodeId())) {
+                continue;
+            }
+            Set<String> keys = changes.computeIfAbsent(parts[1], t -> new HashSet<>());
+            if (keys.contains(InvalidationBus.ALL_KEYS)) {
+                continue;
+            }
+            keys.add(parts[2]);
+            if (parts[2].equals(InvalidationBus.ALL_KEYS) || keys.size() > InvalidationBus.MAX_KEYS_PER_TOPIC) {
+                keys.clear();
+                keys.add(InvalidationBus.ALL_KEYS);
+            }
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return running;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.starter_squad.lms.media;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A video, audio or PDF file uploaded for a course. Rows are immutable: a new
+ * upload is a new id, which is what lets the stream use the id as its ETag.
+ * Courses with the same file share one {@link MediaBlob}.
+ */
+@Entity
+@Table(name = "course_media")
+@Data
+@NoArgsConstructor
+public class CourseMedia {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "course_id", nullable = false)
+    private UUID courseId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false, length = 127)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    // Key in the content-addressed MediaStore; null for media uploaded before it
+    @Column(name = "content_hash", length = 64)
+    @JsonIgnore
+    private String contentHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
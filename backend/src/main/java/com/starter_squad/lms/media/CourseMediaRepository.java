@@ -0,0 +1,14 @@
+package com.starter_squad.lms.media;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CourseMediaRepository extends JpaRepository<CourseMedia, UUID> {
+
+	@Query("SELECT m FROM CourseMedia m WHERE m.courseId = :courseId ORDER BY m.createdAt")
+	List<CourseMedia> findByCourse(@Param("courseId") UUID courseId);
+}
@@ -0,0 +1,38 @@
+package com.starter_squad.lms.media;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored file in the content-addressed media store, shared by every
+ * {@link CourseMedia} with the same bytes. {@code refCount} is maintained by
+ * a trigger on course_media (V8), so it also follows course deletion.
+ */
+@Entity
+@Table(name = "media_blob")
+@Data
+@NoArgsConstructor
+public class MediaBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+}
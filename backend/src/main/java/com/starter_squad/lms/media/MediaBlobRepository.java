@@ -0,0 +1,40 @@
+package com.starter_squad.lms.media;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, String> {
+
+	// Creates the row or locks the existing one, so garbage collection cannot remove
+	// the file between here and the insert of the course_media row that references it
+	@Modifying
+	@Query(value = "INSERT INTO media_blob (hash, size_bytes, ref_count, created_at) VALUES (:hash, :size, 0, :now) " +
+			"ON CONFLICT (hash) DO UPDATE SET hash = EXCLUDED.hash",
+			nativeQuery = true)
+	int claim(@Param("hash") String hash, @Param("size") long size, @Param("now") LocalDateTime now);
+
+	@Query(value = "SELECT * FROM media_blob WHERE hash = :hash FOR UPDATE", nativeQuery = true)
+	Optional<MediaBlob> findForUpdate(@Param("hash") String hash);
+
+	@Query(value = "SELECT EXISTS (SELECT 1 FROM course_media m JOIN course c ON c.course_id = m.course_id " +
+			"WHERE m.content_hash = :hash AND c.instructor_id = :instructorId)",
+			nativeQuery = true)
+	boolean isUsedByInstructor(@Param("hash") String hash, @Param("instructorId") UUID instructorId);
+
+	// SKIP LOCKED: a blob being claimed right now is left for the next run
+	@Query(value = "SELECT hash FROM media_blob WHERE ref_count = 0 AND released_at < :before " +
+			"ORDER BY released_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+			nativeQuery = true)
+	List<String> lockReleasedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+	@Modifying
+	@Query("DELETE FROM MediaBlob b WHERE b.hash = :hash AND b.refCount = 0")
+	int deleteUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,258 @@
+package com.starter_squad.lms.media;
+
+import com.starter_squad.lms.entity.Course.CourseStatus;
+import com.starter_squad.lms.enums.UserRole;
+import com.starter_squad.lms.event.AsyncListener;
+import com.starter_squad.lms.event.CourseDeleted;
+import com.starter_squad.lms.security.UserPrincipal;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Course media (lecture video and audio, PDF materials): uploads and playback lookups.
+ * <p>
+ * The requests that move file bytes look up courses and media with plain JDBC:
+ * under open-in-view, touching the entity manager would keep a pooled
+ * connection for the whole upload or transfer.
+ */
+@Service
+@Slf4j
+public class MediaService {
+
+    private static final String COURSE_SQL =
+            "SELECT course_id, status, instructor_id, price FROM course WHERE course_id = ?";
+    private static final String PLAYABLE_SQL =
+            "SELECT m.id, m.content_type, m.size_bytes, m.content_hash, c.course_id, c.status, c.instructor_id, c.price " +
+            "FROM course_media m JOIN course c ON c.course_id = m.course_id WHERE m.id = ? AND m.course_id = ?";
+    private static final String ENROLLED_SQL =
+            "SELECT EXISTS (SELECT 1 FROM learning WHERE user_id = ? AND course_id = ?)";
+
+    /**
+     * Who may see a course's media listed and who may upload: anyone once published,
+     * otherwise the course's instructor or an admin. Watching is {@link #canWatch}.
+     */
+    public record CourseAccess(UUID courseId, CourseStatus status, UUID instructorId, int price) {
+
+        /** Published and free: anyone may watch it, and shared caches may keep it. */
+        public boolean isOpen() {
+            return status == CourseStatus.PUBLISHED && price <= 0;
+        }
+
+        public boolean canView(UserPrincipal principal) {
+            return status == CourseStatus.PUBLISHED || canManage(principal);
+        }
+
+        public boolean canManage(UserPrincipal principal) {
+            return principal != null
+                    && (principal.getRole() == UserRole.ADMIN || principal.getId().equals(instructorId));
+        }
+    }
+
+    public record Playable(UUID id, String contentType, long sizeBytes, String contentHash, CourseAccess course) {
+    }
+
+    private static final int COLLECT_BATCH = 100;
+
+    private final CourseMediaRepository mediaRepository;
+    private final MediaBlobRepository blobRepository;
+    private final MediaStore mediaStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    @Getter
+    private final long maxUploadSize;
+    private final Duration blobGracePeriod;
+
+    public MediaService(CourseMediaRepository mediaRepository,
+                        MediaBlobRepository blobRepository,
+                        MediaStore mediaStore,
+                        JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.media.max-upload-size:5GB}") DataSize maxUploadSize,
+                        @Value("${app.media.blob-grace-period:1h}") Duration blobGracePeriod) {
+        this.mediaRepository = mediaRepository;
+        this.blobRepository = blobRepository;
+        this.mediaStore = mediaStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxUploadSize = maxUploadSize.toBytes();
+        this.blobGracePeriod = blobGracePeriod;
+    }
+
+    /** Video and audio for lectures, PDFs for course materials. */
+    public static boolean isAccepted(MediaType type) {
+        return type != null && ("video".equals(type.getType()) || "audio".equals(type.getType())
+                || MediaType.APPLICATION_PDF.equalsTypeAndSubtype(type));
+    }
+
+    public CourseAccess findCourse(UUID courseId) {
+        return jdbcTemplate.query(COURSE_SQL, (rs, row) -> courseAccess(rs), courseId)
+                .stream().findFirst().orElse(null);
+    }
+
+    public Playable findPlayable(UUID courseId, UUID mediaId) {
+        return jdbcTemplate.query(PLAYABLE_SQL, (rs, row) -> new Playable(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("content_type"),
+                        rs.getLong("size_bytes"),
+                        rs.getString("content_hash"),
+                        courseAccess(rs)),
+                mediaId, courseId).stream().findFirst().orElse(null);
+    }
+
+    /** Free published courses for anyone; paid ones only for enrolled learners, the instructor and admins. */
+    public boolean canWatch(CourseAccess course, UserPrincipal principal) {
+        if (course.isOpen() || course.canManage(principal)) {
+            return true;
+        }
+        return course.status() == CourseStatus.PUBLISHED && principal != null
+                && isEnrolled(principal.getId(), course.courseId());
+    }
+
+    public boolean isEnrolled(UUID userId, UUID courseId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(ENROLLED_SQL, Boolean.class, userId, courseId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseMedia> list(UUID courseId) {
+        return mediaRepository.findByCourse(courseId);
+    }
+
+    /**
+     * Streams the body to disk, hashing it on the way, then stores and records it.
+     * No connection is held while the body arrives.
+     */
+    public CourseMedia upload(CourseAccess course, String fileName, String contentType, InputStream body) throws IOException {
+        MediaStore.Staged staged = mediaStore.stage(body, maxUploadSize);
+        try {
+            return store(newMedia(course.courseId(), fileName, contentType, staged.hash(), staged.size()), staged);
+        } finally {
+            Files.deleteIfExists(staged.file());
+        }
+    }
+
+    /**
+     * Moves the staged file into the content-addressed store (or drops it when that
+     * content is already stored) and records the media, in one transaction.
+     */
+    public CourseMedia store(CourseMedia media, MediaStore.Staged staged) {
+        return transactionTemplate.execute(status -> {
+            blobRepository.claim(staged.hash(), staged.size(), LocalDateTime.now());
+            try {
+                mediaStore.putBlob(staged.hash(), staged.file());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return mediaRepository.save(media);
+        });
+    }
+
+    /**
+     * Adds media without an upload when the content is already stored, which the
+     * client shows by sending its SHA-256 first. Only for content the caller has
+     * uploaded before (or admins): knowing a hash must not be enough to get a file.
+     * Returns null when the client has to upload.
+     */
+    public CourseMedia reuse(CourseAccess course, UserPrincipal principal, String hash,
+                             String fileName, String contentType) {
+        if (!MediaStore.isHash(hash)) {
+            return null;
+        }
+        return transactionTemplate.execute(status -> {
+            // Locked, so garbage collection leaves it alone until the new reference is in
+            MediaBlob blob = blobRepository.findForUpdate(hash).orElse(null);
+            if (blob == null || !Files.exists(mediaStore.blobPath(hash))) {
+                return null;
+            }
+            if (principal.getRole() != UserRole.ADMIN && !blobRepository.isUsedByInstructor(hash, principal.getId())) {
+                return null;
+            }
+            return mediaRepository.save(newMedia(course.courseId(), fileName, contentType, hash, blob.getSizeBytes()));
+        });
+    }
+
+    public Path file(Playable media) {
+        return media.contentHash() != null
+                ? mediaStore.blobPath(media.contentHash())
+                : mediaStore.legacyPath(media.course().courseId(), media.id());
+    }
+
+    /**
+     * Deletes stored files nothing has referred to for the grace period. References
+     * are counted by the database as course_media rows come and go, including with
+     * their course.
+     */
+    @Scheduled(initialDelayString = "${app.media.collect-interval-ms:600000}",
+            fixedDelayString = "${app.media.collect-interval-ms:600000}")
+    public void collectGarbage() {
+        LocalDateTime before = LocalDateTime.now().minus(blobGracePeriod);
+        Integer collected = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (String hash : blobRepository.lockReleasedBefore(before, COLLECT_BATCH)) {
+                try {
+                    // File first: if the commit then fails, the row survives and the next upload puts the file back
+                    mediaStore.deleteBlob(hash);
+                    count += blobRepository.deleteUnreferenced(hash);
+                } catch (IOException e) {
+                    log.warn("Could not delete unreferenced media blob {}", hash, e);
+                }
+            }
+            return count;
+        });
+        if (collected != null && collected > 0) {
+            log.info("Deleted {} unreferenced media files", collected);
+        }
+    }
+
+    // Rows go with the course (on delete cascade), releasing their blobs; this removes legacy files and part uploads
+    @AsyncListener
+    @TransactionalEventListener
+    public void onCourseDeleted(CourseDeleted event) {
+        try {
+            mediaStore.deleteCourse(event.courseId());
+        } catch (IOException e) {
+            log.warn("Could not remove media of deleted course {}", event.courseId(), e);
+        }
+    }
+
+    static CourseMedia newMedia(UUID courseId, String fileName, String contentType, String hash, long size) {
+        CourseMedia media = new CourseMedia();
+        media.setId(UUID.randomUUID());
+        media.setCourseId(courseId);
+        media.setFileName(fileName);
+        media.setContentType(contentType);
+        media.setContentHash(hash);
+        media.setSizeBytes(size);
+        media.setCreatedAt(LocalDateTime.now());
+        return media;
+    }
+
+    static CourseAccess courseAccess(ResultSet rs) throws SQLException {
+        return new CourseAccess(
+                rs.getObject("course_id", UUID.class),
+                CourseStatus.valueOf(rs.getString("status")),
+                rs.getObject("instructor_id", UUID.class),
+                rs.getInt("price"));
+    }
+}
@@ -0,0 +1,233 @@
+package com.starter_squad.lms.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Course media on the local file system, content-addressed: each file is
+ * stored once under its SHA-256 ({@code <dir>/blobs/ab/cd/abcd...}, two
+ * levels of sharding keep directories small) and never modified. Uploads are
+ * streamed to a staging or part file, hashed and renamed into place, so
+ * readers never see a partial file.
+ * <p>
+ * Media uploaded before content addressing stays at {@code <dir>/<courseId>/<mediaId>}.
+ */
+@Component
+public class MediaStore {
+
+    /** An upload written to disk and hashed, waiting to be moved into the store. */
+    public record Staged(Path file, String hash, long size) {
+    }
+
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+    private static final int COPY_BUFFER = 64 * 1024;
+    private static final String BLOBS = "blobs";
+    private static final String STAGING = ".staging";
+    private static final String UPLOADS = ".uploads";
+
+    private final Path root;
+
+    public MediaStore(@Value("${app.media.dir:data/media}") String dir) {
+        this.root = Path.of(dir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root.resolve(BLOBS));
+            Files.createDirectories(root.resolve(STAGING));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create media store " + root, e);
+        }
+    }
+
+    public static boolean isHash(String hash) {
+        return hash != null && SHA_256.matcher(hash).matches();
+    }
+
+    /**
+     * Copies the stream to a staging file, hashing it on the way. The body goes from
+     * the socket to the file a chunk at a time, so memory use does not grow with the upload.
+     */
+    public Staged stage(InputStream in, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(root.resolve(STAGING), "upload", ".tmp");
+        try {
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(new DigestInputStream(in, digest));
+                long transferred;
+                // Asks for one byte past the limit so an oversized body is detected without reading it all
+                while ((transferred = channel.transferFrom(source, size, Math.min(TRANSFER_CHUNK, maxBytes + 1 - size))) > 0) {
+                    size += transferred;
+                    if (size > maxBytes) {
+                        throw new MediaTooLargeException(maxBytes);
+                    }
+                }
+                channel.force(true);
+            }
+            return new Staged(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Moves {@code source} into the store as {@code hash}. If the store already has
+     * that content the source is just deleted: the upload was a duplicate.
+     */
+    public void putBlob(String hash, Path source) throws IOException {
+        Path target = blobPath(hash);
+        if (Files.exists(target)) {
+            Files.delete(source);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException sameContentStoredConcurrently) {
+            Files.delete(source);
+        }
+    }
+
+    public Path blobPath(String hash) {
+        if (!isHash(hash)) {
+            throw new IllegalArgumentException("Not a SHA-256 content hash: " + hash);
+        }
+        return root.resolve(BLOBS).resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public void deleteBlob(String hash) throws IOException {
+        Files.deleteIfExists(blobPath(hash));
+    }
+
+    public Path legacyPath(UUID courseId, UUID mediaId) {
+        return root.resolve(courseId.toString()).resolve(mediaId.toString());
+    }
+
+    // Legacy media and unfinished uploads; content-addressed files go by reference count
+    public void deleteCourse(UUID courseId) throws IOException {
+        FileSystemUtils.deleteRecursively(root.resolve(courseId.toString()));
+    }
+
+    /** Removes every stored file and upload; for the datagen reset, never on a live system. */
+    public void clear() throws IOException {
+        FileSystemUtils.deleteRecursively(root);
+        Files.createDirectories(root.resolve(BLOBS));
+        Files.createDirectories(root.resolve(STAGING));
+    }
+
+    // ==========================================
+    // RESUMABLE UPLOADS
+    // ==========================================
+
+    public void createPart(UUID courseId, UUID uploadId) throws IOException {
+        Path part = partPath(courseId, uploadId);
+        Files.createDirectories(part.getParent());
+        Files.createFile(part);
+    }
+
+    /**
+     * Copies exactly {@code length} bytes of one chunk from the stream to a scratch
+     * file next to the part, through one small buffer whatever the chunk size, and
+     * hashes them. Nothing reaches the part file until the hash has been checked.
+     */
+    public Staged stageChunk(UUID courseId, UUID uploadId, long length, InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[COPY_BUFFER];
+        Path temp = Files.createTempFile(partPath(courseId, uploadId).getParent(), uploadId + ".", ".chunk");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            long written = 0;
+            while (written < length) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, length - written));
+                if (read < 0) {
+                    throw new UploadRejectedException("Chunk ended after " + written + " of " + length + " bytes");
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer source = ByteBuffer.wrap(buffer, 0, read);
+                while (source.hasRemaining()) {
+                    written += channel.write(source);
+                }
+            }
+            if (in.read() >= 0) {
+                throw new UploadRejectedException("Chunk is longer than " + length + " bytes");
+            }
+            return new Staged(temp, HexFormat.of().formatHex(digest.digest()), length);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Copies a verified chunk into the part file at {@code position}. Chunks may
+     * arrive in any order and in parallel; each owns its byte range. Fails if the
+     * upload has been completed or aborted in the meantime, rather than recreating it.
+     */
+    public void writeChunk(UUID courseId, UUID uploadId, long position, Staged chunk) throws IOException {
+        try (FileChannel source = FileChannel.open(chunk.file(), StandardOpenOption.READ);
+             FileChannel part = FileChannel.open(partPath(courseId, uploadId), StandardOpenOption.WRITE)) {
+            part.position(position);
+            long copied = 0;
+            while (copied < chunk.size()) {
+                copied += source.transferTo(copied, chunk.size() - copied, part);
+            }
+            // On disk before the chunk is marked as received
+            part.force(false);
+        }
+    }
+
+    /**
+     * Hashes a complete part file. Chunks arrive out of order, so this is one sequential
+     * pass at the end, through a fixed direct buffer rather than the heap.
+     */
+    public Staged sealPart(UUID courseId, UUID uploadId) throws IOException {
+        Path part = partPath(courseId, uploadId);
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER);
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.force(true);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            return new Staged(part, HexFormat.of().formatHex(digest.digest()), channel.size());
+        }
+    }
+
+    public void deletePart(UUID courseId, UUID uploadId) throws IOException {
+        Files.deleteIfExists(partPath(courseId, uploadId));
+    }
+
+    // Inside the course directory, so deleting a course removes its unfinished uploads too
+    private Path partPath(UUID courseId, UUID uploadId) {
+        return root.resolve(courseId.toString()).resolve(UPLOADS).resolve(uploadId + ".part");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
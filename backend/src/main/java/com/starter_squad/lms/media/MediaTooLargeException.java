@@ -0,0 +1,17 @@
+package com.starter_squad.lms.media;
+
+import lombok.Getter;
+
+/**
+ * Thrown when an upload is larger than {@code app.media.max-upload-size}; mapped to 413.
+ */
+@Getter
+public class MediaTooLargeException extends RuntimeException {
+
+    private final long maxBytes;
+
+    public MediaTooLargeException(long maxBytes) {
+        super("Media files are limited to " + maxBytes + " bytes");
+        this.maxBytes = maxBytes;
+    }
+}
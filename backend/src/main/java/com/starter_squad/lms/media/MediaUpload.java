@@ -0,0 +1,64 @@
+package com.starter_squad.lms.media;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * A resumable upload in progress: the file is sent in fixed-size chunks, in
+ * any order and over as many requests as it takes, and becomes a
+ * {@link CourseMedia} once every chunk has arrived.
+ */
+@Entity
+@Table(name = "media_upload")
+@Data
+@NoArgsConstructor
+public class MediaUpload {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "course_id", nullable = false)
+    private UUID courseId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false, length = 127)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    // One bit per chunk, set by MediaUploadRepository.markReceived
+    @Column(nullable = false)
+    private byte[] received;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public int getChunkCount() {
+        return chunkCount(sizeBytes, chunkSize);
+    }
+
+    public BitSet getReceivedChunks() {
+        return BitSet.valueOf(received);
+    }
+
+    static int chunkCount(long size, int chunkSize) {
+        return (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+    }
+}
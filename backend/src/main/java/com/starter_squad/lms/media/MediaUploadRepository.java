@@ -0,0 +1,23 @@
+package com.starter_squad.lms.media;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface MediaUploadRepository extends JpaRepository<MediaUpload, UUID> {
+
+	// Chunks of one upload arrive in parallel; setting the bit in SQL means none of them is lost
+	@Modifying
+	@Query(value = "UPDATE media_upload SET received = set_bit(received, :chunk, 1), expires_at = :expiresAt WHERE id = :id",
+			nativeQuery = true)
+	int markReceived(@Param("id") UUID id, @Param("chunk") int chunk, @Param("expiresAt") LocalDateTime expiresAt);
+
+	@Query("SELECT u FROM MediaUpload u WHERE u.expiresAt < :now ORDER BY u.expiresAt")
+	List<MediaUpload> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,208 @@
+package com.starter_squad.lms.media;
+
+import com.starter_squad.lms.dto.UploadRequest;
+import com.starter_squad.lms.media.MediaService.CourseAccess;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumable chunked uploads. A client starts an upload with the file's size,
+ * sends fixed-size chunks (each with its SHA-256) in any order, asks which
+ * chunks are still missing after a disconnect, and completes the upload once
+ * all have arrived. Each chunk is checked in a scratch file and then copied
+ * into its place in one part file, so completing is a hash pass and a rename
+ * into the content-addressed store: nothing is held in memory.
+ */
+@Service
+@Slf4j
+public class MediaUploadService {
+
+    private static final String CHUNK_TARGET_SQL =
+            "SELECT u.id, u.size_bytes, u.chunk_size, c.course_id, c.status, c.instructor_id, c.price " +
+            "FROM media_upload u JOIN course c ON c.course_id = u.course_id WHERE u.id = ? AND u.course_id = ?";
+
+    private static final String RECEIVED_SQL = "SELECT get_bit(received, ?) = 1 FROM media_upload WHERE id = ?";
+
+    private static final int SWEEP_BATCH = 100;
+
+    /** What a chunk request needs, looked up without the entity manager (see {@link MediaService}). */
+    public record ChunkTarget(UUID uploadId, long sizeBytes, int chunkSize, CourseAccess course) {
+
+        public int chunkCount() {
+            return MediaUpload.chunkCount(sizeBytes, chunkSize);
+        }
+
+        public long offset(int chunk) {
+            return (long) chunk * chunkSize;
+        }
+
+        public long length(int chunk) {
+            return Math.min(chunkSize, sizeBytes - offset(chunk));
+        }
+    }
+
+    public record UploadState(UUID id, String fileName, String contentType, long size, int chunkSize,
+                              int chunkCount, List<Integer> missingChunks, LocalDateTime expiresAt) {
+
+        public static UploadState of(MediaUpload upload) {
+            BitSet received = upload.getReceivedChunks();
+            List<Integer> missing = new ArrayList<>();
+            for (int chunk = received.nextClearBit(0); chunk < upload.getChunkCount(); chunk = received.nextClearBit(chunk + 1)) {
+                missing.add(chunk);
+            }
+            return new UploadState(upload.getId(), upload.getFileName(), upload.getContentType(), upload.getSizeBytes(),
+                    upload.getChunkSize(), upload.getChunkCount(), missing, upload.getExpiresAt());
+        }
+
+        public boolean isComplete() {
+            return missingChunks.isEmpty();
+        }
+    }
+
+    private final MediaUploadRepository uploadRepository;
+    private final MediaService mediaService;
+    private final MediaStore mediaStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration expiry;
+
+    public MediaUploadService(MediaUploadRepository uploadRepository,
+                              MediaService mediaService,
+                              MediaStore mediaStore,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.media.upload.chunk-size:8MB}") DataSize chunkSize,
+                              @Value("${app.media.upload.expiry:24h}") Duration expiry) {
+        this.uploadRepository = uploadRepository;
+        this.mediaService = mediaService;
+        this.mediaStore = mediaStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.expiry = expiry;
+    }
+
+    public UploadState start(CourseAccess course, String fileName, UploadRequest request) throws IOException {
+        if (request.getSize() <= 0) {
+            throw new UploadRejectedException("Upload size must be positive");
+        }
+        if (request.getSize() > mediaService.getMaxUploadSize()) {
+            throw new MediaTooLargeException(mediaService.getMaxUploadSize());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        MediaUpload upload = new MediaUpload();
+        upload.setId(UUID.randomUUID());
+        upload.setCourseId(course.courseId());
+        upload.setFileName(fileName);
+        upload.setContentType(request.getContentType());
+        upload.setSizeBytes(request.getSize());
+        upload.setChunkSize(chunkSize);
+        upload.setReceived(new byte[(MediaUpload.chunkCount(request.getSize(), chunkSize) + 7) / 8]);
+        upload.setCreatedAt(now);
+        upload.setExpiresAt(now.plus(expiry));
+
+        mediaStore.createPart(upload.getCourseId(), upload.getId());
+        return UploadState.of(uploadRepository.save(upload));
+    }
+
+    public MediaUpload find(UUID courseId, UUID uploadId) {
+        return uploadRepository.findById(uploadId)
+                .filter(upload -> upload.getCourseId().equals(courseId))
+                .orElse(null);
+    }
+
+    public ChunkTarget findChunkTarget(UUID courseId, UUID uploadId) {
+        return jdbcTemplate.query(CHUNK_TARGET_SQL, (rs, row) -> new ChunkTarget(
+                        rs.getObject("id", UUID.class),
+                        rs.getLong("size_bytes"),
+                        rs.getInt("chunk_size"),
+                        MediaService.courseAccess(rs)),
+                uploadId, courseId).stream().findFirst().orElse(null);
+    }
+
+    /**
+     * Checks one chunk against its SHA-256, then writes it and marks it received. A
+     * chunk may be sent again (after a timeout the client cannot tell whether it
+     * arrived), so it is verified on the side first: a bad resend never touches
+     * bytes already accepted.
+     */
+    public void writeChunk(ChunkTarget target, int chunk, InputStream body, byte[] expectedSha256) throws IOException {
+        if (chunk < 0 || chunk >= target.chunkCount()) {
+            throw new UploadRejectedException("Chunk " + chunk + " is outside 0.." + (target.chunkCount() - 1));
+        }
+        UUID courseId = target.course().courseId();
+        MediaStore.Staged staged = mediaStore.stageChunk(courseId, target.uploadId(), target.length(chunk), body);
+        try {
+            if (!MessageDigest.isEqual(HexFormat.of().parseHex(staged.hash()), expectedSha256)) {
+                // Not marked, so it still shows as missing and the client sends it again
+                throw new UploadRejectedException("Chunk " + chunk + " does not match its SHA-256");
+            }
+            // The part already holds these exact bytes, and may be on its way into the store
+            if (!isReceived(target.uploadId(), chunk)) {
+                mediaStore.writeChunk(courseId, target.uploadId(), target.offset(chunk), staged);
+            }
+        } finally {
+            Files.deleteIfExists(staged.file());
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plus(expiry);
+        transactionTemplate.executeWithoutResult(status ->
+                uploadRepository.markReceived(target.uploadId(), chunk, expiresAt));
+    }
+
+    private boolean isReceived(UUID uploadId, int chunk) {
+        return jdbcTemplate.queryForList(RECEIVED_SQL, Boolean.class, chunk, uploadId).contains(Boolean.TRUE);
+    }
+
+    /** Turns a fully received upload into course media; returns null while chunks are missing. */
+    public CourseMedia complete(MediaUpload upload) throws IOException {
+        if (!UploadState.of(upload).isComplete()) {
+            return null;
+        }
+        MediaStore.Staged staged = mediaStore.sealPart(upload.getCourseId(), upload.getId());
+        CourseMedia media = MediaService.newMedia(upload.getCourseId(), upload.getFileName(), upload.getContentType(),
+                staged.hash(), staged.size());
+        // Joined by MediaService.store, so the upload row goes in the same transaction
+        return transactionTemplate.execute(status -> {
+            uploadRepository.deleteById(upload.getId());
+            return mediaService.store(media, staged);
+        });
+    }
+
+    public void abort(MediaUpload upload) throws IOException {
+        uploadRepository.deleteById(upload.getId());
+        mediaStore.deletePart(upload.getCourseId(), upload.getId());
+    }
+
+    // Each chunk pushes the expiry out, so only uploads nobody is sending to are removed
+    @Scheduled(initialDelayString = "${app.media.upload.sweep-interval-ms:600000}",
+            fixedDelayString = "${app.media.upload.sweep-interval-ms:600000}")
+    public void sweep() {
+        for (MediaUpload upload : uploadRepository.findExpired(LocalDateTime.now(), PageRequest.of(0, SWEEP_BATCH))) {
+            try {
+                abort(upload);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not remove expired upload {}", upload.getId(), e);
+            }
+        }
+    }
+}
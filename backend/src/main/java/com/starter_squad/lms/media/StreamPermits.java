@@ -0,0 +1,45 @@
+package com.starter_squad.lms.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the media responses being written at once, so a burst of viewers gets
+ * fast 503s with Retry-After instead of starving the request threads that
+ * serve the rest of the application.
+ */
+@Component
+public class StreamPermits {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public StreamPermits(@Value("${app.media.max-concurrent-streams:200}") int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,12 @@
+package com.starter_squad.lms.media;
+
+/**
+ * Thrown when an upload or one of its chunks is malformed (wrong length,
+ * checksum mismatch, unknown chunk); mapped to 400. The client can resend.
+ */
+public class UploadRejectedException extends RuntimeException {
+
+    public UploadRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,211 @@
+package com.starter_squad.lms.notification;
+
+import com.starter_squad.lms.security.throttle.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delivers the {@link EmailOutbox} from one background thread per node.
+ *
+ * A batch of due rows is claimed in a short transaction with
+ * {@code FOR UPDATE SKIP LOCKED}: each claimed row's next attempt is pushed out
+ * by the claim timeout, which acts as a lease, so other nodes skip it while it
+ * is being sent and pick it up again if this node dies mid-batch. Sending
+ * happens outside any transaction, throttled to the configured rate, and each
+ * outcome is written back on its own. Failed deliveries are retried with
+ * exponential backoff until max-attempts, then parked as FAILED. Delivery is
+ * at-least-once: a crash between sending and recording it re-sends the mail
+ * after the lease expires.
+ */
+@Slf4j
+public class EmailDispatcher implements SmartLifecycle {
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxEmailRepository repository;
+    private final TransactionOperations transactions;
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final TokenBucket rateLimit;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+    private final Duration retention;
+
+    private volatile boolean running;
+    private Thread worker;
+    private long lastPurgeNanos;
+
+    public EmailDispatcher(OutboxEmailRepository repository, TransactionOperations transactions,
+                           JavaMailSender mailSender, String from, Duration pollInterval, int batchSize,
+                           int ratePerSecond, int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                           Duration claimTimeout, Duration retention) {
+        this.repository = repository;
+        this.transactions = transactions;
+        this.mailSender = mailSender;
+        this.from = from;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.rateLimit = new TokenBucket(ratePerSecond, ratePerSecond, Duration.ofSeconds(1));
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+        this.retention = retention;
+        this.lastPurgeNanos = System.nanoTime();
+    }
+
+    // ==========================================
+    // LIFECYCLE
+    // ==========================================
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "mail-outbox");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ==========================================
+    // WORKER THREAD
+    // ==========================================
+
+    private void run() {
+        while (running) {
+            int dispatched = 0;
+            try {
+                dispatched = dispatchBatch();
+                purgeIfDue();
+            } catch (RuntimeException e) {
+                // Typically the database is unreachable; claimed rows come back when their lease runs out
+                log.warn("Email outbox poll failed: {}", e.getMessage());
+            }
+            // A full batch means there is probably more waiting
+            if (dispatched < batchSize && !sleep(pollInterval.toMillis())) {
+                break;
+            }
+        }
+    }
+
+    /** Claims and sends one batch of due emails; returns how many were claimed. */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEmail> batch = transactions.execute(status -> {
+            List<OutboxEmail> due = repository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            for (OutboxEmail email : due) {
+                email.setAttempts(email.getAttempts() + 1);
+                email.setNextAttemptAt(now.plus(claimTimeout));
+            }
+            return due;
+        });
+        if (batch == null) {
+            return 0;
+        }
+        for (OutboxEmail email : batch) {
+            if (!awaitPermit()) {
+                break;
+            }
+            deliver(email);
+        }
+        return batch.size();
+    }
+
+    private void deliver(OutboxEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        try {
+            mailSender.send(message);
+            transactions.executeWithoutResult(status -> repository.markSent(email.getId(), LocalDateTime.now()));
+        } catch (MailParseException | MailPreparationException e) {
+            // The message itself is bad (e.g. a malformed address); retrying won't help
+            log.warn("Email {} to {} is undeliverable: {}", email.getId(), email.getRecipient(), e.getMessage());
+            transactions.executeWithoutResult(status -> repository.markFailed(email.getId(), truncate(e)));
+        } catch (MailException e) {
+            if (email.getAttempts() >= maxAttempts) {
+                log.warn("Giving up on email {} to {} after {} attempts: {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), e.getMessage());
+                transactions.executeWithoutResult(status -> repository.markFailed(email.getId(), truncate(e)));
+            } else {
+                Duration delay = backoff(email.getAttempts());
+                log.info("Email {} failed (attempt {}), retrying in {}: {}",
+                        email.getId(), email.getAttempts(), delay, e.getMessage());
+                transactions.executeWithoutResult(status ->
+                        repository.reschedule(email.getId(), LocalDateTime.now().plus(delay), truncate(e)));
+            }
+        }
+    }
+
+    Duration backoff(int attempts) {
+        // initial, 2x, 4x, ... capped; the shift is bounded so it can't overflow
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void purgeIfDue() {
+        if (System.nanoTime() - lastPurgeNanos < PURGE_INTERVAL.toNanos()) {
+            return;
+        }
+        lastPurgeNanos = System.nanoTime();
+        Integer purged = transactions.execute(status ->
+                repository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} sent emails older than {}", purged, retention);
+        }
+    }
+
+    private boolean awaitPermit() {
+        while (!rateLimit.tryConsume()) {
+            if (!sleep(Math.max(1, rateLimit.nanosUntilRefill() / 1_000_000))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String truncate(Exception e) {
+        String error = String.valueOf(e.getMessage());
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
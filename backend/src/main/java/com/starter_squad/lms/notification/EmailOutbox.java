@@ -0,0 +1,26 @@
+package com.starter_squad.lms.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Queues an email in the caller's transaction: it is stored if and only if the
+ * business change commits, and {@link EmailDispatcher} sends it afterwards.
+ * Nothing here talks to SMTP, so a slow or unreachable mail server never holds
+ * up a request.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private final OutboxEmailRepository repository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String recipient, String subject, String body) {
+        repository.save(new OutboxEmail(recipient, subject, body, LocalDateTime.now()));
+    }
+}
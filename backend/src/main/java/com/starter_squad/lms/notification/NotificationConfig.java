@@ -0,0 +1,36 @@
+package com.starter_squad.lms.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Runs the outbox dispatcher. With {@code app.notifications.enabled=false} no
+ * emails are queued or sent.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationConfig {
+
+    @Bean
+    public EmailDispatcher emailDispatcher(OutboxEmailRepository repository,
+                                           TransactionTemplate transactionTemplate,
+                                           JavaMailSender mailSender,
+                                           @Value("${app.notifications.from:no-reply@lms.local}") String from,
+                                           @Value("${app.notifications.outbox.poll-interval:5s}") Duration pollInterval,
+                                           @Value("${app.notifications.outbox.batch-size:50}") int batchSize,
+                                           @Value("${app.notifications.outbox.rate-per-second:10}") int ratePerSecond,
+                                           @Value("${app.notifications.outbox.max-attempts:8}") int maxAttempts,
+                                           @Value("${app.notifications.outbox.initial-backoff:30s}") Duration initialBackoff,
+                                           @Value("${app.notifications.outbox.max-backoff:1h}") Duration maxBackoff,
+                                           @Value("${app.notifications.outbox.claim-timeout:5m}") Duration claimTimeout,
+                                           @Value("${app.notifications.outbox.retention:14d}") Duration retention) {
+        return new EmailDispatcher(repository, transactionTemplate, mailSender, from, pollInterval, batchSize,
+                ratePerSecond, maxAttempts, initialBackoff, maxBackoff, claimTimeout, retention);
+    }
+}
@@ -0,0 +1,99 @@
+package com.starter_squad.lms.notification;
+
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.event.CourseApproved;
+import com.starter_squad.lms.event.CourseRejected;
+import com.starter_squad.lms.event.EnrollmentCreated;
+import com.starter_squad.lms.event.InstructorApproved;
+import com.starter_squad.lms.repository.CourseRepository;
+import com.starter_squad.lms.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * The notification emails the application sends. The listeners run just
+ * before commit, so the outbox rows are written in the same transaction as the
+ * change they announce; the entities are already in the persistence context.
+ */
+@Component
+@RequiredArgsConstructor
+public class Notifications {
+
+    private final EmailOutbox outbox;
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+
+    @Value("${app.notifications.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.frontend-url:}")
+    private String frontendUrl;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void enrollmentConfirmed(EnrollmentCreated event) {
+        User learner = userRepository.findById(event.userId()).orElse(null);
+        Course course = courseRepository.findById(event.courseId()).orElse(null);
+        if (learner == null || course == null) {
+            return;
+        }
+        send(learner, "You're enrolled in " + course.getCourse_name(),
+                "Hi " + learner.getUsername() + ",\n\n"
+                        + "You are now enrolled in \"" + course.getCourse_name() + "\". Happy learning!\n"
+                        + link());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void courseApproved(CourseApproved event) {
+        Course course = courseRepository.findById(event.courseId()).orElse(null);
+        if (course == null) {
+            return;
+        }
+        send(course.getInstructorUser(), "Your course was approved: " + course.getCourse_name(),
+                "Hi " + course.getInstructor() + ",\n\n"
+                        + "\"" + course.getCourse_name() + "\" has been approved and is now published in the catalog.\n"
+                        + link());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void courseRejected(CourseRejected event) {
+        Course course = courseRepository.findById(event.courseId()).orElse(null);
+        if (course == null) {
+            return;
+        }
+        String reason = event.reason();
+        send(course.getInstructorUser(), "Your course needs changes: " + course.getCourse_name(),
+                "Hi " + course.getInstructor() + ",\n\n"
+                        + "\"" + course.getCourse_name() + "\" was not approved"
+                        + (reason == null || reason.isBlank() ? "." : ":\n\n" + reason) + "\n\n"
+                        + "You can update the course and resubmit it for review.\n"
+                        + link());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void instructorApproved(InstructorApproved event) {
+        User instructor = userRepository.findById(event.userId()).orElse(null);
+        if (instructor == null) {
+            return;
+        }
+        send(instructor, "Your instructor account is active",
+                "Hi " + instructor.getUsername() + ",\n\n"
+                        + "Your instructor account has been approved. You can now create and publish courses.\n"
+                        + link());
+    }
+
+    private void send(User recipient, String subject, String body) {
+        // Courses created by an admin have no instructor account to notify
+        if (!enabled || recipient == null || recipient.getEmail() == null) {
+            return;
+        }
+        outbox.enqueue(recipient.getEmail(), subject, body + "\n— The LMS team\n");
+    }
+
+    private String link() {
+        return frontendUrl.isBlank() ? "" : "\n" + frontendUrl + "\n";
+    }
+}
@@ -0,0 +1,40 @@
+package com.starter_squad.lms.notification;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+	// FOR UPDATE SKIP LOCKED (lock timeout -2): nodes polling at the same time claim disjoint batches
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+	@Query("SELECT e FROM OutboxEmail e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+	List<OutboxEmail> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE OutboxEmail e SET e.status = 'SENT', e.sentAt = :sentAt, e.lastError = NULL WHERE e.id = :id")
+	int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+
+	@Modifying
+	@Query("UPDATE OutboxEmail e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+	int reschedule(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+	@Modifying
+	@Query("UPDATE OutboxEmail e SET e.status = 'FAILED', e.lastError = :error WHERE e.id = :id")
+	int markFailed(@Param("id") Long id, @Param("error") String error);
+
+	@Modifying
+	@Query("DELETE FROM OutboxEmail e WHERE e.status = 'SENT' AND e.sentAt < :cutoff")
+	int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
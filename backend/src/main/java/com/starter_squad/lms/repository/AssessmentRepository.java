@@ -2,16 +2,36 @@ package com.starter_squad.lms.repository;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.starter_squad.lms.entity.Assessment;
 import com.starter_squad.lms.entity.Course;
 import com.starter_squad.lms.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 public interface AssessmentRepository extends JpaRepository<Assessment, UUID> {
 
     List<Assessment> findByUserAndCourse(User user, Course course);
 
 	List<Assessment> findByUser(User user);
+
+	// Best marks per (course, user) — used to rebuild the in-memory leaderboards
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT a.course.course_id, a.user.id, MAX(a.marks) FROM Assessment a " +
+	       "WHERE a.course IS NOT NULL AND a.user IS NOT NULL " +
+	       "GROUP BY a.course.course_id, a.user.id")
+	Stream<Object[]> streamBestMarksPerCourseAndUser();
+
+	// Best marks per user in one course — reloads a single leaderboard
+	@Query("SELECT a.user.id, MAX(a.marks) FROM Assessment a " +
+	       "WHERE a.course.course_id = :courseId AND a.user IS NOT NULL " +
+	       "GROUP BY a.user.id")
+	List<Object[]> findBestMarksByCourse(@Param("courseId") UUID courseId);
 }
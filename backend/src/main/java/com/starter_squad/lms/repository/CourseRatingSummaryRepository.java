@@ -0,0 +1,45 @@
+package com.starter_squad.lms.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.starter_squad.lms.entity.CourseRatingSummary;
+
+import java.util.UUID;
+
+public interface CourseRatingSummaryRepository extends JpaRepository<CourseRatingSummary, UUID> {
+
+	// Single-statement upsert: concurrent submissions never lose an increment
+	@Modifying
+	@Query(value = "INSERT INTO course_rating_summary " +
+			"(course_id, rating_count, rating_sum, star1, star2, star3, star4, star5) " +
+			"VALUES (:courseId, 1, :rating, " +
+			"CASE WHEN :rating = 1 THEN 1 ELSE 0 END, CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+			"CASE WHEN :rating = 3 THEN 1 ELSE 0 END, CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+			"CASE WHEN :rating = 5 THEN 1 ELSE 0 END) " +
+			"ON CONFLICT (course_id) DO UPDATE SET " +
+			"rating_count = course_rating_summary.rating_count + 1, " +
+			"rating_sum = course_rating_summary.rating_sum + EXCLUDED.rating_sum, " +
+			"star1 = course_rating_summary.star1 + EXCLUDED.star1, " +
+			"star2 = course_rating_summary.star2 + EXCLUDED.star2, " +
+			"star3 = course_rating_summary.star3 + EXCLUDED.star3, " +
+			"star4 = course_rating_summary.star4 + EXCLUDED.star4, " +
+			"star5 = course_rating_summary.star5 + EXCLUDED.star5",
+			nativeQuery = true)
+	void addRating(@Param("courseId") UUID courseId, @Param("rating") int rating);
+
+	// A learner changing their rating moves it between stars; the count stays the same
+	@Modifying
+	@Query(value = "UPDATE course_rating_summary SET " +
+			"rating_sum = rating_sum - :oldRating + :newRating, " +
+			"star1 = star1 - CASE WHEN :oldRating = 1 THEN 1 ELSE 0 END + CASE WHEN :newRating = 1 THEN 1 ELSE 0 END, " +
+			"star2 = star2 - CASE WHEN :oldRating = 2 THEN 1 ELSE 0 END + CASE WHEN :newRating = 2 THEN 1 ELSE 0 END, " +
+			"star3 = star3 - CASE WHEN :oldRating = 3 THEN 1 ELSE 0 END + CASE WHEN :newRating = 3 THEN 1 ELSE 0 END, " +
+			"star4 = star4 - CASE WHEN :oldRating = 4 THEN 1 ELSE 0 END + CASE WHEN :newRating = 4 THEN 1 ELSE 0 END, " +
+			"star5 = star5 - CASE WHEN :oldRating = 5 THEN 1 ELSE 0 END + CASE WHEN :newRating = 5 THEN 1 ELSE 0 END " +
+			"WHERE course_id = :courseId",
+			nativeQuery = true)
+	void changeRating(@Param("courseId") UUID courseId, @Param("oldRating") int oldRating, @Param("newRating") int newRating);
+}
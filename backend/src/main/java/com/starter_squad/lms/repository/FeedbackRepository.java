@@ -1,10 +1,24 @@
 package com.starter_squad.lms.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.starter_squad.lms.entity.Feedback;
 
 import java.util.UUID;
 
 public interface FeedbackRepository extends JpaRepository<Feedback, UUID> {
+
+	@Query(value = "SELECT f FROM Feedback f WHERE f.course.course_id = :courseId",
+	       countQuery = "SELECT COUNT(f) FROM Feedback f WHERE f.course.course_id = :courseId")
+	Page<Feedback> findByCourseId(@Param("courseId") UUID courseId, Pageable pageable);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT f FROM Feedback f WHERE f.course.course_id = :courseId AND f.user.id = :userId AND f.rating IS NOT NULL")
+	Feedback findRatingForUpdate(@Param("courseId") UUID courseId, @Param("userId") UUID userId);
 }
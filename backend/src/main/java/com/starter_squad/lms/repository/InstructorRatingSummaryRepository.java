@@ -0,0 +1,45 @@
+package com.starter_squad.lms.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.starter_squad.lms.entity.InstructorRatingSummary;
+
+import java.util.UUID;
+
+public interface InstructorRatingSummaryRepository extends JpaRepository<InstructorRatingSummary, UUID> {
+
+	// Single-statement upsert: concurrent submissions never lose an increment
+	@Modifying
+	@Query(value = "INSERT INTO instructor_rating_summary " +
+			"(instructor_id, rating_count, rating_sum, star1, star2, star3, star4, star5) " +
+			"VALUES (:instructorId, 1, :rating, " +
+			"CASE WHEN :rating = 1 THEN 1 ELSE 0 END, CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+			"CASE WHEN :rating = 3 THEN 1 ELSE 0 END, CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+			"CASE WHEN :rating = 5 THEN 1 ELSE 0 END) " +
+			"ON CONFLICT (instructor_id) DO UPDATE SET " +
+			"rating_count = instructor_rating_summary.rating_count + 1, " +
+			"rating_sum = instructor_rating_summary.rating_sum + EXCLUDED.rating_sum, " +
+			"star1 = instructor_rating_summary.star1 + EXCLUDED.star1, " +
+			"star2 = instructor_rating_summary.star2 + EXCLUDED.star2, " +
+			"star3 = instructor_rating_summary.star3 + EXCLUDED.star3, " +
+			"star4 = instructor_rating_summary.star4 + EXCLUDED.star4, " +
+			"star5 = instructor_rating_summary.star5 + EXCLUDED.star5",
+			nativeQuery = true)
+	void addRating(@Param("instructorId") UUID instructorId, @Param("rating") int rating);
+
+	// A learner changing their rating moves it between stars; the count stays the same
+	@Modifying
+	@Query(value = "UPDATE instructor_rating_summary SET " +
+			"rating_sum = rating_sum - :oldRating + :newRating, " +
+			"star1 = star1 - CASE WHEN :oldRating = 1 THEN 1 ELSE 0 END + CASE WHEN :newRating = 1 THEN 1 ELSE 0 END, " +
+			"star2 = star2 - CASE WHEN :oldRating = 2 THEN 1 ELSE 0 END + CASE WHEN :newRating = 2 THEN 1 ELSE 0 END, " +
+			"star3 = star3 - CASE WHEN :oldRating = 3 THEN 1 ELSE 0 END + CASE WHEN :newRating = 3 THEN 1 ELSE 0 END, " +
+			"star4 = star4 - CASE WHEN :oldRating = 4 THEN 1 ELSE 0 END + CASE WHEN :newRating = 4 THEN 1 ELSE 0 END, " +
+			"star5 = star5 - CASE WHEN :oldRating = 5 THEN 1 ELSE 0 END + CASE WHEN :newRating = 5 THEN 1 ELSE 0 END " +
+			"WHERE instructor_id = :instructorId",
+			nativeQuery = true)
+	void changeRating(@Param("instructorId") UUID instructorId, @Param("oldRating") int oldRating, @Param("newRating") int newRating);
+}
@@ -1,6 +1,8 @@
 package com.starter_squad.lms.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,6 +16,11 @@ import java.util.UUID;
 public interface LearningRepository extends JpaRepository<Learning, UUID> {
 
 	Learning findByUserAndCourse(User user, Course course);
+
+	// Serializes one learner's ratings of a course, so the first one cannot be inserted twice
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT l FROM Learning l WHERE l.user.id = :userId AND l.course.course_id = :courseId")
+	Learning findForUpdate(@Param("userId") UUID userId, @Param("courseId") UUID courseId);
 	
 	@Query("SELECT l FROM Learning l WHERE l.user.id = :userId")
 	List<Learning> findByUserId(@Param("userId") UUID userId);
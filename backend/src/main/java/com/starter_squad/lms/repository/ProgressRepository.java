@@ -1,6 +1,10 @@
 package com.starter_squad.lms.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.starter_squad.lms.entity.Course;
 import com.starter_squad.lms.entity.Progress;
@@ -11,4 +15,9 @@ import java.util.UUID;
 public interface ProgressRepository extends JpaRepository<Progress, UUID> {
 
 	Progress findByUserAndCourse(User user, Course course);
+
+	// Heartbeats from two tabs must not lose each other's segments
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM Progress p WHERE p.user = :user AND p.course = :course")
+	Progress findForUpdate(@Param("user") User user, @Param("course") Course course);
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -93,4 +94,12 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 	long countByIsActive(Boolean isActive);
 
 	long countByRoleAndIsActive(UserRole role, Boolean isActive);
+
+	// ==========================================
+	// PROJECTIONS
+	// ==========================================
+
+	// id + username only, so listings don't pull profileImage bytes
+	@Query("SELECT u.id, u.username FROM User u WHERE u.id IN :ids")
+	List<Object[]> findUsernamesByIds(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
@@ -1,45 +1,64 @@
 package com.starter_squad.lms.security;
 
 import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.enums.UserRole;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.ToString;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.io.Serial;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * The authenticated user as kept in the SecurityContext, and therefore in the
+ * (JDBC-backed) HTTP session. Deliberately small: only ids and flags, never
+ * the User entity, its image bytes or its lazy collections. The password is
+ * only needed while authenticating and is never serialized.
+ */
 @Data
 @AllArgsConstructor
-public class UserPrincipal implements UserDetails {
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     private UUID id;
     private String name;
     private String email;
-    private String password;
-    private Collection<? extends GrantedAuthority> authorities;
+    private UserRole role;
     private boolean isActive;
+    private boolean hasProfileImage;
 
-    @ToString.Exclude // রিকার্সিভ কল এবং সেশন এরর বন্ধ করার জন্য
-    private User user;
+    @ToString.Exclude
+    private transient String password;
 
     public static UserPrincipal create(User user) {
-        GrantedAuthority authority = new SimpleGrantedAuthority(user.getRole().getRoleName());
-
         return new UserPrincipal(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
-                user.getPassword(),
-                Collections.singletonList(authority),
+                user.getRole(),
                 user.getIsActive() != null ? user.getIsActive() : true,
-                user
+                user.getProfileImage() != null,
+                user.getPassword()
         );
     }
 
+    // Same values the templates used to read from the User entity
+    public String getFullName() {
+        return name;
+    }
+
+    public String getPhotosImagePath() {
+        return hasProfileImage ? "/api/users/" + id + "/profile-image" : "/images/user.jpg";
+    }
+
     @Override
     public String getUsername() {
         return email;
@@ -52,7 +71,12 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return authorities;
+        return List.of(new SimpleGrantedAuthority(role.getRoleName()));
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
     }
 
     @Override
@@ -74,4 +98,4 @@ public class UserPrincipal implements UserDetails {
     public boolean isEnabled() {
         return isActive;
     }
-}
\ No newline at end of file
+}
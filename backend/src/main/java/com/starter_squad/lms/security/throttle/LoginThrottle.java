@@ -0,0 +1,115 @@
+package com.starter_squad.lms.security.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starter_squad.lms.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-IP and per-account token buckets for the credential endpoints. Buckets
+ * live in size-bounded maps that drop idle entries, so a spray across many
+ * addresses or emails cannot grow memory without limit.
+ *
+ * Each account has two buckets. The tight one is per account and client
+ * address, so guessing at someone's password from one address cannot lock
+ * them out everywhere else. The looser one covers the account from every
+ * address, so a guesser spread over many addresses is still capped per
+ * account; it is sized well above what its owner would ever use. Client
+ * addresses come from X-Forwarded-For via server.forward-headers-strategy;
+ * without it, everyone behind the proxy would share one bucket.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> accountBuckets;
+    private final Cache<String, TokenBucket> accountTotalBuckets;
+
+    private final int ipCapacity;
+    private final int ipPerMinute;
+    private final int accountCapacity;
+    private final int accountPerMinute;
+    private final int accountTotalCapacity;
+    private final int accountTotalPerMinute;
+
+    public LoginThrottle(@Value("${app.login-throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${app.login-throttle.ip.per-minute:20}") int ipPerMinute,
+                         @Value("${app.login-throttle.account.capacity:5}") int accountCapacity,
+                         @Value("${app.login-throttle.account.per-minute:5}") int accountPerMinute,
+                         @Value("${app.login-throttle.account-total.capacity:30}") int accountTotalCapacity,
+                         @Value("${app.login-throttle.account-total.per-minute:10}") int accountTotalPerMinute,
+                         @Value("${app.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys,
+                         @Value("${app.login-throttle.idle-expiry:15m}") Duration idleExpiry) {
+        this.ipCapacity = ipCapacity;
+        this.ipPerMinute = ipPerMinute;
+        this.accountCapacity = accountCapacity;
+        this.accountPerMinute = accountPerMinute;
+        this.accountTotalCapacity = accountTotalCapacity;
+        this.accountTotalPerMinute = accountTotalPerMinute;
+        this.ipBuckets = newBucketMap(maxTrackedKeys, idleExpiry);
+        this.accountBuckets = newBucketMap(maxTrackedKeys, idleExpiry);
+        this.accountTotalBuckets = newBucketMap(maxTrackedKeys, idleExpiry);
+    }
+
+    /**
+     * Takes one token from the caller's IP bucket and, when given, from the
+     * buckets for that account from this IP and from anywhere; throws
+     * {@link TooManyRequestsException} if any of them is empty.
+     */
+    public void acquire(String ip, String email) {
+        TokenBucket ipBucket = ipBuckets.get(ip,
+                key -> new TokenBucket(ipCapacity, ipPerMinute, Duration.ofMinutes(1)));
+        if (!ipBucket.tryConsume()) {
+            log.warn("Login throttled for IP {}", ip);
+            throw new TooManyRequestsException("Too many attempts from this address, try again later",
+                    TimeUnit.NANOSECONDS.toSeconds(ipBucket.nanosUntilRefill()) + 1);
+        }
+
+        if (email == null || email.isBlank()) {
+            return;
+        }
+        String account = email.trim().toLowerCase(Locale.ROOT);
+        TokenBucket accountBucket = accountBuckets.get(account + '|' + ip,
+                key -> new TokenBucket(accountCapacity, accountPerMinute, Duration.ofMinutes(1)));
+        if (!accountBucket.tryConsume()) {
+            log.warn("Login throttled for account {}", email);
+            throw new TooManyRequestsException("Too many attempts for this account, try again later",
+                    TimeUnit.NANOSECONDS.toSeconds(accountBucket.nanosUntilRefill()) + 1);
+        }
+
+        TokenBucket accountTotalBucket = accountTotalBuckets.get(account,
+                key -> new TokenBucket(accountTotalCapacity, accountTotalPerMinute, Duration.ofMinutes(1)));
+        if (!accountTotalBucket.tryConsume()) {
+            log.warn("Login throttled for account {} across all addresses", email);
+            throw new TooManyRequestsException("Too many attempts for this account, try again later",
+                    TimeUnit.NANOSECONDS.toSeconds(accountTotalBucket.nanosUntilRefill()) + 1);
+        }
+    }
+
+    public Cache<String, TokenBucket> getIpBuckets() {
+        return ipBuckets;
+    }
+
+    public Cache<String, TokenBucket> getAccountBuckets() {
+        return accountBuckets;
+    }
+
+    public Cache<String, TokenBucket> getAccountTotalBuckets() {
+        return accountTotalBuckets;
+    }
+
+    private static Cache<String, TokenBucket> newBucketMap(long maxTrackedKeys, Duration idleExpiry) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.starter_squad.lms.security.throttle;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket. The refill is computed lazily from the elapsed time
+ * on each attempt and committed with a single CAS, so contended buckets never
+ * block a thread.
+ */
+public final class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<State> state;
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    public TokenBucket(long capacity, long refillTokens, Duration refillPeriod) {
+        this(capacity, refillTokens, refillPeriod, System::nanoTime);
+    }
+
+    public TokenBucket(long capacity, long refillTokens, Duration refillPeriod, LongSupplier nanoClock) {
+        if (capacity < 1 || refillTokens < 1 || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Token bucket needs a positive capacity and refill rate");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillTokens / refillPeriod.toNanos();
+        this.nanoClock = nanoClock;
+        this.state = new AtomicReference<>(new State(capacity, nanoClock.getAsLong()));
+    }
+
+    public boolean tryConsume() {
+        while (true) {
+            State current = state.get();
+            long now = nanoClock.getAsLong();
+            double available = refill(current, now);
+            if (available < 1) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(available - 1, now))) {
+                return true;
+            }
+        }
+    }
+
+    /** Nanoseconds until at least one token is available again. */
+    public long nanosUntilRefill() {
+        double missing = 1 - refill(state.get(), nanoClock.getAsLong());
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / tokensPerNano);
+    }
+
+    private double refill(State current, long now) {
+        long elapsed = Math.max(0, now - current.refilledAtNanos());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+}
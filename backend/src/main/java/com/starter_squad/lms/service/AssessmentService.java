@@ -19,6 +19,7 @@ import com.starter_squad.lms.repository.AssessmentRepository;
 public class AssessmentService {
 
     private final AssessmentRepository assessmentRepository;
+    private final LeaderboardService leaderboardService;
     
     public List<Assessment> getAssessmentsByUserAndCourse(User user, Course course) {
         return assessmentRepository.findByUserAndCourse(user, course);
@@ -45,6 +46,7 @@ public class AssessmentService {
             if (newMarks > existingAssessment.getMarks()) {
                 addMarks(existingAssessment, newMarks);
                 Assessment updatedAssessment = createAssessment(existingAssessment);
+                updateLeaderboard(updatedAssessment);
                 return ResponseEntity.status(HttpStatus.CREATED).body(updatedAssessment);
             } else {
                 return ResponseEntity.status(HttpStatus.CREATED).body(null);
@@ -53,7 +55,15 @@ public class AssessmentService {
             assessment.setUser(user);
             assessment.setCourse(course);
             Assessment savedAssessment = createAssessment(assessment);
+            updateLeaderboard(savedAssessment);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedAssessment);
         }
     }
-}
\ No newline at end of file
+
+    private void updateLeaderboard(Assessment assessment) {
+        if (assessment.getCourse() != null && assessment.getUser() != null) {
+            leaderboardService.recordMarks(assessment.getCourse().getCourse_id(),
+                    assessment.getUser().getId(), assessment.getMarks());
+        }
+    }
+}
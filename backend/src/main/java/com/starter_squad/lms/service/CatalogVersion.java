@@ -0,0 +1,63 @@
+package com.starter_squad.lms.service;
+
+import com.starter_squad.lms.entity.EntityChangeListener;
+import com.starter_squad.lms.invalidation.InvalidationHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the public course catalog, used as the HTTP validator for the
+ * course APIs so repeat requests can be answered with 304 without loading
+ * anything. Bumped after every committed course or enrollment change, on
+ * this node or, through the invalidation bus, on any other.
+ *
+ * The version is seeded from the start time, so validators handed out by an
+ * earlier process or another instance simply never match.
+ */
+@Component
+public class CatalogVersion implements InvalidationHandler {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    // HTTP dates have second precision
+    private volatile Instant lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Override
+    public void invalidate(Map<String, Set<String>> changes) {
+        if (changes.containsKey(EntityChangeListener.COURSE) || changes.containsKey(EntityChangeListener.ENROLLMENT)) {
+            bump();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        bump();
+    }
+
+    public void bump() {
+        lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Weak ETag value for the current catalog state. Weak, because the bytes differ between
+     * the gzip and identity encodings, and Tomcat does not compress a response carrying a
+     * strong ETag. If-None-Match compares weakly, so revalidation is unaffected.
+     */
+    public String etag() {
+        return "W/\"c" + Long.toString(epoch, 36) + "-" + Long.toString(version.get(), 36) + "\"";
+    }
+
+    public Instant lastModified() {
+        return lastModified;
+    }
+}
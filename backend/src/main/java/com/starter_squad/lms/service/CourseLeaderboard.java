@@ -0,0 +1,218 @@
+package com.starter_squad.lms.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Best marks of every learner in one course, kept in an order-statistic treap
+ * (highest marks first, ties broken by user id) so that updates, rank lookups
+ * and the start of a top-N walk are all O(log n).
+ */
+public class CourseLeaderboard {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> bestMarks = new HashMap<>();
+    private Node root;
+
+    /**
+     * Records a learner's marks. Only improvements move the learner, which
+     * mirrors how AssessmentService keeps the best attempt.
+     *
+     * @return true if the board changed
+     */
+    public boolean record(UUID userId, int marks) {
+        lock.writeLock().lock();
+        try {
+            Integer current = bestMarks.get(userId);
+            if (current != null) {
+                if (current >= marks) {
+                    return false;
+                }
+                root = remove(root, current, userId);
+            }
+            root = insert(root, new Node(marks, userId));
+            bestMarks.put(userId, marks);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID userId) {
+        lock.writeLock().lock();
+        try {
+            Integer current = bestMarks.remove(userId);
+            if (current != null) {
+                root = remove(root, current, userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Competition rank (1 + learners with strictly higher marks), or null if
+     * the learner has no marks in this course.
+     */
+    public Standing standingOf(UUID userId) {
+        lock.readLock().lock();
+        try {
+            Integer marks = bestMarks.get(userId);
+            if (marks == null) {
+                return null;
+            }
+            return new Standing(userId, marks, countAbove(marks) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Standing> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<Standing> result = new ArrayList<>(Math.min(limit, size(root)));
+            collect(root, limit, result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Standing(UUID userId, int marks, int rank) {
+    }
+
+    // ==========================================
+    // TREAP INTERNALS
+    // ==========================================
+
+    private static final class Node {
+        final int marks;
+        final UUID userId;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(int marks, UUID userId) {
+            this.marks = marks;
+            this.userId = userId;
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    // Negative when (marks, userId) sorts before the node: higher marks first.
+    private static int compare(int marks, UUID userId, Node node) {
+        int byMarks = Integer.compare(node.marks, marks);
+        return byMarks != 0 ? byMarks : userId.compareTo(node.userId);
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (fresh.priority > node.priority) {
+            Node[] parts = split(node, fresh.marks, fresh.userId);
+            fresh.left = parts[0];
+            fresh.right = parts[1];
+            return update(fresh);
+        }
+        if (compare(fresh.marks, fresh.userId, node) < 0) {
+            node.left = insert(node.left, fresh);
+        } else {
+            node.right = insert(node.right, fresh);
+        }
+        return update(node);
+    }
+
+    // Splits into nodes ordered before (marks, userId) and the rest.
+    private static Node[] split(Node node, int marks, UUID userId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(marks, userId, node) > 0) {
+            Node[] parts = split(node.right, marks, userId);
+            node.right = parts[0];
+            return new Node[]{update(node), parts[1]};
+        }
+        Node[] parts = split(node.left, marks, userId);
+        node.left = parts[1];
+        return new Node[]{parts[0], update(node)};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node remove(Node node, int marks, UUID userId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(marks, userId, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, marks, userId);
+        } else {
+            node.right = remove(node.right, marks, userId);
+        }
+        return update(node);
+    }
+
+    private int countAbove(int marks) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.marks > marks) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private void collect(Node node, int limit, List<Standing> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        collect(node.left, limit, out);
+        if (out.size() < limit) {
+            int rank = out.isEmpty() || out.get(out.size() - 1).marks() != node.marks
+                    ? out.size() + 1
+                    : out.get(out.size() - 1).rank();
+            out.add(new Standing(node.userId, node.marks, rank));
+        }
+        collect(node.right, limit, out);
+    }
+}
@@ -1,12 +1,16 @@
 package com.starter_squad.lms.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.starter_squad.lms.entity.Course;
 import com.starter_squad.lms.entity.Course.CourseStatus;
 import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.event.CourseApproved;
+import com.starter_squad.lms.event.CourseDeleted;
+import com.starter_squad.lms.event.CourseRejected;
 import com.starter_squad.lms.repository.CourseRepository;
 
 import java.util.List;
@@ -17,6 +21,7 @@ import java.util.UUID;
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher events;
 
     // ✅ @Transactional যোগ — Course.enrollments lazy collection এর জন্য
     @Transactional(readOnly = true)
@@ -61,6 +66,7 @@ public class CourseService {
     @Transactional
     public void deleteCourse(UUID id) {
         courseRepository.deleteById(id);
+        events.publishEvent(new CourseDeleted(id));
     }
 
     @Transactional(readOnly = true)
@@ -129,7 +135,9 @@ public class CourseService {
         if (course != null && course.getStatus() == CourseStatus.PENDING) {
             course.setStatus(CourseStatus.PUBLISHED);
             course.setRejectionReason(null);
-            return courseRepository.save(course);
+            Course saved = courseRepository.save(course);
+            events.publishEvent(new CourseApproved(courseId, instructorId(saved)));
+            return saved;
         }
         return null;
     }
@@ -140,7 +148,9 @@ public class CourseService {
         if (course != null && course.getStatus() == CourseStatus.PENDING) {
             course.setStatus(CourseStatus.REJECTED);
             course.setRejectionReason(reason);
-            return courseRepository.save(course);
+            Course saved = courseRepository.save(course);
+            events.publishEvent(new CourseRejected(courseId, instructorId(saved), reason));
+            return saved;
         }
         return null;
     }
@@ -195,4 +205,9 @@ public class CourseService {
     public long getCourseCountByStatus(CourseStatus status) {
         return courseRepository.countByStatus(status);
     }
+
+    // Courses created by an admin have no instructor account
+    private static UUID instructorId(Course course) {
+        return course.getInstructorUser() != null ? course.getInstructorUser().getId() : null;
+    }
 }
\ No newline at end of file
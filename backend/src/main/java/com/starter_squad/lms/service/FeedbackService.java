@@ -1,47 +1,125 @@
 package com.starter_squad.lms.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.starter_squad.lms.dto.FeedbackRequest;
 import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.entity.CourseRatingSummary;
 import com.starter_squad.lms.entity.Feedback;
+import com.starter_squad.lms.entity.InstructorRatingSummary;
+import com.starter_squad.lms.entity.Learning;
+import com.starter_squad.lms.event.AsyncListener;
+import com.starter_squad.lms.event.CourseDeleted;
+import com.starter_squad.lms.repository.CourseRatingSummaryRepository;
 import com.starter_squad.lms.repository.CourseRepository;
 import com.starter_squad.lms.repository.FeedbackRepository;
+import com.starter_squad.lms.repository.InstructorRatingSummaryRepository;
+import com.starter_squad.lms.repository.LearningRepository;
+import com.starter_squad.lms.repository.UserRepository;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class FeedbackService {
 
-    private final FeedbackRepository feedbackRepository;
+    public static final int MAX_PAGE_SIZE = 100;
 
+    private final FeedbackRepository feedbackRepository;
+    private final CourseRepository courseRepository;
+    private final CourseRatingSummaryRepository courseRatingSummaryRepository;
+    private final InstructorRatingSummaryRepository instructorRatingSummaryRepository;
+    private final LearningRepository learningRepository;
+    private final UserRepository userRepository;
 
-    @Autowired
-    private CourseRepository courseRepository;
+    @Transactional(readOnly = true)
+    public Page<Feedback> getFeedbacksForCourse(UUID courseId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)),
+                Sort.by(Sort.Order.desc("createdAt").nullsLast()));
+        return feedbackRepository.findByCourseId(courseId, pageRequest);
+    }
 
-    public List<Feedback> getFeedbacksForCourse(UUID courseId) {
-        Course course = courseRepository.findById(courseId).orElse(null);
-        if (course != null) {
-            return course.getFeedbacks();
+    @Transactional
+    public String submitFeedback(FeedbackRequest fr, UUID userId) {
+        Integer rating = fr.getRating();
+        if (rating != null && (rating < 1 || rating > 5)) {
+            return "Rating must be between 1 and 5";
         }
-        return null;
-    }
 
-    public String submitFeedback(FeedbackRequest fr) {
         Course course = courseRepository.findById(fr.getCourse_id()).orElse(null);
-        Feedback feedback = new Feedback();
-
-        if (course != null) {
+        if (course == null) {
+            return "feedback submition failed";
+        }
+        if (rating == null) {
+            Feedback feedback = new Feedback();
             feedback.setCourse(course);
+            feedback.setUser(userRepository.getReferenceById(userId));
             feedback.setComment(fr.getComment());
             feedbackRepository.save(feedback);
             return "feedback submitted successfully";
         }
-        return "feedback submition failed";
+
+        // Only learners can rate, once each; the enrollment row lock serializes their resubmits
+        Learning learning = learningRepository.findForUpdate(userId, course.getCourse_id());
+        if (learning == null) {
+            return "Only enrolled learners can rate this course";
+        }
+        UUID instructorId = course.getInstructorUser() != null ? course.getInstructorUser().getId() : null;
+        Feedback feedback = feedbackRepository.findRatingForUpdate(course.getCourse_id(), userId);
+        if (feedback == null) {
+            feedback = new Feedback();
+            feedback.setCourse(course);
+            feedback.setUser(learning.getUser());
+            // Aggregates are bumped in the same transaction as the feedback row
+            courseRatingSummaryRepository.addRating(course.getCourse_id(), rating);
+            if (instructorId != null) {
+                instructorRatingSummaryRepository.addRating(instructorId, rating);
+            }
+        } else if (!feedback.getRating().equals(rating)) {
+            courseRatingSummaryRepository.changeRating(course.getCourse_id(), feedback.getRating(), rating);
+            if (instructorId != null) {
+                instructorRatingSummaryRepository.changeRating(instructorId, feedback.getRating(), rating);
+            }
+        }
+        feedback.setComment(fr.getComment());
+        feedback.setRating(rating);
+        feedbackRepository.save(feedback);
+        return "feedback submitted successfully";
+    }
+
+    @AsyncListener
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCourseDeleted(CourseDeleted event) {
+        courseRatingSummaryRepository.deleteById(event.courseId());
+    }
+
+    @Transactional(readOnly = true)
+    public CourseRatingSummary getCourseRating(UUID courseId) {
+        return courseRatingSummaryRepository.findById(courseId)
+                .orElseGet(() -> new CourseRatingSummary(courseId));
     }
-}
 
+    @Transactional(readOnly = true)
+    public Map<UUID, CourseRatingSummary> getCourseRatings(Collection<UUID> courseIds) {
+        return courseRatingSummaryRepository.findAllById(courseIds).stream()
+                .collect(Collectors.toMap(CourseRatingSummary::getCourseId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public InstructorRatingSummary getInstructorRating(UUID instructorId) {
+        return instructorRatingSummaryRepository.findById(instructorId)
+                .orElseGet(() -> new InstructorRatingSummary(instructorId));
+    }
+}
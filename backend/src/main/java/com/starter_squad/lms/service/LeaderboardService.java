@@ -0,0 +1,176 @@
+package com.starter_squad.lms.service;
+
+import com.starter_squad.lms.dto.LeaderboardEntry;
+import com.starter_squad.lms.entity.EntityChangeListener;
+import com.starter_squad.lms.event.CourseDeleted;
+import com.starter_squad.lms.invalidation.InvalidationBus;
+import com.starter_squad.lms.invalidation.InvalidationHandler;
+import com.starter_squad.lms.repository.AssessmentRepository;
+import com.starter_squad.lms.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-course leaderboards of best assessment marks, held in memory and
+ * updated on every assessment save. Rebuilt from the database on startup;
+ * a course's board is reloaded when an assessment of it (or the course)
+ * changes on any node, so the replicas agree on ranks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardService implements InvalidationHandler {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final AssessmentRepository assessmentRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<UUID, CourseLeaderboard> boards = new ConcurrentHashMap<>();
+
+    // Recording keeps the maximum, so replaying the DB on top of live updates is safe
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Set<UUID> courses = replay();
+        log.info("Leaderboards rebuilt: {} courses in {} ms", courses.size(), System.currentTimeMillis() - start);
+    }
+
+    public void recordMarks(UUID courseId, UUID userId, int marks) {
+        if (courseId == null || userId == null) {
+            return;
+        }
+        boards.computeIfAbsent(courseId, id -> new CourseLeaderboard()).record(userId, marks);
+    }
+
+    /** Replaces a course's board with what the database holds now; drops it if nothing is left. */
+    public void reload(UUID courseId) {
+        List<Object[]> best = primaryTransaction().execute(status -> assessmentRepository.findBestMarksByCourse(courseId));
+        if (best == null || best.isEmpty()) {
+            boards.remove(courseId);
+            return;
+        }
+        CourseLeaderboard board = new CourseLeaderboard();
+        for (Object[] row : best) {
+            board.record((UUID) row[0], ((Number) row[1]).intValue());
+        }
+        boards.put(courseId, board);
+    }
+
+    @Override
+    public void invalidate(Map<String, Set<String>> changes) {
+        Set<String> courses = new HashSet<>(changes.getOrDefault(EntityChangeListener.ASSESSMENT, Set.of()));
+        // Edits to courses without a board cannot change any ranks
+        changes.getOrDefault(EntityChangeListener.COURSE, Set.of()).stream()
+                .filter(key -> key.equals(InvalidationBus.ALL_KEYS) || boards.containsKey(UUID.fromString(key)))
+                .forEach(courses::add);
+        if (courses.contains(InvalidationBus.ALL_KEYS)) {
+            invalidateAll();
+            return;
+        }
+        courses.forEach(course -> reload(UUID.fromString(course)));
+    }
+
+    // Changes may have been missed: replay everything and drop the boards of courses that are gone
+    @Override
+    public void invalidateAll() {
+        Set<UUID> courses = primaryTransaction().execute(status -> replay());
+        if (courses != null) {
+            boards.keySet().retainAll(courses);
+        }
+    }
+
+    private Set<UUID> replay() {
+        Set<UUID> courses = new HashSet<>();
+        try (Stream<Object[]> best = assessmentRepository.streamBestMarksPerCourseAndUser()) {
+            best.forEach(row -> {
+                recordMarks((UUID) row[0], (UUID) row[1], ((Number) row[2]).intValue());
+                courses.add((UUID) row[0]);
+            });
+        }
+        return courses;
+    }
+
+    /**
+     * Handlers run right after another transaction commits, so this one is new; and
+     * not read-only, so it goes to the primary, where the change is already visible.
+     */
+    private TransactionTemplate primaryTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    public void removeCourse(UUID courseId) {
+        boards.remove(courseId);
+    }
+
+    @TransactionalEventListener
+    public void onCourseDeleted(CourseDeleted event) {
+        removeCourse(event.courseId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntry> getTopEntries(UUID courseId, int limit) {
+        CourseLeaderboard board = boards.get(courseId);
+        if (board == null) {
+            return List.of();
+        }
+        List<CourseLeaderboard.Standing> top = board.top(Math.max(1, Math.min(limit, MAX_LIMIT)));
+        Map<UUID, String> names = usernames(top.stream().map(CourseLeaderboard.Standing::userId).toList());
+        return top.stream()
+                .map(s -> new LeaderboardEntry(s.rank(), s.userId(), names.get(s.userId()), s.marks()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public LeaderboardEntry getUserRank(UUID courseId, UUID userId) {
+        CourseLeaderboard board = boards.get(courseId);
+        CourseLeaderboard.Standing standing = board != null ? board.standingOf(userId) : null;
+        if (standing == null) {
+            return null;
+        }
+        return new LeaderboardEntry(standing.rank(), userId,
+                usernames(List.of(userId)).get(userId), standing.marks());
+    }
+
+    public int getLearnerCount(UUID courseId) {
+        CourseLeaderboard board = boards.get(courseId);
+        return board != null ? board.size() : 0;
+    }
+
+    public int getCourseCount() {
+        return boards.size();
+    }
+
+    private Map<UUID, String> usernames(List<UUID> ids) {
+        Map<UUID, String> names = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : userRepository.findUsernamesByIds(ids)) {
+                names.put((UUID) row[0], (String) row[1]);
+            }
+        }
+        return names;
+    }
+}
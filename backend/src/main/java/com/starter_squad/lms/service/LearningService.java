@@ -1,6 +1,7 @@
 package com.starter_squad.lms.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.starter_squad.lms.dto.EnrollRequest;
@@ -8,6 +9,8 @@ import com.starter_squad.lms.entity.Course;
 import com.starter_squad.lms.entity.Learning;
 import com.starter_squad.lms.entity.Progress;
 import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.event.CourseCompleted;
+import com.starter_squad.lms.event.EnrollmentCreated;
 import com.starter_squad.lms.repository.CourseRepository;
 import com.starter_squad.lms.repository.LearningRepository;
 import com.starter_squad.lms.repository.ProgressRepository;
@@ -22,6 +25,7 @@ public class LearningService {
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final ProgressRepository progressRepository;
+    private final ApplicationEventPublisher events;
 
     // ✅ @Transactional — Session open রাখবে, LazyInitializationException হবে না
     @Transactional(readOnly = true)
@@ -60,13 +64,31 @@ public class LearningService {
             Learning learning = new Learning();
             learning.setUser(user);
             learning.setCourse(course);
-            learningRepository.save(learning);
+            learning = learningRepository.save(learning);
+            events.publishEvent(new EnrollmentCreated(learning.getLearning_id(), user.getId(), course.getCourse_id()));
 
             return "Enrolled successfully";
         }
         return "Failed to enroll";
     }
 
+    @Transactional
+    public void completeCourse(Learning learning) {
+        if (learning.isCompleted()) {
+            return;
+        }
+        learning.setCompleted(true);
+        learningRepository.save(learning);
+
+        Progress progress = progressRepository.findByUserAndCourse(learning.getUser(), learning.getCourse());
+        if (progress != null) {
+            progress.setPercentage(100);
+            progressRepository.save(progress);
+        }
+        events.publishEvent(new CourseCompleted(learning.getLearning_id(),
+                learning.getUser().getId(), learning.getCourse().getCourse_id()));
+    }
+
     @Transactional
     public void unenrollCourse(UUID id) {
         learningRepository.deleteById(id);
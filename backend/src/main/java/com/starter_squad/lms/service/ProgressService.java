@@ -2,9 +2,11 @@ package com.starter_squad.lms.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.starter_squad.lms.dto.ProgressRequest;
 import com.starter_squad.lms.entity.Course;
@@ -14,6 +16,8 @@ import com.starter_squad.lms.repository.CourseRepository;
 import com.starter_squad.lms.repository.ProgressRepository;
 import com.starter_squad.lms.repository.UserRepository;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -26,6 +30,28 @@ public class ProgressService {
 
     private final CourseRepository courseRepository;
 
+    @Value("${app.progress.segment-seconds:5}")
+    private int segmentSeconds;
+
+    @Value("${app.progress.max-heartbeat-seconds:60}")
+    private int maxHeartbeatSeconds;
+
+    @Value("${app.progress.max-playback-rate:2.0}")
+    private double maxPlaybackRate;
+
+    @Value("${app.progress.max-segments:16384}")
+    private int maxSegments;
+
+    @Value("${app.progress.duration-tolerance-seconds:2}")
+    private float durationToleranceSeconds;
+
+    /**
+     * A heartbeat from the player: {@code playedTime} is the resume position and may move
+     * backwards after a seek. When {@code watchedFrom} is set, the span [watchedFrom, playedTime)
+     * was played continuously and its segments are marked watched, so the percentage counts
+     * what was actually seen rather than how far the scrubber went.
+     */
+    @Transactional
     public ResponseEntity<String> updateProgress(ProgressRequest request) {
         UUID userId = request.getUserId();
         UUID courseId = request.getCourseId();
@@ -35,18 +61,73 @@ public class ProgressService {
         User user = userRepository.findById(userId).orElse(null);
         Course course = courseRepository.findById(courseId).orElse(null);
 
+        if (user == null || course == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User or course not found");
+        }
+        Progress progress = progressRepository.findForUpdate(user, course);
+        if (progress == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Progress not found for the given user and course");
+        }
+        if (!acceptDuration(progress, duration)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Duration does not match the video");
+        }
+        if (playedTime < 0 || (progress.getDuration() > 0 && playedTime > progress.getDuration() + durationToleranceSeconds)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Invalid playedTime");
+        }
+        progress.setPlayedTime(playedTime);
+
+        Float watchedFrom = request.getWatchedFrom();
+        if (watchedFrom != null && watchedFrom >= 0 && watchedFrom < playedTime && progress.getDuration() > 0) {
+            // A span cannot be longer than what could have played since the previous one, at the
+            // fastest playback rate, so back-to-back heartbeats mark next to nothing
+            LocalDateTime now = LocalDateTime.now();
+            double credit = maxHeartbeatSeconds;
+            if (progress.getWatchedAt() != null) {
+                double elapsed = Duration.between(progress.getWatchedAt(), now).toMillis() / 1000.0;
+                credit = Math.min(credit, Math.max(0, elapsed) * maxPlaybackRate);
+            }
+            progress.setWatchedAt(now);
+            double from = Math.max(watchedFrom, playedTime - credit);
+            int segments = Math.min(maxSegments, Math.max(1, SegmentBitmap.segment(progress.getDuration(), segmentSeconds)));
+            int first = SegmentBitmap.segment(from, segmentSeconds);
+            int last = Math.min(segments, SegmentBitmap.segment(playedTime, segmentSeconds));
+            progress.setWatched(SegmentBitmap.mark(progress.getWatched(), first, last));
+            // Completion (and LearningService setting 100) is never taken back by a heartbeat
+            progress.setPercentage(Math.max(progress.getPercentage(),
+                    SegmentBitmap.percentage(progress.getWatched(), segments)));
+        }
+        progressRepository.save(progress);
+        return ResponseEntity.ok("success");
+    }
+
+    /**
+     * The segment count comes from the duration, so only the first one the player
+     * reports is stored; later reports may differ by decoder rounding, not shrink the
+     * video (a 5 second "video" would be 100% after one heartbeat). Nothing on the
+     * server knows the length of a course video, so the first report is trusted.
+     */
+    private boolean acceptDuration(Progress progress, float duration) {
+        if (duration <= 0) {
+            return true;
+        }
+        if (progress.getDuration() <= 0) {
+            progress.setDuration(duration);
+            return true;
+        }
+        return Math.abs(duration - progress.getDuration()) <= durationToleranceSeconds;
+    }
+
+    public int getPercentage(UUID userId, UUID courseId) {
+        User user = userRepository.findById(userId).orElse(null);
+        Course course = courseRepository.findById(courseId).orElse(null);
+
         if (user != null && course != null) {
             Progress progress = progressRepository.findByUserAndCourse(user, course);
-            if (progress != null && (progress.getPlayedTime() == 0 || progress.getPlayedTime()<= playedTime)) {
-                progress.setPlayedTime(playedTime);
-                progress.setDuration(duration);
-                progressRepository.save(progress);
-                return ResponseEntity.ok("success");
-            } else {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body("Invalid playedTime");
+            if (progress != null) {
+                return progress.getPercentage();
             }
         }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User or course not found");
+        return 0;
     }
 
     public float getProgress(UUID userId, UUID courseId) {
@@ -65,6 +146,7 @@ public class ProgressService {
         return 0;
     }
 
+    @Transactional
 	public ResponseEntity<String> updateDuration(ProgressRequest request) {
         UUID userId = request.getUserId();
         UUID courseId = request.getCourseId();
@@ -74,10 +156,12 @@ public class ProgressService {
         Course course = courseRepository.findById(courseId).orElse(null);
 
         if (user != null && course != null) {
-            Progress progress = progressRepository.findByUserAndCourse(user, course);
+            Progress progress = progressRepository.findForUpdate(user, course);
 
             if (progress != null) {
-                progress.setDuration(newDuration);
+                if (!acceptDuration(progress, newDuration)) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body("Duration does not match the video");
+                }
                 progressRepository.save(progress);
 
                 return ResponseEntity.ok("Duration updated successfully");
@@ -0,0 +1,75 @@
+package com.starter_squad.lms.service;
+
+import java.util.Arrays;
+
+/**
+ * Which fixed-length segments of a video a learner has watched, one bit per
+ * segment in a byte array (bit n = byte n / 8, 1 << n % 8: the order of
+ * Postgres get_bit/set_bit and {@link java.util.BitSet#valueOf(byte[])}).
+ * An hour at 5-second segments is 90 bytes. Marking a heartbeat touches only
+ * the bytes it covers, and the watched share is a popcount.
+ */
+public final class SegmentBitmap {
+
+    private SegmentBitmap() {
+    }
+
+    /**
+     * Index of the first segment whose midpoint is at or after {@code seconds}. A span
+     * [from, to) covers segments {@code segment(from)} up to {@code segment(to)}, and a video
+     * has {@code segment(duration)} segments, so a partly watched segment counts only once
+     * most of it, or all of a short last one, has played.
+     */
+    public static int segment(double seconds, int segmentSeconds) {
+        return (int) Math.ceil(seconds / segmentSeconds - 0.5);
+    }
+
+    /** Sets segments [from, to), growing the bitmap if needed; returns the (possibly new) bitmap. */
+    public static byte[] mark(byte[] bitmap, int from, int to) {
+        from = Math.max(0, from);
+        if (to <= from) {
+            return bitmap == null ? new byte[0] : bitmap;
+        }
+        byte[] bits = bitmap == null ? new byte[bytesFor(to)] : bitmap;
+        if (bits.length < bytesFor(to)) {
+            bits = Arrays.copyOf(bits, bytesFor(to));
+        }
+        int firstByte = from >>> 3;
+        int lastByte = (to - 1) >>> 3;
+        int firstMask = 0xFF << (from & 7);
+        int lastMask = 0xFF >>> (7 - ((to - 1) & 7));
+        if (firstByte == lastByte) {
+            bits[firstByte] |= (byte) (firstMask & lastMask);
+            return bits;
+        }
+        bits[firstByte] |= (byte) firstMask;
+        Arrays.fill(bits, firstByte + 1, lastByte, (byte) 0xFF);
+        bits[lastByte] |= (byte) lastMask;
+        return bits;
+    }
+
+    /** Watched segments among the first {@code segments}. */
+    public static int count(byte[] bitmap, int segments) {
+        if (bitmap == null) {
+            return 0;
+        }
+        int fullBytes = Math.min(bitmap.length, segments >>> 3);
+        int count = 0;
+        for (int i = 0; i < fullBytes; i++) {
+            count += Integer.bitCount(bitmap[i] & 0xFF);
+        }
+        if (fullBytes < bitmap.length && (segments & 7) != 0) {
+            count += Integer.bitCount(bitmap[fullBytes] & (0xFF >>> (8 - (segments & 7))));
+        }
+        return count;
+    }
+
+    /** Whole percent of the first {@code segments} watched. */
+    public static int percentage(byte[] bitmap, int segments) {
+        return segments <= 0 ? 0 : Math.min(100, count(bitmap, segments) * 100 / segments);
+    }
+
+    private static int bytesFor(int segments) {
+        return (segments + 7) >>> 3;
+    }
+}
@@ -2,6 +2,7 @@ package com.starter_squad.lms.service;
 
 import com.starter_squad.lms.enums.UserRole;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -10,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.event.InstructorApproved;
 import com.starter_squad.lms.repository.UserRepository;
 
 import java.io.IOException;
@@ -22,6 +24,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher events;
 
     // ✅ @Transactional — learningCourses lazy collection এর জন্য
     @Transactional(readOnly = true)
@@ -42,10 +45,16 @@ public class UserService {
 
     @Transactional
     public User createUser(User user) {
+        return createUser(user, passwordEncoder.encode(user.getPassword()));
+    }
+
+    /** For callers that hash the password themselves, outside the transaction. */
+    @Transactional
+    public User createUser(User user, String passwordHash) {
         if (userRepository.findByEmail(user.getEmail()) != null) {
             throw new IllegalArgumentException("Email already exists");
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHash);
         if (user.getRole() == null) {
             user.setRole(UserRole.USER);
         }
@@ -222,6 +231,7 @@ public class UserService {
         }
         user.setIsActive(true);
         userRepository.save(user);
+        events.publishEvent(new InstructorApproved(userId));
     }
 
     @Transactional
@@ -0,0 +1,23 @@
+package com.starter_squad.lms.sqlprofile;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Body of {@code GET /actuator/sqlprofile}.
+ */
+public record SqlProfileReport(Instant since,
+                               int distinctStatements,
+                               List<Statement> slowest,
+                               List<Statement> mostFrequent,
+                               List<Endpoint> endpoints) {
+
+    public record Statement(String sql, long count, double totalMs, double avgMs, double maxMs,
+                            long rows, String lastSeenIn) {
+    }
+
+    public record Endpoint(String endpoint, String handler, long requests, long queries, double avgQueries,
+                           long maxQueries, long rows, double avgSqlMs, long nPlusOneSuspects,
+                           String lastRepeatedStatement) {
+    }
+}
@@ -0,0 +1,318 @@
+package com.starter_squad.lms.sqlprofile;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Collects per-statement and per-endpoint SQL statistics from the
+ * datasource-proxy callbacks. Statements are grouped by their normalized SQL
+ * text; the request being served is tracked by {@link SqlProfilingFilter}.
+ */
+@Slf4j
+public class SqlProfiler implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String START = "sqlprofile.start";
+    static final String UNMAPPED = "<unmapped>";
+    static final String OTHER_ENDPOINTS = "(other endpoints)";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // IN lists of different lengths are the same statement
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final ThreadLocal<RequestStats> CURRENT_REQUEST = new ThreadLocal<>();
+    private static final ThreadLocal<StatementStats> LAST_STATEMENT = new ThreadLocal<>();
+
+    private final long slowQueryNanos;
+    private final int nPlusOneThreshold;
+    private final int maxStatements;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Set<String> reportedRepeats = ConcurrentHashMap.newKeySet();
+    private final StatementStats overflow = new StatementStats("(other statements)");
+    private volatile Instant since = Instant.now();
+
+    public SqlProfiler(Duration slowQueryThreshold, int nPlusOneThreshold, int maxStatements) {
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.maxStatements = maxStatements;
+    }
+
+    // ==========================================
+    // DATASOURCE-PROXY CALLBACKS
+    // ==========================================
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long nanos = start != null ? System.nanoTime() - start : execInfo.getElapsedTime() * 1_000_000;
+        long updated = updateCount(execInfo.getResult());
+        RequestStats request = CURRENT_REQUEST.get();
+
+        for (QueryInfo query : queryInfoList) {
+            String sql = normalize(query.getQuery());
+            int binds = query.getParametersList().stream().mapToInt(List::size).sum();
+            StatementStats stats = statement(sql);
+            stats.record(nanos, updated, request);
+            LAST_STATEMENT.set(stats);
+            if (request != null) {
+                request.record(sql, nanos);
+            }
+            if (nanos >= slowQueryNanos) {
+                log.warn("Slow query: {} ms, {} binds{} in {}: {}", nanos / 1_000_000, binds,
+                        execInfo.isSuccess() ? "" : ", failed",
+                        request != null ? request.describe() : "(no request)", sql);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext context) {
+    }
+
+    // Counts rows as Hibernate walks result sets (only called when result sets are proxied)
+    @Override
+    public void afterMethod(MethodExecutionContext context) {
+        if (context.getTarget() instanceof ResultSet
+                && "next".equals(context.getMethod().getName())
+                && Boolean.TRUE.equals(context.getResult())) {
+            StatementStats stats = LAST_STATEMENT.get();
+            if (stats != null) {
+                stats.rows.increment();
+            }
+            RequestStats request = CURRENT_REQUEST.get();
+            if (request != null) {
+                request.rows++;
+            }
+        }
+    }
+
+    // ==========================================
+    // REQUEST SCOPE (driven by SqlProfilingFilter)
+    // ==========================================
+
+    void beginRequest(String method, String uri) {
+        CURRENT_REQUEST.set(new RequestStats(method, uri));
+    }
+
+    void setHandler(String handler) {
+        RequestStats request = CURRENT_REQUEST.get();
+        if (request != null) {
+            request.handler = handler;
+        }
+    }
+
+    void endRequest(String pattern) {
+        RequestStats request = CURRENT_REQUEST.get();
+        CURRENT_REQUEST.remove();
+        LAST_STATEMENT.remove();
+        if (request == null || (request.queries == 0 && request.handler == null)) {
+            return;
+        }
+        // Raw URIs (and methods) of unmatched requests are whatever a scanner sends, so they share one entry
+        String endpoint = pattern != null ? request.method + " " + pattern : UNMAPPED;
+        EndpointStats stats = endpoint(endpoint);
+        stats.record(request);
+
+        request.perStatement.forEach((sql, count) -> {
+            if (count >= nPlusOneThreshold) {
+                stats.nPlusOneSuspects.increment();
+                stats.lastRepeatedStatement = sql;
+                if (reportedRepeats.size() < maxStatements && reportedRepeats.add(endpoint + '\n' + sql)) {
+                    log.warn("Possible N+1 in {} ({}): statement ran {} times in one request: {}",
+                            endpoint, request.handler, count, sql);
+                }
+            }
+        });
+    }
+
+    // ==========================================
+    // REPORTING
+    // ==========================================
+
+    public SqlProfileReport report(int limit) {
+        List<SqlProfileReport.Statement> all = statements.values().stream()
+                .map(StatementStats::snapshot)
+                .toList();
+        List<SqlProfileReport.Statement> slowest = all.stream()
+                .sorted(Comparator.comparingDouble(SqlProfileReport.Statement::maxMs).reversed())
+                .limit(limit)
+                .toList();
+        List<SqlProfileReport.Statement> mostFrequent = all.stream()
+                .sorted(Comparator.comparingLong(SqlProfileReport.Statement::count).reversed())
+                .limit(limit)
+                .toList();
+        List<SqlProfileReport.Endpoint> byQueries = endpoints.values().stream()
+                .map(EndpointStats::snapshot)
+                .sorted(Comparator.comparingDouble(SqlProfileReport.Endpoint::avgQueries).reversed())
+                .limit(limit)
+                .toList();
+        return new SqlProfileReport(since, statements.size(), slowest, mostFrequent, byQueries);
+    }
+
+    public void reset() {
+        statements.clear();
+        endpoints.clear();
+        reportedRepeats.clear();
+        since = Instant.now();
+    }
+
+    static String normalize(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("(?, ...)");
+    }
+
+    private StatementStats statement(String sql) {
+        StatementStats stats = statements.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        // Bounded so ad-hoc SQL can't grow the map forever
+        if (statements.size() >= maxStatements) {
+            return overflow;
+        }
+        return statements.computeIfAbsent(sql, StatementStats::new);
+    }
+
+    private EndpointStats endpoint(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats != null) {
+            return stats;
+        }
+        if (endpoints.size() >= maxStatements) {
+            return endpoints.computeIfAbsent(OTHER_ENDPOINTS, EndpointStats::new);
+        }
+        return endpoints.computeIfAbsent(endpoint, EndpointStats::new);
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    // ==========================================
+    // ACCUMULATORS
+    // ==========================================
+
+    private static final class StatementStats {
+        final String sql;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        volatile String lastEndpoint;
+
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long nanos, long updatedRows, RequestStats request) {
+            count.increment();
+            totalNanos.add(nanos);
+            rows.add(updatedRows);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            if (request != null) {
+                lastEndpoint = request.describe();
+            }
+        }
+
+        SqlProfileReport.Statement snapshot() {
+            long n = count.sum();
+            return new SqlProfileReport.Statement(sql, n, millis(totalNanos.sum()),
+                    n == 0 ? 0 : millis(totalNanos.sum()) / n, millis(maxNanos.get()), rows.sum(), lastEndpoint);
+        }
+    }
+
+    private static final class RequestStats {
+        final String method;
+        final String uri;
+        final Map<String, Integer> perStatement = new HashMap<>();
+        String handler;
+        int queries;
+        long sqlNanos;
+        long rows;
+
+        RequestStats(String method, String uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        void record(String sql, long nanos) {
+            queries++;
+            sqlNanos += nanos;
+            perStatement.merge(sql, 1, Integer::sum);
+        }
+
+        String describe() {
+            return method + " " + uri + (handler != null ? " -> " + handler : "");
+        }
+    }
+
+    private static final class EndpointStats {
+        final String endpoint;
+        final LongAdder requests = new LongAdder();
+        final LongAdder queries = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder sqlNanos = new LongAdder();
+        final AtomicLong maxQueries = new AtomicLong();
+        final LongAdder nPlusOneSuspects = new LongAdder();
+        volatile String handler;
+        volatile String lastRepeatedStatement;
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void record(RequestStats request) {
+            requests.increment();
+            queries.add(request.queries);
+            rows.add(request.rows);
+            sqlNanos.add(request.sqlNanos);
+            maxQueries.accumulateAndGet(request.queries, Math::max);
+            if (request.handler != null) {
+                handler = request.handler;
+            }
+        }
+
+        SqlProfileReport.Endpoint snapshot() {
+            long n = requests.sum();
+            return new SqlProfileReport.Endpoint(endpoint, handler, n, queries.sum(),
+                    n == 0 ? 0 : (double) queries.sum() / n, maxQueries.get(), rows.sum(),
+                    n == 0 ? 0 : millis(sqlNanos.sum()) / n, nPlusOneSuspects.sum(), lastRepeatedStatement);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,116 @@
+package com.starter_squad.lms.sqlprofile;
+
+import com.starter_squad.lms.config.ConnectionLimitingDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource in a datasource-proxy and scopes the
+ * recorded SQL to HTTP requests. Disable with {@code app.sql-profiler.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql-profiler.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SqlProfilerConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<SqlProfiler> sqlProfiler;
+
+    public SqlProfilerConfig(ObjectProvider<SqlProfiler> sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Bean
+    public static SqlProfiler sqlProfiler(
+            @Value("${app.sql-profiler.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+            @Value("${app.sql-profiler.n-plus-one-threshold:10}") int nPlusOneThreshold,
+            @Value("${app.sql-profiler.max-statements:2000}") int maxStatements) {
+        return new SqlProfiler(slowQueryThreshold, nPlusOneThreshold, maxStatements);
+    }
+
+    // Runs before the virtual-thread connection limiter, so the limiter ends up outermost
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSourcePostProcessor(
+            ObjectProvider<SqlProfiler> profiler,
+            @Value("${app.sql-profiler.count-rows:true}") boolean countRows) {
+        return new OrderedDataSourceProxyPostProcessor(profiler, countRows);
+    }
+
+    @Bean
+    public SqlProfilerEndpoint sqlProfilerEndpoint(SqlProfiler sqlProfiler,
+                                                   @Value("${app.sql-profiler.top:20}") int top) {
+        return new SqlProfilerEndpoint(sqlProfiler, top);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter(SqlProfiler sqlProfiler) {
+        FilterRegistrationBean<SqlProfilingFilter> registration =
+                new FilterRegistrationBean<>(new SqlProfilingFilter(sqlProfiler));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod method) {
+                    sqlProfiler.getObject().setHandler(
+                            method.getBeanType().getSimpleName() + "#" + method.getMethod().getName());
+                }
+                return true;
+            }
+        });
+    }
+
+    private static final class OrderedDataSourceProxyPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<SqlProfiler> profiler;
+        private final boolean countRows;
+
+        OrderedDataSourceProxyPostProcessor(ObjectProvider<SqlProfiler> profiler, boolean countRows) {
+            this.profiler = profiler;
+            this.countRows = countRows;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            // The router is injected by its concrete type; its lazy proxy (the @Primary bean) is wrapped instead
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                    || bean instanceof ConnectionLimitingDataSource || bean instanceof AbstractRoutingDataSource) {
+                return bean;
+            }
+            SqlProfiler listener = profiler.getObject();
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource).listener(listener);
+            if (countRows) {
+                builder.proxyResultSet().methodListener(listener);
+            }
+            log.info("SQL profiling enabled on '{}'", beanName);
+            return builder.build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.starter_squad.lms.sqlprofile;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code GET /actuator/sqlprofile?limit=20} lists the slowest and most
+ * frequent statements and the endpoints issuing the most queries per request;
+ * {@code DELETE} starts a fresh measurement window.
+ */
+@Endpoint(id = "sqlprofile")
+@RequiredArgsConstructor
+public class SqlProfilerEndpoint {
+
+    private final SqlProfiler sqlProfiler;
+    private final int defaultLimit;
+
+    @ReadOperation
+    public SqlProfileReport profile(@Nullable Integer limit) {
+        return sqlProfiler.report(limit != null && limit > 0 ? limit : defaultLimit);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlProfiler.reset();
+    }
+}
@@ -0,0 +1,96 @@
+package com.starter_squad.lms.view;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.standard.expression.Fragment;
+import org.thymeleaf.standard.expression.FragmentExpression;
+import org.thymeleaf.standard.expression.IStandardExpression;
+import org.thymeleaf.standard.expression.StandardExpressions;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.io.StringWriter;
+import java.time.Duration;
+
+/**
+ * {@code lms:cache="key"} on an element that also has {@code th:insert} or
+ * {@code th:replace}: the inserted fragment is rendered once per key and
+ * served from the {@link FragmentCache} afterwards. The key is a standard
+ * expression, so per-user widgets can use e.g.
+ * {@code lms:cache="|instructor-dashboard:${#authentication.principal.id}:stats|"}.
+ * An optional {@code lms:cache-ttl="5m"} overrides the default TTL.
+ */
+public class CachedFragmentTagProcessor extends AbstractAttributeTagProcessor {
+
+    static final String ATTRIBUTE = "cache";
+    static final String TTL_ATTRIBUTE = "cache-ttl";
+    // Runs before the standard th:insert / th:replace processors
+    static final int PRECEDENCE = 50;
+
+    private final FragmentCache fragmentCache;
+
+    public CachedFragmentTagProcessor(String dialectPrefix, FragmentCache fragmentCache) {
+        super(TemplateMode.HTML, dialectPrefix, null, false, ATTRIBUTE, true, PRECEDENCE, true);
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName,
+                             String attributeValue, IElementTagStructureHandler structureHandler) {
+        String prefix = attributeName.getPrefix();
+        String ttlValue = tag.getAttributeValue(prefix, TTL_ATTRIBUTE);
+        structureHandler.removeAttribute(prefix, TTL_ATTRIBUTE);
+
+        boolean replace = tag.hasAttribute(StandardDialect.PREFIX, "replace");
+        String insertion = replace ? "replace" : "insert";
+        String fragmentValue = tag.getAttributeValue(StandardDialect.PREFIX, insertion);
+        if (fragmentValue == null) {
+            throw new TemplateProcessingException(
+                    prefix + ":" + ATTRIBUTE + " needs th:insert or th:replace on the same element");
+        }
+        if (!fragmentCache.isEnabled()) {
+            // Leave the insertion to the standard dialect
+            return;
+        }
+
+        String key = String.valueOf(evaluate(context, attributeValue));
+        Duration ttl = ttlValue != null ? DurationStyle.detectAndParse(ttlValue) : null;
+        String html = fragmentCache.get(key, ttl, () -> render(context, fragmentValue));
+
+        structureHandler.removeAttribute(StandardDialect.PREFIX, insertion);
+        if (replace) {
+            structureHandler.replaceWith(html, false);
+        } else {
+            structureHandler.setBody(html, false);
+        }
+    }
+
+    private static Object evaluate(ITemplateContext context, String value) {
+        IStandardExpression expression = StandardExpressions.getExpressionParser(context.getConfiguration())
+                .parseExpression(context, value);
+        return expression.execute(context);
+    }
+
+    // Same resolution th:insert does, but written to a string instead of the response
+    private static String render(ITemplateContext context, String fragmentValue) {
+        String value = fragmentValue.trim();
+        if (!value.startsWith("~{")) {
+            value = "~{" + value + "}";
+        }
+        IStandardExpression expression = StandardExpressions.getExpressionParser(context.getConfiguration())
+                .parseExpression(context, value);
+        if (!(expression instanceof FragmentExpression fragmentExpression)) {
+            throw new TemplateProcessingException("Not a fragment expression: " + fragmentValue);
+        }
+        Fragment fragment = FragmentExpression.resolveExecutedFragmentExpression(context,
+                FragmentExpression.createExecutedFragmentExpression(context, fragmentExpression), true);
+        StringWriter writer = new StringWriter();
+        context.getConfiguration().getTemplateManager().process(fragment.getTemplateModel(), context, writer);
+        return writer.toString();
+    }
+}
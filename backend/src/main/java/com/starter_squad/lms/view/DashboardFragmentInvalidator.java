@@ -0,0 +1,39 @@
+package com.starter_squad.lms.view;
+
+import com.starter_squad.lms.entity.EntityChangeListener;
+import com.starter_squad.lms.invalidation.InvalidationHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Drops the cached dashboard widgets whenever a user, course, enrollment or
+ * feedback changes. Widgets are keyed {@code admin-dashboard:*} and
+ * {@code instructor-dashboard:<id>:*} in the templates.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardFragmentInvalidator implements InvalidationHandler {
+
+    public static final String ADMIN_DASHBOARD = "admin-dashboard:";
+    public static final String INSTRUCTOR_DASHBOARD = "instructor-dashboard:";
+
+    private final FragmentCache fragmentCache;
+
+    @Override
+    public void invalidate(Map<String, Set<String>> changes) {
+        // No widget shows assessment marks
+        if (changes.keySet().equals(Set.of(EntityChangeListener.ASSESSMENT))) {
+            return;
+        }
+        fragmentCache.evictPrefix(ADMIN_DASHBOARD);
+        fragmentCache.evictPrefix(INSTRUCTOR_DASHBOARD);
+    }
+
+    @Override
+    public void invalidateAll() {
+        fragmentCache.clear();
+    }
+}
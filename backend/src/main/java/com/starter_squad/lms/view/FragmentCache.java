@@ -0,0 +1,96 @@
+package com.starter_squad.lms.view;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.thymeleaf.context.LazyContextVariable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Rendered HTML of template fragments, keyed by name, used through the
+ * {@code lms:cache} attribute (see {@link FragmentCacheDialect}). Entries live
+ * for their TTL or until evicted; keys are grouped by prefix so that e.g. all
+ * {@code admin-dashboard:*} widgets can be dropped after a write.
+ */
+public class FragmentCache {
+
+    private final boolean enabled;
+    private final Duration defaultTtl;
+    private final Cache<String, Entry> cache;
+
+    public FragmentCache(boolean enabled, Duration defaultTtl, long maxEntries) {
+        this.enabled = enabled;
+        this.defaultTtl = defaultTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cached HTML for the key, rendering (once per key, concurrent callers
+     * wait) on a miss. A null TTL means the configured default.
+     */
+    public String get(String key, Duration ttl, Supplier<String> renderer) {
+        Duration lifetime = ttl != null ? ttl : defaultTtl;
+        return cache.get(key, k -> new Entry(renderer.get(), lifetime)).html();
+    }
+
+    public void evict(String key) {
+        cache.invalidate(key);
+    }
+
+    public void evictPrefix(String prefix) {
+        List<String> keys = cache.asMap().keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .toList();
+        cache.invalidateAll(keys);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public Cache<String, Entry> getCache() {
+        return cache;
+    }
+
+    /**
+     * Model attribute that is only computed if a template actually reads it,
+     * so a cache hit also skips the queries behind a widget.
+     */
+    public static <T> LazyContextVariable<T> lazy(Supplier<T> supplier) {
+        return new LazyContextVariable<>() {
+            @Override
+            protected T loadValue() {
+                return supplier.get();
+            }
+        };
+    }
+
+    public record Entry(String html, Duration ttl) {
+    }
+}
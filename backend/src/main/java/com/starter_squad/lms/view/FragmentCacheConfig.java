@@ -0,0 +1,23 @@
+package com.starter_squad.lms.view;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class FragmentCacheConfig {
+
+    @Bean
+    public FragmentCache fragmentCache(@Value("${app.fragment-cache.enabled:false}") boolean enabled,
+                                       @Value("${app.fragment-cache.default-ttl:60s}") Duration defaultTtl,
+                                       @Value("${app.fragment-cache.max-entries:10000}") long maxEntries) {
+        return new FragmentCache(enabled, defaultTtl, maxEntries);
+    }
+
+    @Bean
+    public FragmentCacheDialect fragmentCacheDialect(FragmentCache fragmentCache) {
+        return new FragmentCacheDialect(fragmentCache);
+    }
+}
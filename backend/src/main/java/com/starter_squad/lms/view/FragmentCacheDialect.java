@@ -0,0 +1,29 @@
+package com.starter_squad.lms.view;
+
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.standard.StandardDialect;
+
+import java.util.Set;
+
+/**
+ * The {@code lms:} attribute dialect. Spring Boot adds every dialect bean to
+ * the template engine.
+ */
+public class FragmentCacheDialect extends AbstractProcessorDialect {
+
+    public static final String PREFIX = "lms";
+
+    private final FragmentCache fragmentCache;
+
+    public FragmentCacheDialect(FragmentCache fragmentCache) {
+        // Ahead of the standard dialect, whose th:insert must not run first
+        super("LMS", PREFIX, StandardDialect.PROCESSOR_PRECEDENCE - 100);
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    public Set<IProcessor> getProcessors(String dialectPrefix) {
+        return Set.of(new CachedFragmentTagProcessor(dialectPrefix, fragmentCache));
+    }
+}
@@ -0,0 +1,4 @@
+-- Time of the last span marked in progress.watched; the next heartbeat may only
+-- mark as much video as could have played since then.
+
+alter table progress add column watched_at timestamp(6);
@@ -0,0 +1,4 @@
+-- Subjects embed the course name (up to 255 characters) after a prefix; an over-long
+-- subject must not roll back the enrollment or review it is written alongside.
+
+alter table email_outbox alter column subject type text;
@@ -0,0 +1,4 @@
+-- AssessmentRepository.findBestMarksByCourse: a node reloads one course's leaderboard when
+-- an assessment changes anywhere; covering, so the reload can be an index-only scan.
+
+create index if not exists idx_assessment_course_user_marks on assessment (course_id, user_id, marks);
@@ -0,0 +1,7 @@
+-- A rating belongs to the learner who left it: FeedbackService upserts one rated row per
+-- (course, user). Older rated rows have no user and stay as they are; NULLs never conflict.
+
+alter table feedback add column if not exists user_id uuid;
+alter table feedback add constraint fk_feedback_user foreign key (user_id) references users on delete set null;
+
+create unique index if not exists uk_feedback_course_user_rating on feedback (course_id, user_id) where rating is not null;
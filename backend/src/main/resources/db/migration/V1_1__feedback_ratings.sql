@@ -0,0 +1,58 @@
+-- Star ratings and their running aggregates (RatingSummary). Versioned 1.1 so baselined
+-- databases get them before V2 indexes feedback.created_at. "if not exists" because
+-- databases that ran the rating code under ddl-auto=update already have them.
+
+alter table feedback add column if not exists rating integer;
+alter table feedback add column if not exists created_at timestamp(6);
+
+create table if not exists course_rating_summary (
+    course_id    uuid   not null,
+    rating_count bigint not null,
+    rating_sum   bigint not null,
+    star1        bigint not null,
+    star2        bigint not null,
+    star3        bigint not null,
+    star4        bigint not null,
+    star5        bigint not null,
+    primary key (course_id)
+);
+
+create table if not exists instructor_rating_summary (
+    instructor_id uuid   not null,
+    rating_count  bigint not null,
+    rating_sum    bigint not null,
+    star1         bigint not null,
+    star2         bigint not null,
+    star3         bigint not null,
+    star4         bigint not null,
+    star5         bigint not null,
+    primary key (instructor_id)
+);
+
+-- Backfill from whatever rated feedback already exists; the upserts take over from here
+insert into course_rating_summary (course_id, rating_count, rating_sum, star1, star2, star3, star4, star5)
+select f.course_id, count(*), sum(f.rating),
+       count(*) filter (where f.rating = 1), count(*) filter (where f.rating = 2),
+       count(*) filter (where f.rating = 3), count(*) filter (where f.rating = 4),
+       count(*) filter (where f.rating = 5)
+from feedback f
+where f.rating between 1 and 5 and f.course_id is not null
+group by f.course_id
+on conflict (course_id) do update set
+    rating_count = excluded.rating_count, rating_sum = excluded.rating_sum,
+    star1 = excluded.star1, star2 = excluded.star2, star3 = excluded.star3,
+    star4 = excluded.star4, star5 = excluded.star5;
+
+insert into instructor_rating_summary (instructor_id, rating_count, rating_sum, star1, star2, star3, star4, star5)
+select c.instructor_id, count(*), sum(f.rating),
+       count(*) filter (where f.rating = 1), count(*) filter (where f.rating = 2),
+       count(*) filter (where f.rating = 3), count(*) filter (where f.rating = 4),
+       count(*) filter (where f.rating = 5)
+from feedback f
+join course c on c.course_id = f.course_id
+where f.rating between 1 and 5 and c.instructor_id is not null
+group by c.instructor_id
+on conflict (instructor_id) do update set
+    rating_count = excluded.rating_count, rating_sum = excluded.rating_sum,
+    star1 = excluded.star1, star2 = excluded.star2, star3 = excluded.star3,
+    star4 = excluded.star4, star5 = excluded.star5;
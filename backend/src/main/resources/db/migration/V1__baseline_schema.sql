@@ -0,0 +1,108 @@
+-- Schema as previously produced by hibernate.ddl-auto=update. Databases created that way
+-- are baselined at version 1 (spring.flyway.baseline-on-migrate) and start from V2.
+
+create table users (
+    id            uuid         not null,
+    username      varchar(255) not null,
+    email         varchar(255) not null,
+    password      varchar(255) not null,
+    role          varchar(255) not null check (role in ('USER', 'ADMIN', 'INSTRUCTOR')),
+    is_active     boolean,
+    dob           varchar(255),
+    gender        varchar(255),
+    mobile_number varchar(255),
+    location      varchar(255),
+    profession    varchar(255),
+    linkedin_url  varchar(255),
+    github_url    varchar(255),
+    profile_image bytea,
+    created_at    timestamp(6) not null,
+    updated_at    timestamp(6),
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table course (
+    course_id        uuid         not null,
+    course_name      varchar(255),
+    description      varchar(255),
+    category         varchar(255),
+    price            integer      not null,
+    instructor       varchar(255),
+    instructor_id    uuid,
+    p_link           varchar(255),
+    y_link           varchar(255),
+    status           varchar(255) not null check (status in ('DRAFT', 'PENDING', 'PUBLISHED', 'REJECTED')),
+    rejection_reason text,
+    created_at       timestamp(6),
+    updated_at       timestamp(6),
+    primary key (course_id),
+    constraint fk_course_instructor foreign key (instructor_id) references users
+);
+
+create table progress (
+    id          uuid    not null,
+    user_id     uuid,
+    course_id   uuid,
+    played_time float4  not null,
+    duration    float4  not null,
+    percentage  integer,
+    primary key (id),
+    constraint fk_progress_user foreign key (user_id) references users,
+    constraint fk_progress_course foreign key (course_id) references course
+);
+
+create table learning (
+    id              uuid not null,
+    user_id         uuid,
+    course_id       uuid,
+    progress_id     uuid,
+    completed       boolean,
+    enrollment_date timestamp(6),
+    completion_date timestamp(6),
+    primary key (id),
+    constraint fk_learning_user foreign key (user_id) references users,
+    constraint fk_learning_course foreign key (course_id) references course,
+    constraint fk_learning_progress foreign key (progress_id) references progress
+);
+
+create table assessment (
+    id        uuid    not null,
+    user_id   uuid,
+    course_id uuid,
+    marks     integer not null,
+    primary key (id),
+    constraint fk_assessment_user foreign key (user_id) references users,
+    constraint fk_assessment_course foreign key (course_id) references course
+);
+
+create table questions (
+    id        uuid not null,
+    course_id uuid,
+    question  varchar(255),
+    option1   varchar(255),
+    option2   varchar(255),
+    option3   varchar(255),
+    option4   varchar(255),
+    answer    varchar(255),
+    primary key (id),
+    constraint fk_questions_course foreign key (course_id) references course
+);
+
+create table discussion (
+    id        uuid not null,
+    course_id uuid,
+    user_name varchar(255),
+    content   varchar(255),
+    time      timestamp(6),
+    primary key (id),
+    constraint fk_discussion_course foreign key (course_id) references course
+);
+
+create table feedback (
+    id        uuid not null,
+    course_id uuid,
+    comment   varchar(255),
+    primary key (id),
+    constraint fk_feedback_course foreign key (course_id) references course
+);
@@ -0,0 +1,44 @@
+-- One index per hot repository access path; Postgres does not index foreign keys by itself.
+-- "if not exists" because databases baselined from ddl-auto may carry hand-made indexes.
+
+-- CourseRepository: admin lists and counts by status, newest first
+create index if not exists idx_course_status_created_at on course (status, created_at desc);
+
+-- CourseRepository: public catalog (findPublishedCourses*, countPublishedCourses).
+-- Partial, so they stay small while drafts and rejected courses pile up.
+create index if not exists idx_course_published_created_at on course (created_at desc) where status = 'PUBLISHED';
+create index if not exists idx_course_published_category on course (category, created_at desc) where status = 'PUBLISHED';
+create index if not exists idx_course_published_price on course (price) where status = 'PUBLISHED';
+
+-- CourseRepository: findByCategory[AndStatus], findAllCategories
+create index if not exists idx_course_category_status on course (category, status);
+
+-- CourseRepository: instructor dashboards (findByInstructorUserId*, countByInstructorUserId*),
+-- also the join side of LearningRepository.findByInstructorId
+create index if not exists idx_course_instructor_created_at on course (instructor_id, created_at desc);
+create index if not exists idx_course_instructor_status on course (instructor_id, status);
+
+-- LearningRepository: findByUserAndCourse, findByUserId, countByUserId
+create index if not exists idx_learning_user_course on learning (user_id, course_id);
+-- LearningRepository: findByUserIdAndCompleted, countByUserIdAndCompleted
+create index if not exists idx_learning_user_completed on learning (user_id, completed);
+-- LearningRepository: findByCourseId, findByInstructorId / countStudentsByInstructorId (ordered by enrollment)
+create index if not exists idx_learning_course_enrollment on learning (course_id, enrollment_date desc);
+create index if not exists idx_learning_progress on learning (progress_id);
+
+-- ProgressRepository.findByUserAndCourse (video player heartbeat)
+create index if not exists idx_progress_user_course on progress (user_id, course_id);
+
+-- AssessmentRepository.findByUserAndCourse, findByUser
+create index if not exists idx_assessment_user_course on assessment (user_id, course_id);
+
+-- DiscussionRepository.findByCourse, QuestionRepository.findByCourse
+create index if not exists idx_discussion_course_time on discussion (course_id, time);
+create index if not exists idx_questions_course on questions (course_id);
+
+-- FeedbackRepository.findByCourseId (paged, newest first)
+create index if not exists idx_feedback_course_created_at on feedback (course_id, created_at desc);
+
+-- UserRepository: findByUsername, findByRole*/countByRole*
+create index if not exists idx_users_username on users (username);
+create index if not exists idx_users_role_active on users (role, is_active);
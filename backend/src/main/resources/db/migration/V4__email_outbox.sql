@@ -0,0 +1,23 @@
+-- Transactional outbox for notification emails: rows are inserted in the same transaction
+-- as the change they announce and delivered later by EmailDispatcher.
+
+create table email_outbox (
+    id              bigint generated by default as identity,
+    recipient       varchar(255) not null,
+    subject         varchar(255) not null,
+    body            text         not null,
+    status          varchar(16)  not null check (status in ('PENDING', 'SENT', 'FAILED')),
+    attempts        integer      not null,
+    next_attempt_at timestamp(6) not null,
+    last_error      text,
+    created_at      timestamp(6) not null,
+    sent_at         timestamp(6),
+    primary key (id)
+);
+
+-- The dispatcher's claim query: due PENDING rows, oldest first. Partial, so the
+-- ever-growing SENT history does not slow it down.
+create index idx_email_outbox_due on email_outbox (next_attempt_at, id) where status = 'PENDING';
+
+-- Retention purge of delivered rows
+create index idx_email_outbox_sent_at on email_outbox (sent_at) where status = 'SENT';
@@ -0,0 +1,21 @@
+-- Completion certificates. The PDF itself lives in the content-addressed CertificateStore;
+-- this row says whether it has been rendered yet and under which hash.
+
+create table certificate (
+    learning_id   uuid         not null,
+    user_id       uuid         not null,
+    course_id     uuid         not null,
+    status        varchar(16)  not null check (status in ('PENDING', 'READY', 'FAILED')),
+    content_hash  varchar(64),
+    size_bytes    bigint,
+    attempts      integer      not null,
+    last_error    text,
+    requested_at  timestamp(6) not null,
+    issued_at     timestamp(6),
+    primary key (learning_id),
+    -- Unenrolling (or deleting the course) removes the certificate with the enrollment
+    constraint fk_certificate_learning foreign key (learning_id) references learning on delete cascade
+);
+
+-- CertificateService sweep: requests whose render never happened (full queue, restart)
+create index idx_certificate_pending on certificate (requested_at) where status = 'PENDING';
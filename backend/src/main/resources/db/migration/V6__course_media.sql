@@ -0,0 +1,15 @@
+-- Self-hosted course media. The bytes live in the MediaStore directory
+-- (<dir>/<course_id>/<id>); this row is what the streaming endpoint serves from.
+
+create table course_media (
+    id            uuid         not null,
+    course_id     uuid         not null,
+    file_name     varchar(255) not null,
+    content_type  varchar(127) not null,
+    size_bytes    bigint       not null,
+    created_at    timestamp(6) not null,
+    primary key (id),
+    constraint fk_course_media_course foreign key (course_id) references course on delete cascade
+);
+
+create index idx_course_media_course on course_media (course_id, created_at);
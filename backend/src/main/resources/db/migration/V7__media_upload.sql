@@ -0,0 +1,20 @@
+-- Resumable uploads in progress. Chunks are written straight into a part file
+-- in the MediaStore; received holds one bit per chunk (bit n = byte n/8, 1 << n%8,
+-- the order of Postgres set_bit and java.util.BitSet.valueOf).
+
+create table media_upload (
+    id            uuid         not null,
+    course_id     uuid         not null,
+    file_name     varchar(255) not null,
+    content_type  varchar(127) not null,
+    size_bytes    bigint       not null,
+    chunk_size    integer      not null,
+    received      bytea        not null,
+    created_at    timestamp(6) not null,
+    expires_at    timestamp(6) not null,
+    primary key (id),
+    constraint fk_media_upload_course foreign key (course_id) references course on delete cascade
+);
+
+-- MediaUploadService sweep: abandoned uploads
+create index idx_media_upload_expires on media_upload (expires_at);
@@ -0,0 +1,40 @@
+-- Content-addressed course media: identical files are stored once, under their
+-- SHA-256, and shared by every course_media row that has that content.
+
+create table media_blob (
+    hash         varchar(64)  not null,
+    size_bytes   bigint       not null,
+    ref_count    integer      not null default 0,
+    created_at   timestamp(6) not null,
+    released_at  timestamp(6),   -- when ref_count last dropped to 0
+    primary key (hash)
+);
+
+-- Rows uploaded before this migration keep their file at <dir>/<course_id>/<id> (content_hash null)
+alter table course_media add column content_hash varchar(64);
+alter table course_media add constraint fk_course_media_blob foreign key (content_hash) references media_blob;
+create index idx_course_media_content_hash on course_media (content_hash);
+
+-- Kept in the database because course_media rows also go with their course
+-- (on delete cascade), which the application never sees row by row
+create function media_blob_refcount() returns trigger language plpgsql as $$
+begin
+    if tg_op = 'INSERT' and new.content_hash is not null then
+        update media_blob set ref_count = ref_count + 1, released_at = null
+        where hash = new.content_hash;
+    elsif tg_op = 'DELETE' and old.content_hash is not null then
+        -- The right-hand sides see the old ref_count
+        update media_blob set ref_count = ref_count - 1,
+                              released_at = case when ref_count = 1 then localtimestamp else released_at end
+        where hash = old.content_hash;
+    end if;
+    return null;
+end
+$$;
+
+create trigger course_media_blob_refcount
+    after insert or delete on course_media
+    for each row execute function media_blob_refcount();
+
+-- MediaService garbage collection: blobs nothing refers to any more
+create index idx_media_blob_released on media_blob (released_at) where ref_count = 0;
@@ -0,0 +1,4 @@
+-- Watch coverage per enrollment: one bit per fixed-length video segment (SegmentBitmap),
+-- OR-ed in by each progress heartbeat; percentage is derived from it.
+
+alter table progress add column watched bytea;
@@ -0,0 +1,89 @@
+package com.starter_squad.lms;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database created by the old ddl-auto=update is baselined at V1 without
+ * running it, so V1 has to be exactly that schema and everything newer has to
+ * come from later migrations.
+ */
+class FlywayBaselineTests {
+
+	private EmbeddedPostgres embeddedPostgres;
+	private DataSource dataSource;
+	private JdbcTemplate jdbc;
+
+	@BeforeEach
+	void startDatabase() throws IOException {
+		embeddedPostgres = EmbeddedPostgres.builder().start();
+		dataSource = embeddedPostgres.getPostgresDatabase();
+		jdbc = new JdbcTemplate(dataSource);
+		// What ddl-auto=update left behind, without Flyway's history table
+		jdbc.execute(new ClassPathResource("db/migration/V1__baseline_schema.sql").getContentAsString(StandardCharsets.UTF_8));
+	}
+
+	@AfterEach
+	void stopDatabase() throws IOException {
+		embeddedPostgres.close();
+	}
+
+	@Test
+	void baselinedDatabaseMigratesToTheCurrentSchema() {
+		UUID courseId = course();
+		jdbc.update("INSERT INTO feedback (id, course_id, comment) VALUES (?, ?, 'old')", UUID.randomUUID(), courseId);
+
+		migrate();
+
+		assertThat(jdbc.queryForObject("SELECT rating FROM feedback", Integer.class)).isNull();
+		assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM course_rating_summary", Long.class)).isZero();
+		assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM pg_indexes WHERE indexname = 'idx_feedback_course_created_at'",
+				Long.class)).isOne();
+	}
+
+	@Test
+	void ratingsLeftByDdlAutoAreBackfilledIntoTheSummaries() {
+		UUID instructorId = UUID.randomUUID();
+		jdbc.update("INSERT INTO users (id, username, email, password, role, created_at) "
+				+ "VALUES (?, 'instructor', 'instructor@example.com', 'x', 'INSTRUCTOR', now())", instructorId);
+		UUID courseId = course();
+		jdbc.update("UPDATE course SET instructor_id = ?", instructorId);
+		jdbc.execute("ALTER TABLE feedback ADD COLUMN rating integer");
+		for (int rating : new int[] {5, 4, 4}) {
+			jdbc.update("INSERT INTO feedback (id, course_id, comment, rating) VALUES (?, ?, 'c', ?)",
+					UUID.randomUUID(), courseId, rating);
+		}
+
+		migrate();
+
+		Map<String, Object> course = jdbc.queryForMap("SELECT * FROM course_rating_summary WHERE course_id = ?", courseId);
+		assertThat(course).containsEntry("rating_count", 3L).containsEntry("rating_sum", 13L)
+				.containsEntry("star4", 2L).containsEntry("star5", 1L);
+		assertThat(jdbc.queryForObject("SELECT rating_sum FROM instructor_rating_summary WHERE instructor_id = ?",
+				Long.class, instructorId)).isEqualTo(13L);
+	}
+
+	private UUID course() {
+		UUID courseId = UUID.randomUUID();
+		jdbc.update("INSERT INTO course (course_id, course_name, price, status) VALUES (?, 'Java', 0, 'PUBLISHED')", courseId);
+		return courseId;
+	}
+
+	// Same settings as spring.flyway in application.yml
+	private void migrate() {
+		Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+	}
+}
@@ -0,0 +1,64 @@
+package com.starter_squad.lms.certificate;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CertificateRenderingTests {
+
+	@TempDir
+	Path dir;
+
+	private final CertificateRenderer renderer = new CertificateRenderer();
+
+	@Test
+	void rendersCertificateText() throws Exception {
+		UUID id = UUID.randomUUID();
+		byte[] pdf = renderer.render(new CertificateRenderer.Content(id, "Ada Lovelace", "Spring Boot in Depth",
+				"Grace Hopper", LocalDate.of(2024, 3, 5)));
+
+		try (PDDocument document = Loader.loadPDF(pdf)) {
+			assertThat(document.getNumberOfPages()).isEqualTo(1);
+			String text = new PDFTextStripper().getText(document);
+			assertThat(text).contains("Certificate of Completion", "Ada Lovelace", "Spring Boot in Depth",
+					"taught by Grace Hopper", "Completed on 5 March 2024", id.toString());
+		}
+	}
+
+	@Test
+	void replacesCharactersTheFontCannotShow() throws Exception {
+		byte[] pdf = renderer.render(new CertificateRenderer.Content(UUID.randomUUID(), "রহিম Café", "Java",
+				null, LocalDate.of(2024, 1, 1)));
+
+		try (PDDocument document = Loader.loadPDF(pdf)) {
+			assertThat(new PDFTextStripper().getText(document)).contains("???? Café");
+		}
+	}
+
+	@Test
+	void storesContentUnderItsHashOnce() throws Exception {
+		CertificateStore store = new CertificateStore(dir.toString());
+		byte[] content = "%PDF-1.7 test".getBytes();
+
+		String hash = store.put(content);
+		assertThat(store.put(content)).isEqualTo(hash);
+
+		Path file = store.path(hash);
+		assertThat(file).startsWith(dir.resolve(hash.substring(0, 2)));
+		assertThat(Files.readAllBytes(file)).isEqualTo(content);
+		try (var files = Files.walk(dir)) {
+			assertThat(files.filter(Files::isRegularFile)).containsExactly(file);
+		}
+		assertThatThrownBy(() -> store.path("../../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
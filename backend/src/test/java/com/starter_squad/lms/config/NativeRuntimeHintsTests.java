@@ -0,0 +1,51 @@
+package com.starter_squad.lms.config;
+
+import com.starter_squad.lms.dto.ApiResponse;
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.security.UserPrincipal;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTests {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	NativeRuntimeHintsTests() {
+		new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void jwtImplementationCanBeInstantiatedByName() {
+		assertThat(RuntimeHintsPredicates.reflection()
+				.onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder"))
+				.withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+	}
+
+	@Test
+	void entitiesDtosAndPrincipalAreBound() throws Exception {
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(Course.class.getMethod("getCourse_name"))).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onType(Course.CourseStatus.class)).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(ApiResponse.class.getMethod("getData"))).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(UserPrincipal.class.getMethod("getPhotosImagePath"))).accepts(hints);
+	}
+
+	@Test
+	void sessionPrincipalIsSerializable() {
+		assertThat(RuntimeHintsPredicates.serialization().onType(UserPrincipal.class)).accepts(hints);
+	}
+
+	@Test
+	void jdbcProxiesAreRegistered() {
+		assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, PreparedStatement.class)).accepts(hints);
+		assertThat(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class)).accepts(hints);
+	}
+}
@@ -0,0 +1,112 @@
+package com.starter_squad.lms.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTests {
+
+	private final Connection primaryConnection = mock(Connection.class);
+	private final Connection replicaConnection = mock(Connection.class);
+	private final DataSource primary = mock(DataSource.class);
+	private final DataSource replica = mock(DataSource.class);
+	private ReplicaRoutingDataSource router;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+		router = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica), Duration.ofSeconds(5),
+				new ReadYourWritesTracker(Duration.ofMinutes(1), 100));
+		router.afterPropertiesSet();
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"learner@example.com", null, AuthorityUtils.createAuthorityList("ROLE_STUDENT")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void readOnlyTransactionsUseHealthyReplica() throws SQLException {
+		assertThat(connectionFor(true)).isSameAs(primaryConnection);
+
+		replicaReportsLag(0);
+		assertThat(connectionFor(true)).isSameAs(replicaConnection);
+		assertThat(connectionFor(false)).isSameAs(primaryConnection);
+		assertThat(router.getConnection()).isSameAs(primaryConnection);
+	}
+
+	@Test
+	void laggingOrUnreachableReplicaFallsBackToPrimary() throws SQLException {
+		replicaReportsLag(60_000);
+		assertThat(connectionFor(true)).isSameAs(primaryConnection);
+		assertThat(router.getReplicaLag()).containsEntry("replica-1", 60_000L);
+
+		when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+		router.checkReplicaLag();
+		assertThat(connectionFor(true)).isSameAs(primaryConnection);
+		assertThat(router.getReplicaLag()).containsEntry("replica-1", -1L);
+	}
+
+	@Test
+	void userReadsOwnWritesFromPrimary() throws SQLException {
+		replicaReportsLag(0);
+
+		TransactionSynchronizationManager.initSynchronization();
+		assertThat(connectionFor(false)).isSameAs(primaryConnection);
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		TransactionSynchronizationManager.clearSynchronization();
+
+		assertThat(connectionFor(true)).isSameAs(primaryConnection);
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"someone-else@example.com", null, AuthorityUtils.createAuthorityList("ROLE_STUDENT")));
+		assertThat(connectionFor(true)).isSameAs(replicaConnection);
+	}
+
+	private Connection connectionFor(boolean readOnly) throws SQLException {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+		return router.getConnection();
+	}
+
+	private void replicaReportsLag(long lagMillis) throws SQLException {
+		Connection checkConnection = mock(Connection.class);
+		Statement statement = mock(Statement.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(checkConnection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(anyString())).thenReturn(resultSet);
+		when(resultSet.next()).thenReturn(true);
+		when(resultSet.getLong(1)).thenReturn(lagMillis);
+		when(replica.getConnection()).thenReturn(checkConnection, replicaConnection);
+
+		router.checkReplicaLag();
+	}
+}
@@ -0,0 +1,35 @@
+package com.starter_squad.lms.config;
+
+import com.starter_squad.lms.service.CourseLeaderboard;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServiceMetricsAspectTests {
+
+	@Test
+	void timesServiceMethodsByOutcome() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AspectJProxyFactory factory = new AspectJProxyFactory(new CourseLeaderboard());
+		factory.setProxyTargetClass(true);
+		factory.addAspect(new ServiceMetricsAspect(registry));
+		CourseLeaderboard board = factory.getProxy();
+
+		board.record(UUID.randomUUID(), 7);
+		board.record(UUID.randomUUID(), 9);
+		assertThatThrownBy(() -> board.top(-1)).isInstanceOf(IllegalArgumentException.class);
+
+		Timer success = registry.get(ServiceMetricsAspect.METRIC)
+				.tags("class", "CourseLeaderboard", "method", "record", "outcome", "SUCCESS").timer();
+		assertThat(success.count()).isEqualTo(2);
+		Timer error = registry.get(ServiceMetricsAspect.METRIC)
+				.tags("method", "top", "outcome", "ERROR", "exception", "IllegalArgumentException").timer();
+		assertThat(error.count()).isEqualTo(1);
+	}
+}
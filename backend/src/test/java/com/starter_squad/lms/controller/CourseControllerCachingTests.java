@@ -0,0 +1,63 @@
+package com.starter_squad.lms.controller;
+
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.service.CatalogVersion;
+import com.starter_squad.lms.service.CourseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CourseControllerCachingTests {
+
+	private final CourseService courseService = mock(CourseService.class);
+	private final CatalogVersion catalogVersion = new CatalogVersion();
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		CourseController controller = new CourseController();
+		ReflectionTestUtils.setField(controller, "courseService", courseService);
+		ReflectionTestUtils.setField(controller, "catalogVersion", catalogVersion);
+		ReflectionTestUtils.setField(controller, "catalogMaxAge", Duration.ofSeconds(60));
+		mvc = MockMvcBuilders.standaloneSetup(controller).build();
+		when(courseService.getPublishedCourses()).thenReturn(List.of(new Course()));
+	}
+
+	@Test
+	void repeatViewIsNotModifiedWithoutLoadingCourses() throws Exception {
+		String etag = catalogVersion.etag();
+		mvc.perform(get("/api/courses"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", etag))
+				.andExpect(header().string("Cache-Control", "max-age=60, must-revalidate, public"));
+
+		mvc.perform(get("/api/courses").header("If-None-Match", etag))
+				.andExpect(status().isNotModified());
+		verify(courseService, times(1)).getPublishedCourses();
+
+		catalogVersion.bump();
+		mvc.perform(get("/api/courses").header("If-None-Match", etag))
+				.andExpect(status().isOk());
+		verify(courseService, times(2)).getPublishedCourses();
+	}
+
+	@Test
+	void authenticatedResponsesArePrivate() throws Exception {
+		mvc.perform(get("/api/courses").header("Authorization", "Bearer token"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "no-cache, private"));
+	}
+}
@@ -0,0 +1,91 @@
+package com.starter_squad.lms.controller;
+
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.service.CatalogVersion;
+import com.starter_squad.lms.service.CourseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The catalog on a real Tomcat with the server.compression settings from
+ * application.yml: the validator must not stop the JSON from being gzipped.
+ */
+@SpringBootTest(classes = CourseControllerCompressionTests.TestConfig.class,
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CourseControllerCompressionTests {
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private CatalogVersion catalogVersion;
+
+	@Test
+	void catalogIsGzippedAndStillRevalidates() throws Exception {
+		HttpResponse<byte[]> response = get("gzip", null);
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+		String etag = response.headers().firstValue("ETag").orElseThrow();
+		assertThat(etag).isEqualTo(catalogVersion.etag()).startsWith("W/");
+
+		assertThat(get("gzip", etag).statusCode()).isEqualTo(304);
+		assertThat(get("identity", etag).statusCode()).isEqualTo(304);
+		assertThat(get("identity", null).headers().firstValue("Content-Encoding")).isEmpty();
+	}
+
+	private HttpResponse<byte[]> get(String acceptEncoding, String ifNoneMatch) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/courses"))
+				.header("Accept-Encoding", acceptEncoding);
+		if (ifNoneMatch != null) {
+			request.header("If-None-Match", ifNoneMatch);
+		}
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	@Configuration
+	@ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+			WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class})
+	@Import({CourseController.class, CatalogVersion.class})
+	static class TestConfig {
+
+		@Bean
+		CourseService courseService() {
+			// Well over server.compression.min-response-size
+			List<Course> courses = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				Course course = new Course();
+				course.setCourse_name("Course " + i);
+				course.setDescription("A course about topic " + i);
+				courses.add(course);
+			}
+			CourseService courseService = mock(CourseService.class);
+			when(courseService.getPublishedCourses()).thenReturn(courses);
+			return courseService;
+		}
+	}
+}
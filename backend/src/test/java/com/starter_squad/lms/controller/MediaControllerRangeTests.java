@@ -0,0 +1,151 @@
+package com.starter_squad.lms.controller;
+
+import com.starter_squad.lms.entity.Course.CourseStatus;
+import com.starter_squad.lms.enums.UserRole;
+import com.starter_squad.lms.media.MediaService;
+import com.starter_squad.lms.media.MediaService.CourseAccess;
+import com.starter_squad.lms.media.MediaService.Playable;
+import com.starter_squad.lms.media.StreamPermits;
+import com.starter_squad.lms.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MediaControllerRangeTests {
+
+	private static final int SIZE = 1000;
+
+	private final MediaService mediaService = mock(MediaService.class);
+	private final UUID courseId = UUID.randomUUID();
+	private final UUID mediaId = UUID.randomUUID();
+	private final String url = "/api/courses/" + courseId + "/media/" + mediaId;
+	private final String etag = '"' + mediaId.toString() + '"';
+	private final byte[] bytes = new byte[SIZE];
+
+	@TempDir
+	Path dir;
+
+	private Path file;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		for (int i = 0; i < SIZE; i++) {
+			bytes[i] = (byte) i;
+		}
+		file = Files.write(dir.resolve("video.mp4"), bytes);
+		playable(0);
+		when(mediaService.canWatch(any(), any())).thenCallRealMethod();
+	}
+
+	@AfterEach
+	void clearPrincipal() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void rangeIsAnsweredWithPartialContent() throws Exception {
+		mvc(SIZE, 10).perform(get(url).header("Range", "bytes=100-199"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string("Content-Range", "bytes 100-199/1000"))
+				.andExpect(header().longValue("Content-Length", 100))
+				.andExpect(header().string("Accept-Ranges", "bytes"))
+				.andExpect(header().string("ETag", etag))
+				.andExpect(header().string("Cache-Control", "max-age=86400, public"))
+				.andExpect(content().bytes(Arrays.copyOfRange(bytes, 100, 200)));
+	}
+
+	@Test
+	void openEndedRangesAreCappedAndUnsatisfiableOnesRejected() throws Exception {
+		MockMvc mvc = mvc(256, 10);
+		mvc.perform(get(url).header("Range", "bytes=0-"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string("Content-Range", "bytes 0-255/1000"))
+				.andExpect(content().bytes(Arrays.copyOfRange(bytes, 0, 256)));
+
+		mvc.perform(get(url).header("Range", "bytes=1000-"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string("Content-Range", "bytes */1000"));
+	}
+
+	@Test
+	void staleIfRangeGetsTheWholeFile() throws Exception {
+		MockMvc mvc = mvc(SIZE, 10);
+		mvc.perform(get(url).header("Range", "bytes=100-199").header("If-Range", "\"replaced\""))
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(bytes));
+
+		mvc.perform(get(url).header("If-None-Match", etag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void busyNodeAsksPlayersToRetry() throws Exception {
+		mvc(SIZE, 0).perform(get(url).header("Range", "bytes=0-"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string("Retry-After", "1"));
+	}
+
+	@Test
+	void paidCourseIsOnlyStreamedToEnrolledLearnersAndNeverToSharedCaches() throws Exception {
+		playable(499);
+		UUID learnerId = UUID.randomUUID();
+		MockMvc mvc = mvc(SIZE, 10);
+
+		mvc.perform(get(url).header("Range", "bytes=0-99"))
+				.andExpect(status().isNotFound());
+
+		signIn(learnerId);
+		mvc.perform(get(url).header("Range", "bytes=0-99"))
+				.andExpect(status().isNotFound());
+
+		when(mediaService.isEnrolled(learnerId, courseId)).thenReturn(true);
+		mvc.perform(get(url).header("Range", "bytes=0-99"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string("Cache-Control", "max-age=86400, private"));
+	}
+
+	private void playable(int price) {
+		Playable media = new Playable(mediaId, "video/mp4", SIZE, null,
+				new CourseAccess(courseId, CourseStatus.PUBLISHED, UUID.randomUUID(), price));
+		when(mediaService.findPlayable(courseId, mediaId)).thenReturn(media);
+		when(mediaService.file(media)).thenReturn(file);
+	}
+
+	private static void signIn(UUID userId) {
+		UserPrincipal principal = new UserPrincipal(userId, "learner", "learner@example.com", UserRole.USER,
+				true, false, null);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private MockMvc mvc(long maxRangeSize, int maxStreams) {
+		MediaController controller = new MediaController(mediaService, new StreamPermits(maxStreams));
+		ReflectionTestUtils.setField(controller, "maxRangeSize", DataSize.ofBytes(maxRangeSize));
+		ReflectionTestUtils.setField(controller, "cacheMaxAge", Duration.ofDays(1));
+		return MockMvcBuilders.standaloneSetup(controller)
+				.setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+				.build();
+	}
+}
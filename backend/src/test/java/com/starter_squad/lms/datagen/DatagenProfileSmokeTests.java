@@ -0,0 +1,111 @@
+package com.starter_squad.lms.datagen;
+
+import com.starter_squad.lms.LearningManagementSystemApplication;
+import com.starter_squad.lms.certificate.CertificateStore;
+import com.starter_squad.lms.media.MediaStore;
+import com.starter_squad.lms.media.MediaStore.Staged;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application with the datagen profile, the way the documented
+ * generator command does, and loads a small dataset into an embedded Postgres,
+ * resetting whatever an earlier run (or the app) left there.
+ */
+class DatagenProfileSmokeTests {
+
+	private static EmbeddedPostgres embeddedPostgres;
+
+	@TempDir
+	Path dir;
+
+	@BeforeAll
+	static void startDatabase() throws IOException {
+		embeddedPostgres = EmbeddedPostgres.builder().start();
+	}
+
+	@AfterAll
+	static void stopDatabase() throws IOException {
+		embeddedPostgres.close();
+	}
+
+	@Test
+	void profileStartsAndLoadsTheDataset() {
+		try (ConfigurableApplicationContext context = generate()) {
+			JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+			assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE role <> 'ADMIN'", Long.class)).isEqualTo(205);
+			assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM course", Long.class)).isEqualTo(20);
+			assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM learning", Long.class)).isPositive();
+			assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM course_rating_summary", Long.class)).isPositive();
+		}
+	}
+
+	@Test
+	void rerunWithTruncateRemovesEverythingThatReferencesCourses() throws Exception {
+		String certificateHash;
+		String blobHash;
+		try (ConfigurableApplicationContext context = generate()) {
+			JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+			Map<String, Object> enrollment = jdbc.queryForMap("SELECT id, user_id, course_id FROM learning LIMIT 1");
+
+			certificateHash = context.getBean(CertificateStore.class).put("certificate".getBytes(StandardCharsets.UTF_8));
+			jdbc.update("INSERT INTO certificate (learning_id, user_id, course_id, status, content_hash, attempts, requested_at) "
+					+ "VALUES (?, ?, ?, 'READY', ?, 1, now())", enrollment.get("id"), enrollment.get("user_id"),
+					enrollment.get("course_id"), certificateHash);
+
+			MediaStore mediaStore = context.getBean(MediaStore.class);
+			Staged staged = mediaStore.stage(new ByteArrayInputStream("video".getBytes(StandardCharsets.UTF_8)), 1024);
+			blobHash = staged.hash();
+			mediaStore.putBlob(blobHash, staged.file());
+			jdbc.update("INSERT INTO media_blob (hash, size_bytes, created_at) VALUES (?, ?, now())", blobHash, staged.size());
+			jdbc.update("INSERT INTO course_media (id, course_id, file_name, content_type, size_bytes, created_at, content_hash) "
+					+ "VALUES (?, ?, 'intro.mp4', 'video/mp4', ?, now(), ?)", UUID.randomUUID(), enrollment.get("course_id"),
+					staged.size(), blobHash);
+			jdbc.update("INSERT INTO media_upload (id, course_id, file_name, content_type, size_bytes, chunk_size, received, "
+					+ "created_at, expires_at) VALUES (?, ?, 'big.mp4', 'video/mp4', 10, 10, '\\x00', now(), now())",
+					UUID.randomUUID(), enrollment.get("course_id"));
+		}
+
+		try (ConfigurableApplicationContext context = generate()) {
+			JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+			assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE role <> 'ADMIN'", Long.class)).isEqualTo(205);
+			for (String table : new String[] {"certificate", "course_media", "media_blob", "media_upload"}) {
+				assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class)).as(table).isZero();
+			}
+			assertThat(context.getBean(CertificateStore.class).path(certificateHash)).doesNotExist();
+			assertThat(context.getBean(MediaStore.class).blobPath(blobHash)).doesNotExist();
+		}
+	}
+
+	// Always resets first, so the tests can run in any order against the one database
+	private ConfigurableApplicationContext generate() {
+		return SpringApplication.run(LearningManagementSystemApplication.class,
+				"--spring.profiles.active=datagen",
+				"--spring.datasource.url=" + embeddedPostgres.getJdbcUrl("postgres", "postgres"),
+				"--spring.datasource.username=postgres",
+				"--spring.datasource.password=postgres",
+				"--app.certificates.dir=" + dir.resolve("certificates"),
+				"--app.media.dir=" + dir.resolve("media"),
+				"--app.datagen.learners=200",
+				"--app.datagen.instructors=5",
+				"--app.datagen.courses=20",
+				"--app.datagen.truncate=true",
+				// The generator would otherwise System.exit the test JVM
+				"--app.datagen.exit-when-done=false");
+	}
+}
@@ -0,0 +1,37 @@
+package com.starter_squad.lms.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipfDistributionTests {
+
+	@Test
+	void sameSeedGivesSameSequence() {
+		ZipfDistribution zipf = new ZipfDistribution(1000, 1.1);
+		SplittableRandom first = new SplittableRandom(42);
+		SplittableRandom second = new SplittableRandom(42);
+
+		int[] a = IntStream.range(0, 10_000).map(i -> zipf.sample(first)).toArray();
+		int[] b = IntStream.range(0, 10_000).map(i -> zipf.sample(second)).toArray();
+
+		assertThat(a).isEqualTo(b);
+	}
+
+	@Test
+	void lowRanksDominate() {
+		ZipfDistribution zipf = new ZipfDistribution(1000, 1.1);
+		SplittableRandom random = new SplittableRandom(7);
+		int[] counts = new int[1000];
+		for (int i = 0; i < 100_000; i++) {
+			counts[zipf.sample(random)]++;
+		}
+
+		int top10 = IntStream.of(counts).limit(10).sum();
+		assertThat(top10).isGreaterThan(100_000 / 3);
+		assertThat(counts[0]).isGreaterThan(counts[9] * 5);
+	}
+}
@@ -0,0 +1,190 @@
+package com.starter_squad.lms.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainEventListenerAspectTests {
+
+	private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TestConfig.class);
+	private final ApplicationEventPublisher publisher = context;
+	private final TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+	private final Recorder recorder = context.getBean(Recorder.class);
+
+	@AfterEach
+	void close() {
+		recorder.release.countDown();
+		context.close();
+	}
+
+	@Test
+	void listenersRunAfterCommitAndAsyncOnesOffThePublishingThread() throws Exception {
+		UUID courseId = UUID.randomUUID();
+		transactions.executeWithoutResult(status -> {
+			publisher.publishEvent(new CourseApproved(courseId, null));
+			assertThat(recorder.sync).isEmpty();
+		});
+
+		assertThat(recorder.sync).containsExactly(new CourseApproved(courseId, null));
+		assertThat(recorder.asyncDone.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(recorder.asyncThreads.get(courseId)).startsWith("domain-events-");
+
+		transactions.executeWithoutResult(status -> {
+			publisher.publishEvent(new CourseApproved(UUID.randomUUID(), null));
+			status.setRollbackOnly();
+		});
+		assertThat(recorder.sync).hasSize(1);
+	}
+
+	@Test
+	void fullQueueRunsTheListenerOnThePublishingThread() throws Exception {
+		recorder.blockFirst = true;
+		UUID running = UUID.randomUUID();
+		UUID queued = UUID.randomUUID();
+		UUID overflow = UUID.randomUUID();
+
+		transactions.executeWithoutResult(status -> publisher.publishEvent(new CourseApproved(running, null)));
+		assertThat(recorder.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+		transactions.executeWithoutResult(status -> {
+			publisher.publishEvent(new CourseApproved(queued, null));
+			publisher.publishEvent(new CourseApproved(overflow, null));
+		});
+
+		assertThat(recorder.asyncThreads.get(overflow)).isEqualTo(Thread.currentThread().getName());
+		assertThat(context.getBean(DomainEventExecutor.class).getCallerRuns()).isEqualTo(1);
+		recorder.release.countDown();
+	}
+
+	@Test
+	void eachListenerIsTimed() throws Exception {
+		transactions.executeWithoutResult(status -> publisher.publishEvent(new CourseApproved(UUID.randomUUID(), null)));
+		assertThat(recorder.asyncDone.await(5, TimeUnit.SECONDS)).isTrue();
+
+		MeterRegistry registry = context.getBean(MeterRegistry.class);
+		assertThat(registry.find(DomainEventListenerAspect.METRIC)
+				.tags("listener", "Listeners.onApproved", "event", "CourseApproved", "outcome", "SUCCESS")
+				.timer().count()).isEqualTo(1);
+		// Recorded on the executor thread just after the listener returns
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (registry.find(DomainEventListenerAspect.METRIC).tag("listener", "Listeners.onApprovedAsync").timer() == null
+				&& System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(registry.find(DomainEventListenerAspect.METRIC)
+				.tags("listener", "Listeners.onApprovedAsync", "outcome", "SUCCESS").timer()).isNotNull();
+	}
+
+	// Kept apart from the listeners, which are proxied by the aspect
+	static class Recorder {
+
+		final List<DomainEvent> sync = new CopyOnWriteArrayList<>();
+		final Map<UUID, String> asyncThreads = new ConcurrentHashMap<>();
+		final CountDownLatch asyncDone = new CountDownLatch(1);
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		volatile boolean blockFirst;
+	}
+
+	static class Listeners {
+
+		private final Recorder recorder;
+
+		Listeners(Recorder recorder) {
+			this.recorder = recorder;
+		}
+
+		@TransactionalEventListener
+		public void onApproved(CourseApproved event) {
+			recorder.sync.add(event);
+		}
+
+		@AsyncListener
+		@TransactionalEventListener
+		public void onApprovedAsync(CourseApproved event) throws InterruptedException {
+			if (recorder.blockFirst && recorder.blocked.getCount() > 0) {
+				recorder.blocked.countDown();
+				recorder.release.await(5, TimeUnit.SECONDS);
+			}
+			recorder.asyncThreads.put(event.courseId(), Thread.currentThread().getName());
+			recorder.asyncDone.countDown();
+		}
+	}
+
+	@Configuration
+	@EnableAspectJAutoProxy
+	@EnableTransactionManagement
+	static class TestConfig {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		DomainEventExecutor domainEventExecutor() {
+			return new DomainEventExecutor(1, 1, Duration.ofSeconds(5));
+		}
+
+		@Bean
+		DomainEventListenerAspect domainEventListenerAspect(MeterRegistry meterRegistry, DomainEventExecutor executor) {
+			return new DomainEventListenerAspect(meterRegistry, executor);
+		}
+
+		@Bean
+		Recorder recorder() {
+			return new Recorder();
+		}
+
+		@Bean
+		Listeners listeners(Recorder recorder) {
+			return new Listeners(recorder);
+		}
+
+		@Bean
+		PlatformTransactionManager transactionManager() {
+			// Just enough of a transaction for synchronizations to run on commit
+			return new AbstractPlatformTransactionManager() {
+				@Override
+				protected Object doGetTransaction() {
+					return new Object();
+				}
+
+				@Override
+				protected void doBegin(Object transaction, TransactionDefinition definition) {
+				}
+
+				@Override
+				protected void doCommit(DefaultTransactionStatus status) {
+				}
+
+				@Override
+				protected void doRollback(DefaultTransactionStatus status) {
+				}
+			};
+		}
+	}
+}
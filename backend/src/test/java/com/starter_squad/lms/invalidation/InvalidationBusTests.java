@@ -0,0 +1,68 @@
+package com.starter_squad.lms.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationBusTests {
+
+	private final List<Map<String, Set<String>>> received = new ArrayList<>();
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void coalescesChangesUntilCommit() {
+		InvalidationBus bus = bus();
+		TransactionSynchronizationManager.initSynchronization();
+
+		bus.publish("course", "a");
+		bus.publish("course", "a");
+		bus.publish("user", "u1");
+		for (int i = 0; i <= InvalidationBus.MAX_KEYS_PER_TOPIC; i++) {
+			bus.publish("enrollment", i);
+		}
+		assertThat(received).isEmpty();
+
+		TransactionSynchronizationUtils.triggerAfterCommit();
+		assertThat(received).containsExactly(Map.of(
+				"course", Set.of("a"),
+				"user", Set.of("u1"),
+				"enrollment", Set.of(InvalidationBus.ALL_KEYS)));
+	}
+
+	@Test
+	void deliversImmediatelyOutsideTransactions() {
+		bus().publish("course", null);
+		assertThat(received).containsExactly(Map.of("course", Set.of(InvalidationBus.ALL_KEYS)));
+	}
+
+	private InvalidationBus bus() {
+		StaticListableBeanFactory beans = new StaticListableBeanFactory();
+		beans.addBean("handler", new InvalidationHandler() {
+			@Override
+			public void invalidate(Map<String, Set<String>> changes) {
+				received.add(Map.copyOf(changes));
+			}
+
+			@Override
+			public void invalidateAll() {
+			}
+		});
+		return new InvalidationBus(beans.getBeanProvider(InvalidationHandler.class),
+				beans.getBeanProvider(PgNotifyTransport.class));
+	}
+}
@@ -0,0 +1,67 @@
+package com.starter_squad.lms.invalidation;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A failed {@code pg_notify} aborts the transaction it runs in, so the write
+ * that published it must fail with it instead of committing nothing.
+ */
+class PgNotifyTransportTests {
+
+	// Postgres rejects NOTIFY payloads of 8000 bytes or more
+	private static final String TOO_LONG = "x".repeat(8000);
+
+	private static EmbeddedPostgres embeddedPostgres;
+	private static JdbcTemplate jdbc;
+	private static TransactionTemplate transaction;
+	private static PgNotifyTransport transport;
+
+	@BeforeAll
+	static void startDatabase() throws IOException {
+		embeddedPostgres = EmbeddedPostgres.builder().start();
+		DataSource dataSource = embeddedPostgres.getPostgresDatabase();
+		jdbc = new JdbcTemplate(dataSource);
+		transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		transport = new PgNotifyTransport(jdbc, null, null, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+		jdbc.execute("CREATE TABLE written (id uuid PRIMARY KEY)");
+	}
+
+	@AfterAll
+	static void stopDatabase() throws IOException {
+		embeddedPostgres.close();
+	}
+
+	@Test
+	void failedNotifyFailsTheWritingTransaction() {
+		UUID id = UUID.randomUUID();
+
+		assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+			jdbc.update("INSERT INTO written VALUES (?)", id);
+			transport.send("node", "course", TOO_LONG);
+		})).isInstanceOf(DataAccessException.class);
+
+		assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM written WHERE id = ?", Long.class, id)).isZero();
+	}
+
+	@Test
+	void notifyOutsideATransactionIsBestEffort() {
+		assertThatCode(() -> transport.trySend("node", "course", TOO_LONG)).doesNotThrowAnyException();
+		assertThatCode(() -> transport.trySend("node", "course", "key")).doesNotThrowAnyException();
+	}
+}
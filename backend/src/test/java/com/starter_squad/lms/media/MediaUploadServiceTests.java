@@ -0,0 +1,174 @@
+package com.starter_squad.lms.media;
+
+import com.starter_squad.lms.dto.UploadRequest;
+import com.starter_squad.lms.entity.Course.CourseStatus;
+import com.starter_squad.lms.media.MediaService.CourseAccess;
+import com.starter_squad.lms.media.MediaUploadService.ChunkTarget;
+import com.starter_squad.lms.media.MediaUploadService.UploadState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MediaUploadServiceTests {
+
+	private static final int CHUNK = 1024;
+
+	private final MediaUploadRepository uploadRepository = mock(MediaUploadRepository.class);
+	private final CourseMediaRepository mediaRepository = mock(CourseMediaRepository.class);
+	private final MediaBlobRepository blobRepository = mock(MediaBlobRepository.class);
+	private final JdbcTemplate uploadJdbc = mock(JdbcTemplate.class);
+	private final CourseAccess course = new CourseAccess(UUID.randomUUID(), CourseStatus.DRAFT, UUID.randomUUID(), 0);
+	private final byte[] file = new byte[CHUNK * 2 + 500];
+
+	@TempDir
+	Path dir;
+
+	private MediaStore store;
+	private MediaService mediaService;
+	private MediaUploadService service;
+
+	@BeforeEach
+	void setUp() {
+		new Random(7).nextBytes(file);
+		store = new MediaStore(dir.toString());
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		mediaService = new MediaService(mediaRepository, blobRepository, store, mock(JdbcTemplate.class),
+				transactionManager, DataSize.ofMegabytes(1), Duration.ofHours(1));
+		service = new MediaUploadService(uploadRepository, mediaService, store, uploadJdbc,
+				transactionManager, DataSize.ofBytes(CHUNK), Duration.ofHours(1));
+		when(uploadRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(mediaRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void chunksSentInAnyOrderAreAssembledInPlace() throws Exception {
+		UploadState state = service.start(course, "lecture.mp4", new UploadRequest("lecture.mp4", "video/mp4", file.length, null));
+		assertThat(state.chunkCount()).isEqualTo(3);
+		assertThat(state.missingChunks()).containsExactly(0, 1, 2);
+
+		ChunkTarget target = new ChunkTarget(state.id(), file.length, CHUNK, course);
+		for (int chunk : new int[] {2, 0, 1}) {
+			byte[] bytes = chunk(chunk);
+			service.writeChunk(target, chunk, new ByteArrayInputStream(bytes), sha256(bytes));
+			verify(uploadRepository).markReceived(eq(state.id()), eq(chunk), any());
+		}
+
+		MediaUpload upload = upload(state, 0, 1, 2);
+		CourseMedia media = service.complete(upload);
+
+		assertThat(media.getSizeBytes()).isEqualTo(file.length);
+		assertThat(media.getContentHash()).isEqualTo(HexFormat.of().formatHex(sha256(file)));
+		assertThat(Files.readAllBytes(store.blobPath(media.getContentHash()))).isEqualTo(file);
+		verify(uploadRepository).deleteById(state.id());
+	}
+
+	@Test
+	void corruptOrShortChunksAreNotMarkedReceived() throws Exception {
+		UploadState state = service.start(course, "notes.pdf", new UploadRequest("notes.pdf", "application/pdf", file.length, null));
+		ChunkTarget target = new ChunkTarget(state.id(), file.length, CHUNK, course);
+
+		byte[] bytes = chunk(0);
+		byte[] corrupted = bytes.clone();
+		corrupted[10] ^= 1;
+		assertThatThrownBy(() -> service.writeChunk(target, 0, new ByteArrayInputStream(corrupted), sha256(bytes)))
+				.isInstanceOf(UploadRejectedException.class);
+		assertThatThrownBy(() -> service.writeChunk(target, 0, new ByteArrayInputStream(bytes, 0, 100), sha256(bytes)))
+				.isInstanceOf(UploadRejectedException.class);
+		verify(uploadRepository, never()).markReceived(any(), anyInt(), any());
+
+		assertThat(service.complete(upload(state, 1, 2))).isNull();
+	}
+
+	@Test
+	void badResendOfAReceivedChunkLeavesItIntact() throws Exception {
+		UploadState state = service.start(course, "lecture.mp4", new UploadRequest("lecture.mp4", "video/mp4", file.length, null));
+		ChunkTarget target = new ChunkTarget(state.id(), file.length, CHUNK, course);
+		for (int chunk = 0; chunk < 3; chunk++) {
+			byte[] bytes = chunk(chunk);
+			service.writeChunk(target, chunk, new ByteArrayInputStream(bytes), sha256(bytes));
+		}
+		when(uploadJdbc.queryForList(anyString(), eq(Boolean.class), any(), any())).thenReturn(List.of(true));
+
+		// The client timed out and resends chunk 1, which arrives damaged or cut off
+		byte[] bytes = chunk(1);
+		byte[] corrupted = bytes.clone();
+		corrupted[500] ^= 1;
+		assertThatThrownBy(() -> service.writeChunk(target, 1, new ByteArrayInputStream(corrupted), sha256(bytes)))
+				.isInstanceOf(UploadRejectedException.class);
+		assertThatThrownBy(() -> service.writeChunk(target, 1, new ByteArrayInputStream(bytes, 0, 100), sha256(bytes)))
+				.isInstanceOf(UploadRejectedException.class);
+
+		CourseMedia media = service.complete(upload(state, 0, 1, 2));
+		assertThat(Files.readAllBytes(store.blobPath(media.getContentHash()))).isEqualTo(file);
+		try (Stream<Path> files = Files.walk(dir)) {
+			assertThat(files.filter(path -> path.toString().endsWith(".chunk"))).isEmpty();
+		}
+	}
+
+	@Test
+	void identicalContentIsStoredOnce() throws Exception {
+		CourseMedia first = mediaService.upload(course, "slides.pdf", "application/pdf", new ByteArrayInputStream(file));
+		CourseAccess copy = new CourseAccess(UUID.randomUUID(), CourseStatus.DRAFT, course.instructorId(), 0);
+		CourseMedia second = mediaService.upload(copy, "slides.pdf", "application/pdf", new ByteArrayInputStream(file));
+
+		assertThat(second.getId()).isNotEqualTo(first.getId());
+		assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+		verify(blobRepository, times(2)).claim(eq(first.getContentHash()), eq((long) file.length), any());
+		Path blob = store.blobPath(first.getContentHash());
+		assertThat(blob.getParent().getParent().getFileName().toString()).isEqualTo(first.getContentHash().substring(0, 2));
+		assertThat(Files.readAllBytes(blob)).isEqualTo(file);
+		try (Stream<Path> files = Files.walk(dir)) {
+			assertThat(files.filter(Files::isRegularFile)).containsExactly(blob);
+		}
+	}
+
+	private byte[] chunk(int chunk) {
+		return Arrays.copyOfRange(file, chunk * CHUNK, Math.min(file.length, (chunk + 1) * CHUNK));
+	}
+
+	private MediaUpload upload(UploadState state, int... received) {
+		MediaUpload upload = new MediaUpload();
+		upload.setId(state.id());
+		upload.setCourseId(course.courseId());
+		upload.setFileName(state.fileName());
+		upload.setContentType(state.contentType());
+		upload.setSizeBytes(state.size());
+		upload.setChunkSize(state.chunkSize());
+		BitSet bits = new BitSet();
+		Arrays.stream(received).forEach(bits::set);
+		upload.setReceived(Arrays.copyOf(bits.toByteArray(), 1));
+		return upload;
+	}
+
+	private static byte[] sha256(byte[] bytes) throws Exception {
+		return MessageDigest.getInstance("SHA-256").digest(bytes);
+	}
+}
@@ -0,0 +1,121 @@
+package com.starter_squad.lms.notification;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailDispatcherTests {
+
+	@RegisterExtension
+	static final GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private final OutboxEmailRepository repository = mock(OutboxEmailRepository.class);
+
+	@Test
+	void sendsDueEmailsAndMarksThemSent() throws Exception {
+		List<OutboxEmail> due = emails(3, 0);
+		when(repository.findDueForUpdate(any(LocalDateTime.class), any(Pageable.class))).thenReturn(due);
+
+		int claimed = dispatcher(mailSender(smtp.getSmtp().getPort()), 100).dispatchBatch();
+
+		assertThat(claimed).isEqualTo(3);
+		MimeMessage[] received = smtp.getReceivedMessages();
+		assertThat(received).hasSize(3);
+		assertThat(received[0].getSubject()).isEqualTo("Subject 1");
+		assertThat(received[0].getFrom()[0].toString()).isEqualTo("no-reply@lms.test");
+		for (OutboxEmail email : due) {
+			assertThat(email.getAttempts()).isEqualTo(1);
+			verify(repository).markSent(eq(email.getId()), any(LocalDateTime.class));
+		}
+	}
+
+	@Test
+	void throttlesToConfiguredRate() {
+		when(repository.findDueForUpdate(any(LocalDateTime.class), any(Pageable.class))).thenReturn(emails(4, 0));
+
+		long start = System.nanoTime();
+		dispatcher(mailSender(smtp.getSmtp().getPort()), 2).dispatchBatch();
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		// Two go out straight away, the other two wait for refills at 2 per second
+		assertThat(smtp.getReceivedMessages()).hasSize(4);
+		assertThat(elapsedMillis).isGreaterThanOrEqualTo(900);
+	}
+
+	@Test
+	void backsOffWhileServerIsDownAndGivesUpAfterMaxAttempts() throws Exception {
+		int closedPort;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			closedPort = socket.getLocalPort();
+		}
+		OutboxEmail retried = emails(1, 0).get(0);
+		OutboxEmail exhausted = emails(1, 2).get(0);
+		exhausted.setId(2L);
+		when(repository.findDueForUpdate(any(LocalDateTime.class), any(Pageable.class)))
+				.thenReturn(List.of(retried, exhausted));
+
+		LocalDateTime before = LocalDateTime.now();
+		dispatcher(mailSender(closedPort), 100).dispatchBatch();
+
+		verify(repository).reschedule(eq(retried.getId()),
+				argThat(next -> !next.isBefore(before.plusSeconds(30))), anyString());
+		verify(repository).markFailed(eq(exhausted.getId()), anyString());
+		verify(repository, never()).markSent(any(), any());
+	}
+
+	@Test
+	void backoffDoublesUpToTheCap() {
+		EmailDispatcher dispatcher = dispatcher(mailSender(smtp.getSmtp().getPort()), 100);
+
+		assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+		assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+		assertThat(dispatcher.backoff(60)).isEqualTo(Duration.ofMinutes(10));
+	}
+
+	private EmailDispatcher dispatcher(JavaMailSenderImpl mailSender, int ratePerSecond) {
+		return new EmailDispatcher(repository, TransactionOperations.withoutTransaction(), mailSender,
+				"no-reply@lms.test", Duration.ofSeconds(1), 50, ratePerSecond, 3,
+				Duration.ofSeconds(30), Duration.ofMinutes(10), Duration.ofMinutes(5), Duration.ofDays(14));
+	}
+
+	private static JavaMailSenderImpl mailSender(int port) {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(port);
+		mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+		return mailSender;
+	}
+
+	private static List<OutboxEmail> emails(int count, int attempts) {
+		List<OutboxEmail> emails = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			OutboxEmail email = new OutboxEmail("learner" + i + "@example.com", "Subject " + i, "Body " + i,
+					LocalDateTime.now());
+			email.setId((long) i);
+			email.setAttempts(attempts);
+			emails.add(email);
+		}
+		return emails;
+	}
+}
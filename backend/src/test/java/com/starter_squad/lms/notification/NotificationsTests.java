@@ -0,0 +1,89 @@
+package com.starter_squad.lms.notification;
+
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.event.CourseApproved;
+import com.starter_squad.lms.event.EnrollmentCreated;
+import com.starter_squad.lms.invalidation.InvalidationBus;
+import com.starter_squad.lms.repository.CourseRepository;
+import com.starter_squad.lms.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The outbox rows the listeners write, stored against the Flyway schema the
+ * way they are inside an enrollment or review transaction.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({Notifications.class, EmailOutbox.class})
+class NotificationsTests {
+
+	private static EmbeddedPostgres embeddedPostgres;
+
+	@MockBean
+	private InvalidationBus invalidationBus;
+
+	@Autowired
+	private Notifications notifications;
+	@Autowired
+	private OutboxEmailRepository outboxEmailRepository;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private UserRepository userRepository;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		embeddedPostgres = EmbeddedPostgres.builder().start();
+		registry.add("spring.datasource.url", () -> embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "postgres");
+	}
+
+	@AfterAll
+	static void stopDatabase() throws IOException {
+		embeddedPostgres.close();
+	}
+
+	@Test
+	void longestCourseNameStillFitsTheSubject() {
+		User instructor = user("instructor");
+		User learner = user("learner");
+		Course draft = new Course();
+		draft.setCourse_name("x".repeat(255));
+		draft.setInstructorUser(instructor);
+		Course course = courseRepository.save(draft);
+
+		notifications.enrollmentConfirmed(new EnrollmentCreated(UUID.randomUUID(), learner.getId(), course.getCourse_id()));
+		notifications.courseApproved(new CourseApproved(course.getCourse_id(), instructor.getId()));
+		outboxEmailRepository.flush();
+
+		List<OutboxEmail> queued = outboxEmailRepository.findAll();
+		assertThat(queued).extracting(OutboxEmail::getRecipient)
+				.containsExactlyInAnyOrder(learner.getEmail(), instructor.getEmail());
+		assertThat(queued).allSatisfy(email -> assertThat(email.getSubject()).endsWith(course.getCourse_name()));
+	}
+
+	private User user(String name) {
+		User user = new User();
+		user.setUsername(name);
+		user.setEmail(name + "-" + UUID.randomUUID() + "@example.com");
+		user.setPassword("secret");
+		return userRepository.save(user);
+	}
+}
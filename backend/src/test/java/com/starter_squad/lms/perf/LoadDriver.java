@@ -0,0 +1,180 @@
+package com.starter_squad.lms.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal closed-loop HTTP load generator for the perf tests: {@code concurrency}
+ * simulated users repeat a {@link Journey} until the run ends, and every
+ * request's latency is recorded under the name the journey gives it.
+ */
+public class LoadDriver {
+
+	private final String baseUrl;
+	private final HttpClient client;
+
+	public LoadDriver(String baseUrl) {
+		this.baseUrl = baseUrl;
+		this.client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(10))
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.executor(Executors.newCachedThreadPool())
+				.build();
+	}
+
+	@FunctionalInterface
+	public interface Journey {
+		void run(Session session) throws Exception;
+	}
+
+	/** Per-user session; holds the bearer token/cookie and this user's samples. */
+	public class Session {
+
+		private final int userIndex;
+		private final Map<String, List<Long>> latencies = new HashMap<>();
+		private final Map<String, Integer> errors = new HashMap<>();
+		private final Map<String, Object> attributes = new HashMap<>();
+		private final SplittableRandom random;
+		private boolean recording;
+		private String bearerToken;
+		private String cookie;
+
+		Session(int userIndex) {
+			this.userIndex = userIndex;
+			this.random = new SplittableRandom(userIndex);
+		}
+
+		public int userIndex() {
+			return userIndex;
+		}
+
+		public Map<String, Object> attributes() {
+			return attributes;
+		}
+
+		public SplittableRandom random() {
+			return random;
+		}
+
+		/** Think time between actions: uniformly 50-150% of {@code mean}. */
+		public void think(Duration mean) throws InterruptedException {
+			long millis = mean.toMillis();
+			if (millis > 0) {
+				Thread.sleep(millis / 2 + random.nextLong(millis + 1));
+			}
+		}
+
+		public void bearerToken(String token) {
+			this.bearerToken = token;
+		}
+
+		public void cookie(String cookie) {
+			this.cookie = cookie;
+		}
+
+		public HttpResponse<String> get(String name, String path) {
+			return send(name, request(path).GET());
+		}
+
+		public HttpResponse<String> post(String name, String path, String json) {
+			return send(name, request(path).header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(json)));
+		}
+
+		public HttpResponse<String> put(String name, String path, String json) {
+			return send(name, request(path).header("Content-Type", "application/json")
+					.PUT(HttpRequest.BodyPublishers.ofString(json)));
+		}
+
+		private HttpRequest.Builder request(String path) {
+			HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.timeout(Duration.ofSeconds(30));
+			if (bearerToken != null) {
+				builder.header("Authorization", "Bearer " + bearerToken);
+			}
+			if (cookie != null) {
+				builder.header("Cookie", cookie);
+			}
+			return builder;
+		}
+
+		private HttpResponse<String> send(String name, HttpRequest.Builder builder) {
+			long start = System.nanoTime();
+			HttpResponse<String> response = null;
+			try {
+				response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+			} catch (Exception e) {
+				// recorded as an error below
+			}
+			long elapsed = System.nanoTime() - start;
+			if (recording) {
+				latencies.computeIfAbsent(name, key -> new ArrayList<>()).add(elapsed);
+				if (response == null || response.statusCode() >= 400) {
+					errors.merge(name, 1, Integer::sum);
+				}
+			}
+			return response;
+		}
+	}
+
+	/**
+	 * Runs the journey with {@code concurrency} users: {@code warmup} is
+	 * executed but not recorded, then samples are collected for {@code duration}.
+	 */
+	public LoadReport run(int concurrency, Duration warmup, Duration duration, Journey journey)
+			throws InterruptedException {
+		List<Session> sessions = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			sessions.add(new Session(i));
+		}
+
+		ExecutorService users = Executors.newFixedThreadPool(concurrency);
+		CountDownLatch done = new CountDownLatch(concurrency);
+		long recordFrom = System.nanoTime() + warmup.toNanos();
+		long stopAt = recordFrom + duration.toNanos();
+
+		for (Session session : sessions) {
+			users.execute(() -> {
+				try {
+					while (System.nanoTime() < stopAt) {
+						session.recording = System.nanoTime() >= recordFrom;
+						try {
+							journey.run(session);
+						} catch (Exception e) {
+							if (session.recording) {
+								session.errors.merge("journey", 1, Integer::sum);
+							}
+						}
+					}
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+
+		done.await();
+		users.shutdown();
+		users.awaitTermination(10, TimeUnit.SECONDS);
+
+		Map<String, List<Long>> latencies = new HashMap<>();
+		Map<String, Integer> errors = new HashMap<>();
+		for (Session session : sessions) {
+			session.latencies.forEach((name, samples) ->
+					latencies.computeIfAbsent(name, key -> new ArrayList<>()).addAll(samples));
+			session.errors.forEach((name, count) -> errors.merge(name, count, Integer::sum));
+		}
+		return LoadReport.of(latencies, errors, duration);
+	}
+}
@@ -0,0 +1,53 @@
+package com.starter_squad.lms.perf;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-endpoint latency percentiles and throughput for one load run.
+ */
+public record LoadReport(Map<String, EndpointStats> endpoints, Map<String, Integer> errors, Duration duration) {
+
+	public record EndpointStats(long count, long errors, double p50Ms, double p95Ms, double p99Ms, double maxMs,
+								double throughputPerSecond) {
+	}
+
+	static LoadReport of(Map<String, List<Long>> latencies, Map<String, Integer> errors, Duration duration) {
+		Map<String, EndpointStats> endpoints = new TreeMap<>();
+		double seconds = duration.toMillis() / 1000.0;
+		latencies.forEach((name, samples) -> {
+			long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+			Arrays.sort(sorted);
+			endpoints.put(name, new EndpointStats(sorted.length, errors.getOrDefault(name, 0),
+					percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+					sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+					sorted.length / seconds));
+		});
+		return new LoadReport(endpoints, new TreeMap<>(errors), duration);
+	}
+
+	private static double percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+	}
+
+	public double totalThroughput() {
+		return endpoints.values().stream().mapToDouble(EndpointStats::throughputPerSecond).sum();
+	}
+
+	public String format(String title) {
+		StringBuilder out = new StringBuilder("\n=== ").append(title).append(" ===\n");
+		out.append(String.format("%-32s %9s %7s %10s %10s %10s %10s %10s%n",
+				"endpoint", "requests", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "req/s"));
+		endpoints.forEach((name, s) -> out.append(String.format("%-32s %9d %7d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+				name, s.count(), s.errors(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs(), s.throughputPerSecond())));
+		out.append(String.format("total throughput: %.1f req/s%n", totalThroughput()));
+		return out.toString();
+	}
+}
@@ -0,0 +1,98 @@
+package com.starter_squad.lms.perf;
+
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.entity.Questions;
+import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.enums.UserRole;
+import com.starter_squad.lms.repository.CourseRepository;
+import com.starter_squad.lms.repository.QuestionRepository;
+import com.starter_squad.lms.repository.UserRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeds the learners, an admin and a published catalog the load journeys
+ * use. Idempotent: existing perf data is reused, so the suite can run
+ * repeatedly against the same database.
+ */
+class PerfDataSeeder {
+
+	static final String PASSWORD = "Perf-Password-1";
+	static final String ADMIN_EMAIL = "perf-admin@example.com";
+
+	private final UserRepository userRepository;
+	private final CourseRepository courseRepository;
+	private final QuestionRepository questionRepository;
+	private final PasswordEncoder passwordEncoder;
+	private final TransactionTemplate transactionTemplate;
+
+	PerfDataSeeder(UserRepository userRepository, CourseRepository courseRepository,
+				   QuestionRepository questionRepository, PasswordEncoder passwordEncoder,
+				   TransactionTemplate transactionTemplate) {
+		this.userRepository = userRepository;
+		this.courseRepository = courseRepository;
+		this.questionRepository = questionRepository;
+		this.passwordEncoder = passwordEncoder;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	static String learnerEmail(int index) {
+		return "perf-learner-" + index + "@example.com";
+	}
+
+	/** Ensures {@code learners} learners and {@code courses} published courses exist; returns the course ids. */
+	List<UUID> seed(int learners, int courses, int questionsPerCourse) {
+		// One hash for everyone: seeding shouldn't spend minutes in BCrypt
+		String hash = passwordEncoder.encode(PASSWORD);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			if (userRepository.findByEmail(ADMIN_EMAIL) == null) {
+				userRepository.save(user("perf-admin", ADMIN_EMAIL, hash, UserRole.ADMIN));
+			}
+			List<User> batch = new ArrayList<>();
+			for (int i = 0; i < learners; i++) {
+				if (userRepository.findByEmail(learnerEmail(i)) == null) {
+					batch.add(user("perf-learner-" + i, learnerEmail(i), hash, UserRole.USER));
+				}
+			}
+			userRepository.saveAll(batch);
+		});
+
+		return transactionTemplate.execute(status -> {
+			List<Course> existing = courseRepository.findByCategoryAndStatus("Perf", Course.CourseStatus.PUBLISHED);
+			List<UUID> ids = new ArrayList<>(existing.stream().map(Course::getCourse_id).toList());
+			for (int i = existing.size(); i < courses; i++) {
+				Course course = new Course();
+				course.setCourse_name("Perf course " + i);
+				course.setPrice(10 + i % 90);
+				course.setInstructor("Perf instructor " + i % 25);
+				course.setDescription("Load-test course " + i + " with a realistic length description that the catalog renders.");
+				course.setCategory("Perf");
+				course.setStatus(Course.CourseStatus.PUBLISHED);
+				course = courseRepository.save(course);
+				List<Questions> questions = new ArrayList<>();
+				for (int q = 0; q < questionsPerCourse; q++) {
+					questions.add(new Questions(null, "Question " + q + " of course " + i,
+							"A", "B", "C", "D", "A", course));
+				}
+				questionRepository.saveAll(questions);
+				ids.add(course.getCourse_id());
+			}
+			return ids.subList(0, Math.min(courses, ids.size()));
+		});
+	}
+
+	private static User user(String username, String email, String hash, UserRole role) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(email);
+		user.setPassword(hash);
+		user.setRole(role);
+		user.setIsActive(true);
+		return user;
+	}
+}
@@ -0,0 +1,189 @@
+package com.starter_squad.lms.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starter_squad.lms.repository.CourseRepository;
+import com.starter_squad.lms.repository.QuestionRepository;
+import com.starter_squad.lms.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Checks the BRS 6.1 performance requirements (p95 API latency under 1 s with
+ * 1,000 concurrent users) by driving the main learner and admin journeys
+ * against the running app.
+ *
+ * Opt-in; uses the DB_URL database, or an embedded Postgres with -Dlms.perf.db=embedded:
+ * <pre>mvn test -Dtest=SloLoadTests -Dlms.perf=true [-Dlms.perf.db=embedded] [-Dlms.perf.users=1000]</pre>
+ * The report is printed and written to target/perf/slo-report.txt.
+ */
+@EnabledIfSystemProperty(named = "lms.perf", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		// Every simulated user logs in from 127.0.0.1
+		"app.login-throttle.ip.capacity=1000000",
+		"app.login-throttle.ip.per-minute=1000000",
+		"app.login-throttle.account.capacity=1000",
+		"app.login-throttle.account.per-minute=1000",
+		"app.login-throttle.bcrypt.queue-capacity=2000",
+		"app.login-throttle.bcrypt.timeout-ms=30000",
+		"logging.level.com.starter_squad=WARN",
+		"logging.level.org.springframework.security=WARN"
+})
+class SloLoadTests {
+
+	private static final int USERS = Integer.getInteger("lms.perf.users", 1000);
+	private static final int ADMINS = Integer.getInteger("lms.perf.admins", 10);
+	private static final int COURSES = Integer.getInteger("lms.perf.courses", 200);
+	private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("lms.perf.warmup-seconds", 30));
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("lms.perf.duration-seconds", 120));
+	private static final Duration THINK_TIME = Duration.ofMillis(Long.getLong("lms.perf.think-ms", 1000));
+
+	// BRS 6.1: "API Response: < 1 second for 95% of requests"
+	private static final double P95_SLO_MS = Double.parseDouble(System.getProperty("lms.perf.slo.p95-ms", "1000"));
+	private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("lms.perf.slo.error-rate", "0.01"));
+
+	private static EmbeddedPostgres embeddedPostgres;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private QuestionRepository questionRepository;
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		if ("embedded".equals(System.getProperty("lms.perf.db"))) {
+			embeddedPostgres = EmbeddedPostgres.builder().start();
+			registry.add("spring.datasource.url", () -> embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+			registry.add("spring.datasource.username", () -> "postgres");
+			registry.add("spring.datasource.password", () -> "postgres");
+		}
+		// Large enough that the pool, not Tomcat, is what the SLO measures
+		registry.add("server.tomcat.threads.max", () -> Math.max(200, USERS / 4));
+	}
+
+	@AfterAll
+	static void stopDatabase() throws IOException {
+		if (embeddedPostgres != null) {
+			embeddedPostgres.close();
+		}
+	}
+
+	@Test
+	void meetsLatencySlosUnderConcurrentUsers() throws Exception {
+		List<UUID> courseIds = new PerfDataSeeder(userRepository, courseRepository, questionRepository,
+				passwordEncoder, transactionTemplate).seed(USERS, COURSES, 10);
+
+		LoadDriver driver = new LoadDriver("http://localhost:" + port);
+		LoadReport report = driver.run(USERS + ADMINS, WARMUP, DURATION, session -> {
+			if (session.userIndex() < ADMINS) {
+				adminJourney(session);
+			} else {
+				learnerJourney(session, courseIds);
+			}
+		});
+
+		String text = report.format(String.format("SLO run: %d learners, %d admins, %ds, p95 SLO %.0f ms",
+				USERS, ADMINS, DURATION.toSeconds(), P95_SLO_MS));
+		System.out.println(text);
+		Path out = Path.of("target", "perf", "slo-report.txt");
+		Files.createDirectories(out.getParent());
+		Files.writeString(out, text);
+
+		SoftAssertions slo = new SoftAssertions();
+		report.endpoints().forEach((endpoint, stats) -> {
+			slo.assertThat(stats.p95Ms()).as("p95 of %s (ms)", endpoint).isLessThan(P95_SLO_MS);
+			slo.assertThat((double) stats.errors() / Math.max(1, stats.count()))
+					.as("error rate of %s", endpoint).isLessThanOrEqualTo(MAX_ERROR_RATE);
+		});
+		slo.assertThat(report.errors().getOrDefault("journey", 0)).as("failed journeys").isZero();
+		slo.assertAll();
+	}
+
+	// ==========================================
+	// JOURNEYS
+	// ==========================================
+
+	private void learnerJourney(LoadDriver.Session session, List<UUID> courseIds) throws Exception {
+		int learner = session.userIndex() - ADMINS;
+		Integer iteration = (Integer) session.attributes().merge("iteration", 1, (a, b) -> (Integer) a + 1);
+		// Log in on the first visit and then now and again, like returning users
+		if (iteration % 20 == 1) {
+			HttpResponse<String> login = session.post("POST /api/auth/login", "/api/auth/login",
+					credentials(PerfDataSeeder.learnerEmail(learner)));
+			JsonNode data = objectMapper.readTree(login.body()).path("data");
+			session.bearerToken(data.path("token").asText());
+			session.attributes().put("userId", data.path("id").asText());
+		}
+		String userId = (String) session.attributes().get("userId");
+
+		session.get("GET /api/courses", "/api/courses");
+		session.think(THINK_TIME);
+
+		UUID courseId = courseIds.get(session.random().nextInt(courseIds.size()));
+		session.get("GET /api/courses/{id}", "/api/courses/" + courseId);
+		session.post("POST /api/learning (enroll)", "/api/learning",
+				"{\"userId\":\"" + userId + "\",\"courseId\":\"" + courseId + "\"}");
+		session.think(THINK_TIME);
+
+		// A few heartbeats while "watching"
+		for (int beat = 1; beat <= 3; beat++) {
+			float played = iteration * 30f + beat * 10f;
+			session.put("PUT /api/progress/update-progress", "/api/progress/update-progress",
+					"{\"userId\":\"" + userId + "\",\"courseId\":\"" + courseId
+							+ "\",\"playedTime\":" + played + ",\"duration\":3600}");
+			session.think(THINK_TIME);
+		}
+
+		session.get("GET /api/questions/course/{id}", "/api/questions/course/" + courseId);
+		session.think(THINK_TIME);
+		session.post("POST /api/assessments/add", "/api/assessments/add/" + userId + "/" + courseId,
+				"{\"marks\":" + session.random().nextInt(11) + "}");
+		session.think(THINK_TIME);
+	}
+
+	private void adminJourney(LoadDriver.Session session) throws Exception {
+		if (!session.attributes().containsKey("loggedIn")) {
+			// Admin logins get a server session (the "session bridge") for the Thymeleaf pages
+			HttpResponse<String> login = session.post("POST /api/auth/login", "/api/auth/login",
+					credentials(PerfDataSeeder.ADMIN_EMAIL));
+			login.headers().firstValue("Set-Cookie")
+					.ifPresent(cookie -> session.cookie(cookie.split(";", 2)[0]));
+			session.attributes().put("loggedIn", Boolean.TRUE);
+		}
+		session.get("GET /admin/dashboard", "/admin/dashboard");
+		session.think(THINK_TIME.multipliedBy(5));
+	}
+
+	private static String credentials(String email) {
+		return "{\"email\":\"" + email + "\",\"password\":\"" + PerfDataSeeder.PASSWORD + "\"}";
+	}
+}
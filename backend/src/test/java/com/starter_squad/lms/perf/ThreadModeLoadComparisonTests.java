@@ -0,0 +1,62 @@
+package com.starter_squad.lms.perf;
+
+import com.starter_squad.lms.LearningManagementSystemApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the same catalog-heavy journey against the app in platform-thread and
+ * virtual-thread mode and compares throughput and tail latency.
+ *
+ * Opt-in and run against a real database (DB_URL/DB_USERNAME/DB_PASSWORD) on Java 21:
+ * <pre>mvn test -Dtest=ThreadModeLoadComparisonTests -Dlms.perf=true [-Dlms.perf.users=400]</pre>
+ */
+@EnabledIfSystemProperty(named = "lms.perf", matches = "true")
+class ThreadModeLoadComparisonTests {
+
+	private static final int USERS = Integer.getInteger("lms.perf.users", 400);
+	private static final int TOMCAT_THREADS = Integer.getInteger("lms.perf.tomcat-threads", 200);
+	private static final int POOL_SIZE = Integer.getInteger("lms.perf.pool-size", 20);
+	private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("lms.perf.warmup-seconds", 15));
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("lms.perf.duration-seconds", 60));
+	// Virtual mode may not be more than this fraction slower than platform mode
+	private static final double TOLERANCE = Double.parseDouble(System.getProperty("lms.perf.tolerance", "0.10"));
+
+	@Test
+	void virtualThreadsKeepUpWithPlatformThreads() throws Exception {
+		assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+
+		LoadReport platform = run(false);
+		LoadReport virtual = run(true);
+		System.out.println(platform.format("platform threads (tomcat max " + TOMCAT_THREADS + ")"));
+		System.out.println(virtual.format("virtual threads"));
+
+		assertThat(virtual.totalThroughput())
+				.isGreaterThanOrEqualTo(platform.totalThroughput() * (1 - TOLERANCE));
+	}
+
+	private LoadReport run(boolean virtualThreads) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LearningManagementSystemApplication.class)
+				.properties(
+						"server.port=0",
+						"spring.threads.virtual.enabled=" + virtualThreads,
+						"server.tomcat.threads.max=" + TOMCAT_THREADS,
+						"spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+						"logging.level.org.springframework.security=INFO")
+				.run()) {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			LoadDriver driver = new LoadDriver("http://localhost:" + port);
+			return driver.run(USERS, WARMUP, DURATION, session -> {
+				session.get("GET /api/courses", "/api/courses");
+				session.get("GET /courses (catalog page)", "/courses");
+			});
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.starter_squad.lms.security;
+
+import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.enums.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.util.SerializationUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalTests {
+
+	@Test
+	void sessionCopyIsCompactAndHasNoSecrets() {
+		User user = User.builder()
+				.id(UUID.randomUUID())
+				.username("instructor")
+				.email("instructor@example.com")
+				.password("$2a$10$hashhashhashhashhashhashhashhashhashhashhashhashhash")
+				.role(UserRole.INSTRUCTOR)
+				.isActive(true)
+				.profileImage(new byte[256 * 1024])
+				.build();
+		UserPrincipal principal = UserPrincipal.create(user);
+		SecurityContextImpl context = new SecurityContextImpl(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+		byte[] serialized = SerializationUtils.serialize(context);
+		assertThat(serialized.length).isLessThan(4 * 1024);
+		assertThat(new String(serialized)).doesNotContain("$2a$10$");
+
+		SecurityContextImpl restored = (SecurityContextImpl) SerializationUtils.deserialize(serialized);
+		UserPrincipal copy = (UserPrincipal) restored.getAuthentication().getPrincipal();
+		assertThat(copy.getId()).isEqualTo(user.getId());
+		assertThat(copy.getRole()).isEqualTo(UserRole.INSTRUCTOR);
+		assertThat(copy.getAuthorities()).extracting("authority").containsExactly("ROLE_INSTRUCTOR");
+		assertThat(copy.getPhotosImagePath()).isEqualTo("/api/users/" + user.getId() + "/profile-image");
+		assertThat(copy.getPassword()).isNull();
+	}
+}
@@ -0,0 +1,48 @@
+package com.starter_squad.lms.security.throttle;
+
+import com.starter_squad.lms.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTests {
+
+	private final LoginThrottle throttle = new LoginThrottle(10, 10, 3, 3, 8, 8, 1000, Duration.ofMinutes(15));
+
+	@Test
+	void guessingFromOneAddressDoesNotLockTheAccountElsewhere() {
+		for (int i = 0; i < 3; i++) {
+			throttle.acquire("203.0.113.7", "Victim@example.com");
+		}
+		assertThatThrownBy(() -> throttle.acquire("203.0.113.7", "victim@example.com "))
+				.isInstanceOf(TooManyRequestsException.class)
+				.hasMessageContaining("account");
+
+		assertThatCode(() -> throttle.acquire("198.51.100.20", "victim@example.com")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void guessingFromManyAddressesIsStillCappedPerAccount() {
+		for (int i = 0; i < 8; i++) {
+			throttle.acquire("203.0.113." + i, "victim@example.com");
+		}
+		assertThatThrownBy(() -> throttle.acquire("198.51.100.20", "Victim@example.com"))
+				.isInstanceOf(TooManyRequestsException.class)
+				.hasMessageContaining("account");
+		assertThatCode(() -> throttle.acquire("198.51.100.20", "other@example.com")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void addressBucketCoversEveryAccount() {
+		for (int i = 0; i < 10; i++) {
+			throttle.acquire("203.0.113.7", "user" + i + "@example.com");
+		}
+		assertThatThrownBy(() -> throttle.acquire("203.0.113.7", "other@example.com"))
+				.isInstanceOf(TooManyRequestsException.class)
+				.hasMessageContaining("address");
+		assertThatCode(() -> throttle.acquire("198.51.100.20", null)).doesNotThrowAnyException();
+	}
+}
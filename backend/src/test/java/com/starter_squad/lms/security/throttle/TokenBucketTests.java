@@ -0,0 +1,37 @@
+package com.starter_squad.lms.security.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+	@Test
+	void drainsToCapacityAndRefillsOverTime() {
+		AtomicLong clock = new AtomicLong();
+		TokenBucket bucket = new TokenBucket(3, 1, Duration.ofSeconds(10), clock::get);
+
+		assertThat(bucket.tryConsume()).isTrue();
+		assertThat(bucket.tryConsume()).isTrue();
+		assertThat(bucket.tryConsume()).isTrue();
+		assertThat(bucket.tryConsume()).isFalse();
+		assertThat(bucket.nanosUntilRefill()).isEqualTo(Duration.ofSeconds(10).toNanos());
+
+		clock.addAndGet(Duration.ofSeconds(5).toNanos());
+		assertThat(bucket.tryConsume()).isFalse();
+
+		clock.addAndGet(Duration.ofSeconds(5).toNanos());
+		assertThat(bucket.tryConsume()).isTrue();
+		assertThat(bucket.tryConsume()).isFalse();
+
+		// Idle time never accumulates more than the capacity
+		clock.addAndGet(Duration.ofHours(1).toNanos());
+		for (int i = 0; i < 3; i++) {
+			assertThat(bucket.tryConsume()).isTrue();
+		}
+		assertThat(bucket.tryConsume()).isFalse();
+	}
+}
@@ -0,0 +1,60 @@
+package com.starter_squad.lms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseLeaderboardTests {
+
+	@Test
+	void keepsBestMarksAndCompetitionRanks() {
+		CourseLeaderboard board = new CourseLeaderboard();
+		UUID alice = UUID.randomUUID();
+		UUID bob = UUID.randomUUID();
+		UUID carol = UUID.randomUUID();
+
+		board.record(alice, 7);
+		board.record(bob, 9);
+		board.record(carol, 9);
+		assertThat(board.record(alice, 5)).isFalse();
+
+		assertThat(board.standingOf(bob).rank()).isEqualTo(1);
+		assertThat(board.standingOf(carol).rank()).isEqualTo(1);
+		assertThat(board.standingOf(alice).rank()).isEqualTo(3);
+		assertThat(board.top(10)).extracting(CourseLeaderboard.Standing::rank).containsExactly(1, 1, 3);
+
+		board.record(alice, 10);
+		assertThat(board.standingOf(alice).rank()).isEqualTo(1);
+		assertThat(board.standingOf(bob).rank()).isEqualTo(2);
+		assertThat(board.size()).isEqualTo(3);
+		assertThat(board.standingOf(UUID.randomUUID())).isNull();
+	}
+
+	@Test
+	void matchesSortedOrderForManyLearners() {
+		CourseLeaderboard board = new CourseLeaderboard();
+		Random random = new Random(42);
+		List<CourseLeaderboard.Standing> expected = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			UUID user = new UUID(random.nextLong(), random.nextLong());
+			int marks = random.nextInt(50);
+			board.record(user, marks);
+			expected.add(new CourseLeaderboard.Standing(user, marks, 0));
+		}
+		expected.sort(Comparator.comparingInt(CourseLeaderboard.Standing::marks).reversed()
+				.thenComparing(CourseLeaderboard.Standing::userId));
+
+		List<CourseLeaderboard.Standing> top = board.top(expected.size());
+		assertThat(top).extracting(CourseLeaderboard.Standing::userId)
+				.containsExactlyElementsOf(expected.stream().map(CourseLeaderboard.Standing::userId).toList());
+		for (CourseLeaderboard.Standing standing : top) {
+			assertThat(board.standingOf(standing.userId()).rank()).isEqualTo(standing.rank());
+		}
+	}
+}
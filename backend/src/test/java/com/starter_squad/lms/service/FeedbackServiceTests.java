@@ -0,0 +1,206 @@
+package com.starter_squad.lms.service;
+
+import com.starter_squad.lms.dto.FeedbackRequest;
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.entity.CourseRatingSummary;
+import com.starter_squad.lms.entity.Feedback;
+import com.starter_squad.lms.entity.InstructorRatingSummary;
+import com.starter_squad.lms.entity.Learning;
+import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.invalidation.InvalidationBus;
+import com.starter_squad.lms.repository.CourseRepository;
+import com.starter_squad.lms.repository.LearningRepository;
+import com.starter_squad.lms.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the native ON CONFLICT upserts behind the rating aggregates against a
+ * real (embedded) Postgres with the Flyway schema.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(FeedbackService.class)
+class FeedbackServiceTests {
+
+	private static EmbeddedPostgres embeddedPostgres;
+
+	@MockBean
+	private InvalidationBus invalidationBus;
+
+	@Autowired
+	private FeedbackService feedbackService;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private LearningRepository learningRepository;
+
+	private User instructor;
+	private Course course;
+	private Course otherCourse;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		embeddedPostgres = EmbeddedPostgres.builder().start();
+		registry.add("spring.datasource.url", () -> embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "postgres");
+	}
+
+	@AfterAll
+	static void stopDatabase() throws IOException {
+		embeddedPostgres.close();
+	}
+
+	@BeforeEach
+	void setUp() {
+		instructor = user("instructor");
+		course = course("Java");
+		otherCourse = course("SQL");
+	}
+
+	@Test
+	void firstRatingCreatesTheSummaries() {
+		assertThat(feedbackService.getCourseRating(course.getCourse_id()).getRatingCount()).isZero();
+
+		assertThat(rate(course, 4)).isEqualTo("feedback submitted successfully");
+
+		CourseRatingSummary summary = feedbackService.getCourseRating(course.getCourse_id());
+		assertThat(summary.getRatingCount()).isEqualTo(1);
+		assertThat(summary.getAverageRating()).isEqualTo(4.0);
+		assertThat(summary.getHistogram()).containsExactly(0, 0, 0, 1, 0);
+	}
+
+	@Test
+	void laterRatingsAreAddedToTheExistingRow() {
+		rate(course, 5);
+		rate(course, 2);
+		rate(course, 5);
+		rate(course, null);
+
+		CourseRatingSummary summary = feedbackService.getCourseRating(course.getCourse_id());
+		assertThat(summary.getRatingCount()).isEqualTo(3);
+		assertThat(summary.getRatingSum()).isEqualTo(12);
+		assertThat(summary.getAverageRating()).isEqualTo(4.0);
+		assertThat(summary.getHistogram()).containsExactly(0, 1, 0, 0, 2);
+	}
+
+	@Test
+	void instructorSummaryRollsUpAllTheirCourses() {
+		rate(course, 5);
+		rate(otherCourse, 3);
+		rate(otherCourse, 1);
+
+		InstructorRatingSummary summary = feedbackService.getInstructorRating(instructor.getId());
+		assertThat(summary.getRatingCount()).isEqualTo(3);
+		assertThat(summary.getAverageRating()).isEqualTo(3.0);
+		assertThat(summary.getHistogram()).containsExactly(1, 0, 1, 0, 1);
+		assertThat(feedbackService.getCourseRatings(List.of(course.getCourse_id(), otherCourse.getCourse_id())))
+				.hasSize(2)
+				.hasEntrySatisfying(otherCourse.getCourse_id(), rating -> assertThat(rating.getAverageRating()).isEqualTo(2.0));
+	}
+
+	@Test
+	void outOfRangeRatingsAreRejected() {
+		assertThat(rate(course, 6)).isEqualTo("Rating must be between 1 and 5");
+		assertThat(rate(course, 0)).isEqualTo("Rating must be between 1 and 5");
+
+		assertThat(feedbackService.getCourseRating(course.getCourse_id()).getRatingCount()).isZero();
+		assertThat(feedbackService.getFeedbacksForCourse(course.getCourse_id(), 0, 10)).isEmpty();
+	}
+
+	@Test
+	void onlyEnrolledLearnersCanRate() {
+		User visitor = user("visitor");
+
+		assertThat(feedbackService.submitFeedback(feedback(course, 5), visitor.getId()))
+				.isEqualTo("Only enrolled learners can rate this course");
+		assertThat(feedbackService.submitFeedback(feedback(course, null), visitor.getId()))
+				.isEqualTo("feedback submitted successfully");
+
+		assertThat(feedbackService.getCourseRating(course.getCourse_id()).getRatingCount()).isZero();
+	}
+
+	@Test
+	void ratingAgainReplacesTheLearnersRating() {
+		User learner = learner(course);
+		rate(course, 5);
+
+		feedbackService.submitFeedback(feedback(course, 1), learner.getId());
+		feedbackService.submitFeedback(feedback(course, 2), learner.getId());
+		feedbackService.submitFeedback(feedback(course, 2), learner.getId());
+
+		CourseRatingSummary summary = feedbackService.getCourseRating(course.getCourse_id());
+		assertThat(summary.getRatingCount()).isEqualTo(2);
+		assertThat(summary.getRatingSum()).isEqualTo(7);
+		assertThat(summary.getHistogram()).containsExactly(0, 1, 0, 0, 1);
+		assertThat(feedbackService.getInstructorRating(instructor.getId()).getHistogram()).containsExactly(0, 1, 0, 0, 1);
+		assertThat(feedbackService.getFeedbacksForCourse(course.getCourse_id(), 0, 10).getTotalElements()).isEqualTo(2);
+	}
+
+	@Test
+	void feedbackIsPagedPerCourse() {
+		for (int i = 1; i <= 5; i++) {
+			rate(course, i);
+		}
+		rate(otherCourse, 1);
+
+		Page<Feedback> first = feedbackService.getFeedbacksForCourse(course.getCourse_id(), 0, 2);
+		assertThat(first.getTotalElements()).isEqualTo(5);
+		assertThat(first.getTotalPages()).isEqualTo(3);
+		assertThat(first.getContent()).hasSize(2).allSatisfy(feedback -> assertThat(feedback.getCourse()).isEqualTo(course));
+		assertThat(feedbackService.getFeedbacksForCourse(course.getCourse_id(), 2, 2).getContent()).hasSize(1);
+		// Page size is clamped rather than trusted
+		assertThat(feedbackService.getFeedbacksForCourse(course.getCourse_id(), -1, 1000).getSize())
+				.isEqualTo(FeedbackService.MAX_PAGE_SIZE);
+	}
+
+	private Course course(String name) {
+		Course course = new Course();
+		course.setCourse_name(name);
+		course.setInstructorUser(instructor);
+		return courseRepository.save(course);
+	}
+
+	private User user(String name) {
+		User user = new User();
+		user.setUsername(name);
+		user.setEmail(name + "-" + UUID.randomUUID() + "@example.com");
+		user.setPassword("secret");
+		return userRepository.save(user);
+	}
+
+	private User learner(Course course) {
+		Learning learning = new Learning();
+		learning.setUser(user("learner"));
+		learning.setCourse(course);
+		return learningRepository.save(learning).getUser();
+	}
+
+	// Each call rates as a new learner of the course
+	private String rate(Course course, Integer rating) {
+		return feedbackService.submitFeedback(feedback(course, rating), learner(course).getId());
+	}
+
+	private static FeedbackRequest feedback(Course course, Integer rating) {
+		return new FeedbackRequest(course.getCourse_id(), "comment", rating);
+	}
+}
@@ -0,0 +1,70 @@
+package com.starter_squad.lms.service;
+
+import com.starter_squad.lms.dto.LeaderboardEntry;
+import com.starter_squad.lms.entity.EntityChangeListener;
+import com.starter_squad.lms.repository.AssessmentRepository;
+import com.starter_squad.lms.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The boards follow assessment and course changes made on other nodes,
+ * which arrive through the invalidation bus.
+ */
+class LeaderboardServiceTests {
+
+	private final AssessmentRepository assessmentRepository = mock(AssessmentRepository.class);
+	private final LeaderboardService service = new LeaderboardService(assessmentRepository, mock(UserRepository.class),
+			mock(PlatformTransactionManager.class));
+	private final UUID course = UUID.randomUUID();
+	private final UUID alice = UUID.randomUUID();
+	private final UUID bob = UUID.randomUUID();
+
+	@Test
+	void assessmentOnAnotherNodeReloadsTheCourseBoard() {
+		service.recordMarks(course, alice, 7);
+		service.recordMarks(course, bob, 5);
+
+		// Bob improved on another node
+		when(assessmentRepository.findBestMarksByCourse(course))
+				.thenReturn(List.of(new Object[] {alice, 7}, new Object[] {bob, 9}));
+		service.invalidate(Map.of(EntityChangeListener.ASSESSMENT, Set.of(course.toString())));
+
+		assertThat(service.getTopEntries(course, 10)).extracting(LeaderboardEntry::getUserId).containsExactly(bob, alice);
+		assertThat(service.getUserRank(course, alice).getRank()).isEqualTo(2);
+	}
+
+	@Test
+	void courseRemovedElsewhereDropsItsBoard() {
+		service.recordMarks(course, alice, 7);
+		when(assessmentRepository.findBestMarksByCourse(course)).thenReturn(List.of());
+
+		service.invalidate(Map.of(EntityChangeListener.COURSE, Set.of(course.toString())));
+
+		assertThat(service.getLearnerCount(course)).isZero();
+		assertThat(service.getCourseCount()).isZero();
+	}
+
+	@Test
+	void missedNotificationsReplayEverything() {
+		UUID gone = UUID.randomUUID();
+		service.recordMarks(gone, alice, 3);
+		when(assessmentRepository.streamBestMarksPerCourseAndUser())
+				.thenReturn(Stream.of(new Object[] {course, alice, 4}, new Object[] {course, bob, 8}));
+
+		service.invalidateAll();
+
+		assertThat(service.getCourseCount()).isEqualTo(1);
+		assertThat(service.getLearnerCount(course)).isEqualTo(2);
+	}
+}
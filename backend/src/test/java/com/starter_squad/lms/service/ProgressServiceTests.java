@@ -0,0 +1,105 @@
+package com.starter_squad.lms.service;
+
+import com.starter_squad.lms.dto.ProgressRequest;
+import com.starter_squad.lms.entity.Course;
+import com.starter_squad.lms.entity.Progress;
+import com.starter_squad.lms.entity.User;
+import com.starter_squad.lms.repository.CourseRepository;
+import com.starter_squad.lms.repository.ProgressRepository;
+import com.starter_squad.lms.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProgressServiceTests {
+
+	private final ProgressRepository progressRepository = mock(ProgressRepository.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final CourseRepository courseRepository = mock(CourseRepository.class);
+	private final ProgressService service = new ProgressService(progressRepository, userRepository, courseRepository);
+	private final UUID userId = UUID.randomUUID();
+	private final UUID courseId = UUID.randomUUID();
+	private final Progress progress = new Progress();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "segmentSeconds", 5);
+		ReflectionTestUtils.setField(service, "maxHeartbeatSeconds", 60);
+		ReflectionTestUtils.setField(service, "maxPlaybackRate", 2.0);
+		ReflectionTestUtils.setField(service, "maxSegments", 16384);
+		ReflectionTestUtils.setField(service, "durationToleranceSeconds", 2f);
+		User user = new User();
+		Course course = new Course();
+		when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+		when(courseRepository.findById(courseId)).thenReturn(Optional.of(course));
+		when(progressRepository.findForUpdate(user, course)).thenReturn(progress);
+	}
+
+	@Test
+	void spanIsMarkedWhenEnoughTimeHasPassed() {
+		progress.setWatchedAt(LocalDateTime.now().minusSeconds(10));
+
+		heartbeat(0, 10, 100);
+
+		assertThat(progress.getPercentage()).isEqualTo(10);
+		assertThat(progress.getPlayedTime()).isEqualTo(10);
+		assertThat(progress.getWatchedAt()).isAfter(LocalDateTime.now().minusSeconds(5));
+	}
+
+	@Test
+	void backToBackHeartbeatsCannotMarkTheWholeVideo() {
+		// The first span of a session is only held to the fixed cap
+		heartbeat(0, 60, 600);
+		assertThat(progress.getPercentage()).isEqualTo(10);
+
+		for (int start = 60; start < 600; start += 60) {
+			heartbeat(start, start + 60, 600);
+		}
+		assertThat(progress.getPercentage()).isEqualTo(10);
+		assertThat(progress.getPlayedTime()).isEqualTo(600);
+	}
+
+	@Test
+	void longSpanIsCreditedOnlyForItsEnd() {
+		progress.setWatchedAt(LocalDateTime.now().minusSeconds(5));
+
+		// At most 10s (5s at 2x) of the claimed 60s counts, taken from where playback is now
+		heartbeat(40, 100, 100);
+
+		assertThat(progress.getPercentage()).isEqualTo(10);
+		assertThat(SegmentBitmap.count(progress.getWatched(), 18)).isZero();
+	}
+
+	@Test
+	void shorterDurationCannotCompleteTheVideo() {
+		progress.setWatchedAt(LocalDateTime.now().minusSeconds(10));
+		heartbeat(0, 10, 100);
+		assertThat(progress.getPercentage()).isEqualTo(10);
+
+		progress.setWatchedAt(LocalDateTime.now().minusSeconds(10));
+		assertThat(service.updateProgress(new ProgressRequest(userId, courseId, 5, 5, 0f)).getStatusCode().value())
+				.isEqualTo(409);
+		assertThat(service.updateDuration(new ProgressRequest(userId, courseId, 0, 5, null)).getStatusCode().value())
+				.isEqualTo(409);
+		assertThat(progress.getDuration()).isEqualTo(100);
+		assertThat(progress.getPercentage()).isEqualTo(10);
+
+		// Players report the same video a little differently
+		heartbeat(10, 20, 100.8f);
+		assertThat(progress.getDuration()).isEqualTo(100);
+		assertThat(progress.getPercentage()).isEqualTo(20);
+	}
+
+	private void heartbeat(float from, float to, float duration) {
+		assertThat(service.updateProgress(new ProgressRequest(userId, courseId, to, duration, from)).getStatusCode().value())
+				.isEqualTo(200);
+	}
+}
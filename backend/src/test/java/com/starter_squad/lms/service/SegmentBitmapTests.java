@@ -0,0 +1,60 @@
+package com.starter_squad.lms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentBitmapTests {
+
+	@Test
+	void marksSpansAcrossByteBoundariesInBitSetOrder() {
+		byte[] bits = SegmentBitmap.mark(null, 3, 21);
+
+		assertThat(bits).hasSize(3);
+		BitSet expected = new BitSet();
+		expected.set(3, 21);
+		assertThat(BitSet.valueOf(bits)).isEqualTo(expected);
+
+		bits = SegmentBitmap.mark(bits, 5, 6);
+		assertThat(BitSet.valueOf(bits)).isEqualTo(expected);
+	}
+
+	@Test
+	void laterHeartbeatsGrowAndUnionTheBitmap() {
+		byte[] bits = SegmentBitmap.mark(null, 0, 2);
+		bits = SegmentBitmap.mark(bits, 30, 34);
+		bits = SegmentBitmap.mark(bits, 1, 4);
+
+		assertThat(bits).hasSize(5);
+		assertThat(BitSet.valueOf(bits).toString()).isEqualTo("{0, 1, 2, 3, 30, 31, 32, 33}");
+		assertThat(SegmentBitmap.mark(bits, 10, 10)).isSameAs(bits);
+	}
+
+	@Test
+	void countsOnlyTheVideosSegments() {
+		byte[] bits = SegmentBitmap.mark(null, 0, 16);
+
+		assertThat(SegmentBitmap.count(bits, 16)).isEqualTo(16);
+		assertThat(SegmentBitmap.count(bits, 11)).isEqualTo(11);
+		assertThat(SegmentBitmap.count(bits, 100)).isEqualTo(16);
+		assertThat(SegmentBitmap.count(null, 10)).isZero();
+		assertThat(SegmentBitmap.percentage(bits, 32)).isEqualTo(50);
+		assertThat(SegmentBitmap.percentage(bits, 10)).isEqualTo(100);
+		assertThat(SegmentBitmap.percentage(bits, 0)).isZero();
+	}
+
+	@Test
+	void segmentCountsOnceMostOfItHasPlayed() {
+		assertThat(SegmentBitmap.segment(0, 5)).isZero();
+		assertThat(SegmentBitmap.segment(2.4, 5)).isZero();
+		assertThat(SegmentBitmap.segment(2.6, 5)).isEqualTo(1);
+		assertThat(SegmentBitmap.segment(10, 5)).isEqualTo(2);
+
+		// Rewatching 1s around a boundary marks nothing
+		assertThat(SegmentBitmap.segment(9.5, 5)).isEqualTo(SegmentBitmap.segment(10.5, 5));
+		// A 12s video has two segments; its last 2s round away
+		assertThat(SegmentBitmap.segment(12, 5)).isEqualTo(2);
+	}
+}
@@ -0,0 +1,183 @@
+package com.starter_squad.lms.smoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the native executable (mvn -Pnative package) against a real database
+ * and walks the API journeys that depend on native hints: JWT login, the public
+ * catalog, and enrollment.
+ *
+ * Opt-in; uses the DB_URL database, or an embedded Postgres with -Dlms.native.db=embedded:
+ * <pre>mvn test -Dtest=NativeSmokeTests -Dlms.native.binary=target/lms [-Dlms.native.db=embedded]</pre>
+ * The binary's output goes to target/native-smoke.log.
+ */
+@EnabledIfSystemProperty(named = "lms.native.binary", matches = ".+")
+class NativeSmokeTests {
+
+	private static final String ADMIN_EMAIL = "native-smoke-admin@example.com";
+	private static final String ADMIN_PASSWORD = "native-smoke-admin";
+	private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+	private static EmbeddedPostgres embeddedPostgres;
+	private static Process application;
+	private static String baseUrl;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@BeforeAll
+	static void startNativeApplication() throws Exception {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		baseUrl = "http://localhost:" + port;
+
+		List<String> command = new ArrayList<>(List.of(
+				Path.of(System.getProperty("lms.native.binary")).toAbsolutePath().toString(),
+				"--server.port=" + port,
+				"--management.server.port=" + port,
+				"--app.default-admin.email=" + ADMIN_EMAIL,
+				"--app.default-admin.password=" + ADMIN_PASSWORD));
+		if ("embedded".equals(System.getProperty("lms.native.db"))) {
+			embeddedPostgres = EmbeddedPostgres.builder().start();
+			command.add("--spring.datasource.url=" + embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+			command.add("--spring.datasource.username=postgres");
+			command.add("--spring.datasource.password=postgres");
+		}
+
+		Path log = Path.of("target", "native-smoke.log");
+		Files.createDirectories(log.getParent());
+		long start = System.nanoTime();
+		application = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(log.toFile())
+				.start();
+		awaitStatus(HttpClient.newHttpClient(), HttpRequest.newBuilder(URI.create(baseUrl + "/api/courses")).build(), 200);
+		System.out.printf("Native application answered after %d ms%n", (System.nanoTime() - start) / 1_000_000);
+	}
+
+	@AfterAll
+	static void stop() throws Exception {
+		if (application != null) {
+			application.destroy();
+			if (!application.waitFor(30, TimeUnit.SECONDS)) {
+				application.destroyForcibly();
+			}
+		}
+		if (embeddedPostgres != null) {
+			embeddedPostgres.close();
+		}
+	}
+
+	@Test
+	void loginCatalogAndEnrollmentWork() throws Exception {
+		// The default admin is created asynchronously once the application is ready
+		HttpResponse<String> adminLogin = awaitStatus(client, post("/api/auth/login", null,
+				Map.of("email", ADMIN_EMAIL, "password", ADMIN_PASSWORD)), 200);
+		String adminToken = json(adminLogin).path("data").path("token").asText();
+		assertThat(adminToken).isNotBlank();
+
+		String learnerEmail = "native-smoke-" + UUID.randomUUID() + "@example.com";
+		HttpResponse<String> registered = send(post("/api/auth/register", null,
+				Map.of("username", "Native Smoke", "email", learnerEmail, "password", "native-smoke-learner")));
+		assertThat(registered.statusCode()).as(registered.body()).isEqualTo(201);
+		String learnerId = json(registered).path("data").path("id").asText();
+
+		HttpResponse<String> created = send(post("/api/courses", adminToken, Map.of(
+				"course_name", "Native smoke course",
+				"description", "Created by NativeSmokeTests",
+				"category", "Testing",
+				"price", 0,
+				"status", "PUBLISHED")));
+		assertThat(created.statusCode()).as(created.body()).isEqualTo(200);
+		String courseId = json(created).path("course_id").asText();
+
+		HttpResponse<String> catalog = send(get("/api/courses", null));
+		assertThat(catalog.statusCode()).isEqualTo(200);
+		assertThat(catalog.body()).contains(courseId);
+
+		HttpResponse<String> learnerLogin = send(post("/api/auth/login", null,
+				Map.of("email", learnerEmail, "password", "native-smoke-learner")));
+		assertThat(learnerLogin.statusCode()).as(learnerLogin.body()).isEqualTo(200);
+		String learnerToken = json(learnerLogin).path("data").path("token").asText();
+
+		HttpResponse<String> enrolled = send(post("/api/learning", learnerToken,
+				Map.of("userId", learnerId, "courseId", courseId)));
+		assertThat(enrolled.statusCode()).as(enrolled.body()).isEqualTo(200);
+		assertThat(enrolled.body()).isEqualTo("Enrolled successfully");
+
+		HttpResponse<String> learning = send(get("/api/learning/" + learnerId, learnerToken));
+		assertThat(learning.statusCode()).isEqualTo(200);
+		assertThat(learning.body()).contains(courseId);
+	}
+
+	private HttpRequest get(String path, String token) {
+		return request(path, token).GET().build();
+	}
+
+	private HttpRequest post(String path, String token, Map<String, ?> body) throws IOException {
+		return request(path, token)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+				.build();
+	}
+
+	private HttpRequest.Builder request(String path, String token) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder;
+	}
+
+	private HttpResponse<String> send(HttpRequest request) throws Exception {
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private JsonNode json(HttpResponse<String> response) throws IOException {
+		return objectMapper.readTree(response.body());
+	}
+
+	private static HttpResponse<String> awaitStatus(HttpClient client, HttpRequest request, int status) throws Exception {
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+		HttpResponse<String> last = null;
+		while (System.nanoTime() < deadline) {
+			assertThat(application.isAlive()).as("native application exited, see target/native-smoke.log").isTrue();
+			try {
+				last = client.send(request, HttpResponse.BodyHandlers.ofString());
+				if (last.statusCode() == status) {
+					return last;
+				}
+			} catch (IOException notListeningYet) {
+				// connection refused until the server is up
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("No " + status + " from " + request.uri() + " within " + STARTUP_TIMEOUT
+				+ (last != null ? ", last: " + last.statusCode() + " " + last.body() : ""));
+	}
+}
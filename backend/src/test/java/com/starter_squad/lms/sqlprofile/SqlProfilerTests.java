@@ -0,0 +1,73 @@
+package com.starter_squad.lms.sqlprofile;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlProfilerTests {
+
+	@Test
+	void normalizesWhitespaceAndInLists() {
+		assertThat(SqlProfiler.normalize("select *\n  from users  where id in (?, ?,?)"))
+				.isEqualTo("select * from users where id in (?, ...)");
+	}
+
+	@Test
+	void aggregatesStatementsPerEndpointAndFlagsRepeats() {
+		SqlProfiler profiler = new SqlProfiler(Duration.ofSeconds(1), 3, 100);
+
+		profiler.beginRequest("GET", "/api/courses/42");
+		profiler.setHandler("CourseController#getCourse");
+		run(profiler, "select * from courses where id = ?", 1);
+		for (int i = 0; i < 4; i++) {
+			run(profiler, "select * from modules where course_id = ?", i + 1);
+		}
+		profiler.endRequest("/api/courses/{id}");
+
+		SqlProfileReport report = profiler.report(10);
+		assertThat(report.distinctStatements()).isEqualTo(2);
+		assertThat(report.mostFrequent().get(0).sql()).isEqualTo("select * from modules where course_id = ?");
+		assertThat(report.mostFrequent().get(0).count()).isEqualTo(4);
+		assertThat(report.slowest().get(0).maxMs()).isGreaterThanOrEqualTo(4.0);
+
+		SqlProfileReport.Endpoint endpoint = report.endpoints().get(0);
+		assertThat(endpoint.endpoint()).isEqualTo("GET /api/courses/{id}");
+		assertThat(endpoint.handler()).isEqualTo("CourseController#getCourse");
+		assertThat(endpoint.queries()).isEqualTo(5);
+		assertThat(endpoint.nPlusOneSuspects()).isEqualTo(1);
+
+		profiler.reset();
+		assertThat(profiler.report(10).distinctStatements()).isZero();
+	}
+
+	@Test
+	void unmatchedRequestsShareOneEndpoint() {
+		SqlProfiler profiler = new SqlProfiler(Duration.ofSeconds(1), 3, 100);
+
+		for (int i = 0; i < 500; i++) {
+			profiler.beginRequest(i % 2 == 0 ? "GET" : "PROPFIND", "/wp-admin/" + i + ".php");
+			run(profiler, "select 1", 1);
+			profiler.endRequest(null);
+		}
+
+		assertThat(profiler.report(10).endpoints())
+				.singleElement()
+				.satisfies(endpoint -> {
+					assertThat(endpoint.endpoint()).isEqualTo(SqlProfiler.UNMAPPED);
+					assertThat(endpoint.requests()).isEqualTo(500);
+				});
+	}
+
+	private static void run(SqlProfiler profiler, String sql, long elapsedMs) {
+		ExecutionInfo info = new ExecutionInfo();
+		info.setElapsedTime(elapsedMs);
+		info.setSuccess(true);
+		List<QueryInfo> queries = List.of(new QueryInfo(sql));
+		profiler.afterQuery(info, queries);
+	}
+}
@@ -0,0 +1,61 @@
+package com.starter_squad.lms.view;
+
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FragmentCacheTests {
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void rendersFragmentOncePerKeyUntilEvicted() {
+		FragmentCache cache = new FragmentCache(true, Duration.ofMinutes(1), 100);
+		SpringTemplateEngine engine = engine(cache);
+
+		String first = engine.process("fragment-cache/page", context("alice"));
+		String second = engine.process("fragment-cache/page", context("alice"));
+		assertThat(first).contains("<span class=\"counter\">1</span>").doesNotContain("lms:");
+		assertThat(second).isEqualTo(first);
+		assertThat(loads).hasValue(1);
+
+		engine.process("fragment-cache/page", context("bob"));
+		assertThat(loads).hasValue(2);
+
+		cache.evictPrefix("widgets:");
+		assertThat(engine.process("fragment-cache/page", context("alice"))).contains(">3</span>");
+	}
+
+	@Test
+	void disabledCacheRendersEveryTime() {
+		SpringTemplateEngine engine = engine(new FragmentCache(false, Duration.ofMinutes(1), 100));
+
+		engine.process("fragment-cache/page", context("alice"));
+		String html = engine.process("fragment-cache/page", context("alice"));
+		assertThat(html).contains("<span class=\"counter\">2</span>").doesNotContain("lms:");
+		assertThat(loads).hasValue(2);
+	}
+
+	private SpringTemplateEngine engine(FragmentCache cache) {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setTemplateResolver(resolver);
+		engine.addDialect(new FragmentCacheDialect(cache));
+		return engine;
+	}
+
+	private Context context(String owner) {
+		Context context = new Context();
+		context.setVariable("owner", owner);
+		context.setVariable("count", FragmentCache.lazy(loads::incrementAndGet));
+		return context;
+	}
+}
@@ -10,6 +10,16 @@ async function getProgress(userId, courseId) {
   }
 }
 
+async function getPercentage(userId, courseId) {
+  try {
+    const { data } = await api.get(`/api/progress/${userId}/${courseId}/percentage`);
+    return { success: true, data };
+  } catch (err) {
+    console.error("Error fetching percentage:", err);
+    return { success: false, error: err.response?.data?.message || "Unable to fetch progress" };
+  }
+}
+
 async function updateDuration(userId, courseId, duration) {
   try {
     await api.put(`/api/progress/update-duration`, { userId, courseId, duration });
@@ -20,9 +30,10 @@ async function updateDuration(userId, courseId, duration) {
   }
 }
 
-async function updateProgress(userId, courseId, playedTime, duration) {
+// watchedFrom..playedTime is the span played continuously since the last heartbeat
+async function updateProgress(userId, courseId, playedTime, duration, watchedFrom) {
   try {
-    await api.put(`/api/progress/update-progress`, { userId, courseId, playedTime, duration });
+    await api.put(`/api/progress/update-progress`, { userId, courseId, playedTime, duration, watchedFrom });
     return { success: true };
   } catch (err) {
     console.error("Error updating progress:", err);
@@ -32,6 +43,7 @@ async function updateProgress(userId, courseId, playedTime, duration) {
 
 export const progressService = {
   getProgress,
+  getPercentage,
   updateDuration,
   updateProgress,
 };
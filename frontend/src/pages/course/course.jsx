@@ -19,13 +19,16 @@ const Course = () => {
   const [error, setError] = useState(false);
   const [duration, setDuration] = useState(null);
   const [played, setPlayed] = useState(0);
-  const [changePlayed, setChangePlayed] = useState(0);
+  const [percentage, setPercentage] = useState(0);
   const [progressLoading, setProgressLoading] = useState(true);
   const userId = localStorage.getItem("id");
   const navigate = useNavigate();
   const location = useLocation();
   const courseId = location.pathname.split("/")[2];
   const playerRef = useRef(null);
+  // Start of the current uninterrupted run of playback, and the last position seen
+  const runStartRef = useRef(null);
+  const lastSeenRef = useRef(null);
 
   useEffect(() => {
     async function fetchCourse() {
@@ -53,10 +56,16 @@ const Course = () => {
     const fetchProgress = async () => {
       try {
         setProgressLoading(true);
-        const res = await progressService.getProgress(userId, courseId);
+        const [res, percent] = await Promise.all([
+          progressService.getProgress(userId, courseId),
+          progressService.getPercentage(userId, courseId),
+        ]);
         if (res.success) {
           setPlayed(res.data);
         }
+        if (percent.success) {
+          setPercentage(percent.data);
+        }
       } catch (err) {
         console.error("Error fetching progress:", err);
       } finally {
@@ -69,23 +78,39 @@ const Course = () => {
     }
   }, [userId, courseId]);
 
-  useEffect(() => {
-    const updateProgress = async () => {
-      if (courseId && userId && duration) {
-        const res = await progressService.updateProgress(userId, courseId, played, duration);
-        if (res.success) {
-          setPlayed(changePlayed < played ? played : changePlayed);
-        }
+  const sendHeartbeat = async (from, to) => {
+    if (!courseId || !userId || !duration) {
+      return;
+    }
+    const res = await progressService.updateProgress(userId, courseId, to, duration, from);
+    if (res.success) {
+      setPlayed(to);
+      const percent = await progressService.getPercentage(userId, courseId);
+      if (percent.success) {
+        setPercentage(percent.data);
       }
-    };
-    updateProgress();
-  }, [changePlayed, courseId, userId, duration, played]);
+    }
+  };
+
+  const handleProgress = ({ playedSeconds }) => {
+    const lastSeen = lastSeenRef.current;
+    lastSeenRef.current = playedSeconds;
+    // A jump backwards or well beyond the 1s tick is a seek: the skipped part was not watched
+    if (lastSeen === null || playedSeconds < lastSeen || playedSeconds - lastSeen > 3) {
+      runStartRef.current = playedSeconds;
+      return;
+    }
+    if (playedSeconds - runStartRef.current >= 10) {
+      sendHeartbeat(runStartRef.current, playedSeconds);
+      runStartRef.current = playedSeconds;
+    }
+  };
 
   const getProgressPercent = () => {
-    if (progressLoading || !duration || duration === 0) {
+    if (progressLoading) {
       return 0;
     }
-    return Math.min(Math.ceil((played / duration) * 100), 100);
+    return percentage;
   };
 
   const progressPercent = getProgressPercent();
@@ -116,17 +141,19 @@ const Course = () => {
         <div className="mt-6 flex flex-col lg:flex-row gap-6">
           <ReactPlayer
             ref={playerRef}
-            onProgress={(progress) => {
-              if (changePlayed + 10 <= progress.playedSeconds) {
-                setChangePlayed(progress.playedSeconds);
-              }
-            }}
+            onProgress={handleProgress}
             url={course.y_link}
             controls
             type="video/mp4"
             width="100%"
             height="440px"
             onDuration={handleDuration}
+            onPause={() => {
+              if (runStartRef.current !== null && lastSeenRef.current > runStartRef.current) {
+                sendHeartbeat(runStartRef.current, lastSeenRef.current);
+                runStartRef.current = lastSeenRef.current;
+              }
+            }}
             played={played}
             className="rounded-xl bg-neutral shadow-2xl p-2"
           />